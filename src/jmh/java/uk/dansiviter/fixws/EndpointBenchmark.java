@@ -0,0 +1,54 @@
+/*
+ * Copyright 2026 Daniel Siviter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.dansiviter.fixws;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import quickfix.Message;
+import quickfix.MessageUtils;
+
+/**
+ * Inbound path: frame to parsed message, and frame through {@link quickfix.Session#next(Message)} to
+ * {@link FixApplication#fromApp(Message, quickfix.SessionID)} over an in-memory connection.
+ *
+ * @author Daniel Siviter
+ * @since v1.0 [19 Oct 2026]
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(NANOSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = SECONDS)
+@Fork(1)
+public class EndpointBenchmark {
+	@Benchmark
+	public Message parse(Gateway gateway) throws Exception {
+		return MessageUtils.parse(gateway.qfSession, gateway.inbound);
+	}
+
+	@Benchmark
+	public void on(Gateway gateway) throws Exception {
+		gateway.client.getBasicRemote().sendText(gateway.inbound);
+	}
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2026 Daniel Siviter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.dansiviter.fixws;
+
+import static javax.enterprise.inject.spi.CDI.current;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.inject.Produces;
+import javax.websocket.Endpoint;
+import javax.websocket.EndpointConfig;
+import javax.websocket.Session;
+
+import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import io.smallrye.metrics.MetricRegistries;
+import quickfix.ConfigError;
+import quickfix.FixVersions;
+import quickfix.MemoryStoreFactory;
+import quickfix.Message;
+import quickfix.MessageStoreFactory;
+import quickfix.Responder;
+import quickfix.SessionID;
+import quickfix.SessionSettings;
+import uk.dansiviter.fixws.inmemory.InMemoryContainer;
+import uk.dansiviter.juli.cdi.LogExtension;
+
+/**
+ * A logged on gateway shared by the benchmarks. The client is connected in-memory so only the cost of the gateway
+ * itself is measured; the session is configured to not validate sequence numbers or latency so the same pre-encoded
+ * messages can be replayed every invocation.
+ *
+ * @author Daniel Siviter
+ * @since v1.0 [19 Oct 2026]
+ */
+@State(Scope.Benchmark)
+public class Gateway {
+	static final String PATH = "/fix";
+	/** The session as seen by the gateway. */
+	static final SessionID SESSION_ID = Fixtures.SESSION_ID;
+
+	private WeldContainer container;
+
+	/** The client side of an in-memory connection to the endpoint. */
+	Session client;
+	quickfix.Session qfSession;
+	Responder responder;
+	FixApplication application;
+	Metrics metrics;
+	SessionProvider sessionProvider;
+
+	/** An encoded inbound {@code NewOrderSingle}. */
+	String inbound;
+	/** A parsed inbound {@code NewOrderSingle}. */
+	Message inboundMessage;
+	/** An outbound {@code NewOrderSingle} with the header populated. */
+	Message outboundMessage;
+
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+		this.container = new Weld()
+				.disableDiscovery()
+				.addExtension(new LogExtension())
+				.addBeanClasses(
+						Producers.class,
+						LogFactoryProducer.class,
+						SessionProviderProducer.class,
+						SessionFactoryProducer.class,
+						FixApplication.class,
+						SessionTimerProducer.class,
+						Metrics.class)
+				.initialize();
+		this.application = current().select(FixApplication.class).get();
+		this.metrics = current().select(Metrics.class).get();
+		this.sessionProvider = current().select(SessionProvider.class).get();
+
+		var transport = new InMemoryContainer(FixEndpoint.config(PATH, List.of(FixVersions.FIX50)));
+		this.client = transport.connectToServer(new Endpoint() {
+			@Override
+			public void onOpen(Session session, EndpointConfig config) {
+				session.addMessageHandler(String.class, m -> { });  // discard
+			}
+		}, URI.create("ws://localhost" + PATH));
+		this.client.getBasicRemote().sendText(Fixtures.inbound(Fixtures.logon(), 1).toString());
+
+		this.qfSession = quickfix.Session.lookupSession(SESSION_ID);
+		if (this.qfSession == null || !this.qfSession.isLoggedOn()) {
+			throw new IllegalStateException("Not logged on!");
+		}
+		this.responder = this.qfSession.getResponder();
+
+		this.inbound = Fixtures.inbound(Fixtures.newOrderSingle(), 2).toString();
+		this.inboundMessage = quickfix.MessageUtils.parse(this.qfSession, this.inbound);
+		this.outboundMessage = FixUtil.set(SESSION_ID, Fixtures.newOrderSingle());
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		this.client.close();
+		this.qfSession.close();
+		this.container.shutdown();
+	}
+
+
+	// --- Inner Classes ---
+
+	/**
+	 * Replaces the file based settings and store, and provides a metric registry so metrics are recorded.
+	 */
+	@ApplicationScoped
+	public static class Producers {
+		@Produces @ApplicationScoped
+		public SessionSettings sessionSettings() throws IOException, ConfigError {
+			try (var is = getClass().getResourceAsStream("/benchmark.qfxj")) {
+				return new SessionSettings(is);
+			}
+		}
+
+		@Produces @ApplicationScoped
+		public MessageStoreFactory messageStoreFactory() {
+			return new MemoryStoreFactory();
+		}
+
+		@Produces
+		public MetricRegistry metricRegistry() {
+			return MetricRegistries.get(MetricRegistry.Type.APPLICATION);
+		}
+	}
+}
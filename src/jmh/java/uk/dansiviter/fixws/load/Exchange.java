@@ -0,0 +1,107 @@
+/*
+ * Copyright 2026 Daniel Siviter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.dansiviter.fixws.load;
+
+import static uk.dansiviter.fixws.FixUtil.sessionId;
+import static uk.dansiviter.fixws.FixUtil.setReverse;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Event;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+
+import quickfix.FieldNotFound;
+import quickfix.Group;
+import quickfix.Message;
+import quickfix.field.AvgPx;
+import quickfix.field.ClOrdID;
+import quickfix.field.CumQty;
+import quickfix.field.ExecID;
+import quickfix.field.ExecType;
+import quickfix.field.LeavesQty;
+import quickfix.field.MDEntryPx;
+import quickfix.field.MDEntrySize;
+import quickfix.field.MDEntryType;
+import quickfix.field.MDReqID;
+import quickfix.field.NoMDEntries;
+import quickfix.field.OrdStatus;
+import quickfix.field.OrderID;
+import quickfix.field.OrderQty;
+import quickfix.field.Side;
+import quickfix.field.Symbol;
+import uk.dansiviter.fixws.annotations.FromApp;
+import uk.dansiviter.fixws.annotations.MsgType;
+import uk.dansiviter.fixws.annotations.ToApp;
+
+/**
+ * A trivial venue: acknowledges every order and answers every market data request with a snapshot, echoing the
+ * client's identifier so the round trip can be timed.
+ *
+ * @author Daniel Siviter
+ * @since v1.0 [19 Oct 2026]
+ */
+@ApplicationScoped
+public class Exchange {
+	private final AtomicLong ids = new AtomicLong();
+
+	@Inject @ToApp
+	private Event<Message> toApp;
+
+	public void order(@Observes @FromApp @MsgType(quickfix.field.MsgType.ORDER_SINGLE) Message order)
+			throws FieldNotFound
+	{
+		var id = Long.toString(this.ids.incrementAndGet());
+		var report = new Message();
+		report.getHeader().setString(quickfix.field.MsgType.FIELD, quickfix.field.MsgType.EXECUTION_REPORT);
+		report.setString(OrderID.FIELD, id);
+		report.setString(ExecID.FIELD, id);
+		report.setString(ClOrdID.FIELD, order.getString(ClOrdID.FIELD));
+		report.setChar(ExecType.FIELD, ExecType.NEW);
+		report.setChar(OrdStatus.FIELD, OrdStatus.NEW);
+		report.setString(Symbol.FIELD, order.getString(Symbol.FIELD));
+		report.setChar(Side.FIELD, order.getChar(Side.FIELD));
+		report.setDecimal(LeavesQty.FIELD, order.getDecimal(OrderQty.FIELD));
+		report.setDecimal(CumQty.FIELD, BigDecimal.ZERO);
+		report.setDecimal(AvgPx.FIELD, BigDecimal.ZERO);
+		this.toApp.fire(setReverse(sessionId(order), report));
+	}
+
+	public void marketData(@Observes @FromApp @MsgType(quickfix.field.MsgType.MARKET_DATA_REQUEST) Message request)
+			throws FieldNotFound
+	{
+		var snapshot = new Message();
+		snapshot.getHeader().setString(
+				quickfix.field.MsgType.FIELD, quickfix.field.MsgType.MARKET_DATA_SNAPSHOT_FULL_REFRESH);
+		snapshot.setString(MDReqID.FIELD, request.getString(MDReqID.FIELD));
+		snapshot.setString(Symbol.FIELD, "VOD.L");
+		for (int i = 0; i < 5; i++) {
+			snapshot.addGroup(entry(MDEntryType.BID, "162." + (25 - i), 1_000 * (i + 1)));
+			snapshot.addGroup(entry(MDEntryType.OFFER, "162." + (26 + i), 1_000 * (i + 1)));
+		}
+		this.toApp.fire(setReverse(sessionId(request), snapshot));
+	}
+
+	private static Group entry(char type, String px, int size) {
+		var entry = new Group(NoMDEntries.FIELD, MDEntryType.FIELD);
+		entry.setChar(MDEntryType.FIELD, type);
+		entry.setDecimal(MDEntryPx.FIELD, new BigDecimal(px));
+		entry.setDecimal(MDEntrySize.FIELD, new BigDecimal(size));
+		return entry;
+	}
+}
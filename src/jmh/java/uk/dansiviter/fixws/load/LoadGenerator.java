@@ -0,0 +1,399 @@
+/*
+ * Copyright 2026 Daniel Siviter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.dansiviter.fixws.load;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static uk.dansiviter.fixws.WireJournalReader.Report.percentile;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.websocket.Endpoint;
+import javax.websocket.WebSocketContainer;
+import javax.websocket.server.ServerApplicationConfig;
+import javax.websocket.server.ServerEndpointConfig;
+
+import org.glassfish.tyrus.client.ClientManager;
+import org.glassfish.tyrus.client.ClientProperties;
+import org.glassfish.tyrus.server.Server;
+import org.jboss.weld.environment.se.Weld;
+
+import quickfix.FieldNotFound;
+import quickfix.FixVersions;
+import quickfix.Group;
+import quickfix.MemoryStoreFactory;
+import quickfix.Message;
+import quickfix.SessionID;
+import quickfix.SessionSettings;
+import quickfix.field.ClOrdID;
+import quickfix.field.MDEntryType;
+import quickfix.field.MDReqID;
+import quickfix.field.MarketDepth;
+import quickfix.field.MsgType;
+import quickfix.field.NoMDEntryTypes;
+import quickfix.field.NoRelatedSym;
+import quickfix.field.SubscriptionRequestType;
+import quickfix.field.Symbol;
+import uk.dansiviter.fixws.FixApplication;
+import uk.dansiviter.fixws.FixEndpoint;
+import uk.dansiviter.fixws.FixUtil;
+import uk.dansiviter.fixws.Fixtures;
+import uk.dansiviter.fixws.LogFactoryProducer;
+import uk.dansiviter.fixws.MessageStoreFactoryProducer;
+import uk.dansiviter.fixws.Metrics;
+import uk.dansiviter.fixws.SessionFactoryProducer;
+import uk.dansiviter.fixws.SessionProviderProducer;
+import uk.dansiviter.fixws.SessionSettingsProducer;
+import uk.dansiviter.fixws.SessionTimerProducer;
+import uk.dansiviter.fixws.client.FixClient;
+import uk.dansiviter.juli.cdi.LogExtension;
+
+/**
+ * Starts the gateway in-process and drives it with many {@link FixClient} sessions, each with a distinct CompID,
+ * reporting throughput and round-trip latency. Configured with system properties:
+ * <ul>
+ * <li>{@code load.clients}: number of sessions, default 1,000,</li>
+ * <li>{@code load.scenario}: {@code order} (NewOrderSingle to ExecutionReport) or {@code market-data}
+ * (MarketDataRequest to snapshot), default {@code order},</li>
+ * <li>{@code load.rate}: messages per second per session, default 10,</li>
+ * <li>{@code load.warmup}: seconds before recording starts, default 10,</li>
+ * <li>{@code load.duration}: seconds recorded, default 30.</li>
+ * </ul>
+ * Run with:
+ * <pre>
+ * mvn -Pjmh test-compile exec:exec@load -Dload.clients=2000
+ * </pre>
+ *
+ * @author Daniel Siviter
+ * @since v1.0 [19 Oct 2026]
+ */
+public class LoadGenerator {
+	public static void main(String[] args) throws Exception {
+		var clients = Integer.getInteger("load.clients", 1_000);
+		var scenario = Scenario.of(System.getProperty("load.scenario", "order"));
+		var rate = Integer.getInteger("load.rate", 10);
+		var warmup = Integer.getInteger("load.warmup", 10);
+		var duration = Integer.getInteger("load.duration", 30);
+		Logger.getLogger("").setLevel(Level.WARNING);
+
+		int port;
+		try (var s = new ServerSocket(0)) {
+			port = s.getLocalPort();
+		}
+		var weld = new Weld()
+				.disableDiscovery()
+				.addExtension(new LogExtension())
+				.addBeanClasses(
+						LogFactoryProducer.class,
+						SessionProviderProducer.class,
+						SessionFactoryProducer.class,
+						FixApplication.class,
+						SessionSettingsProducer.class,
+						MessageStoreFactoryProducer.class,
+						SessionTimerProducer.class,
+						Metrics.class,
+						Exchange.class)
+				.initialize();
+		var server = new Server("localhost", port, "/", Map.of(), Config.class);
+		server.start();
+
+		var container = ClientManager.createClient();
+		container.getProperties().put(ClientProperties.SHARED_CONTAINER, true);
+		var uri = URI.create("ws://localhost:" + port + "/fix");
+		var scheduler = Executors.newScheduledThreadPool(Runtime.getRuntime().availableProcessors());
+		try {
+			System.out.printf("Connecting %d sessions...%n", clients);
+			var loadClients = new ArrayList<LoadClient>(clients);
+			for (int i = 0; i < clients; i++) {
+				var client = new LoadClient(container, uri, i, scenario);
+				client.start();
+				loadClients.add(client);
+			}
+			for (var client : loadClients) {
+				if (!client.loggedOn.await(30, SECONDS)) {
+					throw new IllegalStateException("Logon timed out! [" + client.sessionId + "]");
+				}
+			}
+
+			System.out.printf("Driving '%s' at %d msg/s per session...%n", scenario.name, rate);
+			var period = SECONDS.toNanos(1) / rate;
+			for (var client : loadClients) {
+				var delay = ThreadLocalRandom.current().nextLong(period);  // spread the sends
+				client.schedule(scheduler, delay, period);
+			}
+			SECONDS.sleep(warmup);
+			loadClients.forEach(LoadClient::record);
+			var start = System.nanoTime();
+			SECONDS.sleep(duration);
+			loadClients.forEach(LoadClient::stop);
+			var elapsed = System.nanoTime() - start;
+
+			report(scenario, loadClients, elapsed);
+
+			scheduler.shutdownNow();
+			for (var client : loadClients) {
+				client.close();
+			}
+			awaitUnbound(loadClients);
+		} finally {
+			scheduler.shutdownNow();
+			server.stop();
+			weld.shutdown();
+		}
+	}
+
+	/**
+	 * Waits for the gateway to unbind the sessions so it isn't shut down under them.
+	 */
+	private static void awaitUnbound(List<LoadClient> loadClients) throws InterruptedException {
+		var deadline = System.nanoTime() + SECONDS.toNanos(10);
+		for (var client : loadClients) {
+			var session = quickfix.Session.lookupSession(FixUtil.reverse(client.sessionId));
+			while (session != null && session.hasResponder() && System.nanoTime() < deadline) {
+				MILLISECONDS.sleep(10);
+			}
+		}
+	}
+
+	private static void report(Scenario scenario, List<LoadClient> loadClients, long elapsed) {
+		var clientSamples = new long[loadClients.size()][];
+		var size = 0;
+		for (int i = 0; i < clientSamples.length; i++) {
+			clientSamples[i] = loadClients.get(i).samples();
+			size += clientSamples[i].length;
+		}
+		var samples = new long[size];
+		var pos = 0;
+		for (var s : clientSamples) {
+			System.arraycopy(s, 0, samples, pos, s.length);
+			pos += s.length;
+		}
+		Arrays.sort(samples);
+
+		System.out.printf(Locale.ROOT, "%s: sessions=%d, round trips=%d, throughput=%.0f msg/s%n",
+				scenario.name, loadClients.size(), samples.length, samples.length / (elapsed / 1e9));
+		if (samples.length > 0) {
+			System.out.printf(Locale.ROOT, "  round trip (us): p50=%d p99=%d p99.9=%d max=%d%n",
+					micros(percentile(samples, 50)), micros(percentile(samples, 99)),
+					micros(percentile(samples, 99.9)), micros(samples[samples.length - 1]));
+		}
+	}
+
+	private static long micros(long nanos) {
+		return MICROSECONDS.convert(nanos, NANOSECONDS);
+	}
+
+
+	// --- Inner Classes ---
+
+	/**
+	 * Deploys the endpoint as an application would.
+	 */
+	public static class Config implements ServerApplicationConfig {
+		@Override
+		public Set<ServerEndpointConfig> getEndpointConfigs(Set<Class<? extends Endpoint>> endpointClasses) {
+			return Set.of(FixEndpoint.config("/fix", List.of(FixVersions.FIX50)));
+		}
+
+		@Override
+		public Set<Class<?>> getAnnotatedEndpointClasses(Set<Class<?>> scanned) {
+			return Set.of();
+		}
+	}
+
+	/**
+	 * A request/response pair. The request carries its intended send time in the identifier the venue echoes.
+	 */
+	private enum Scenario {
+		ORDER("order", MsgType.EXECUTION_REPORT, ClOrdID.FIELD) {
+			@Override
+			Message request(String id) {
+				var order = Fixtures.newOrderSingle();
+				order.setString(ClOrdID.FIELD, id);
+				return order;
+			}
+		},
+		MARKET_DATA("market-data", MsgType.MARKET_DATA_SNAPSHOT_FULL_REFRESH, MDReqID.FIELD) {
+			@Override
+			Message request(String id) {
+				var request = new Message();
+				request.getHeader().setString(MsgType.FIELD, MsgType.MARKET_DATA_REQUEST);
+				request.setString(MDReqID.FIELD, id);
+				request.setChar(SubscriptionRequestType.FIELD, SubscriptionRequestType.SNAPSHOT);
+				request.setInt(MarketDepth.FIELD, 5);
+				for (var type : new char[] { MDEntryType.BID, MDEntryType.OFFER }) {
+					var entryType = new Group(NoMDEntryTypes.FIELD, MDEntryType.FIELD);
+					entryType.setChar(MDEntryType.FIELD, type);
+					request.addGroup(entryType);
+				}
+				var symbol = new Group(NoRelatedSym.FIELD, Symbol.FIELD);
+				symbol.setString(Symbol.FIELD, "VOD.L");
+				request.addGroup(symbol);
+				return request;
+			}
+		};
+
+		private final String name;
+		private final String responseType;
+		private final int idField;
+
+		private Scenario(String name, String responseType, int idField) {
+			this.name = name;
+			this.responseType = responseType;
+			this.idField = idField;
+		}
+
+		abstract Message request(String id);
+
+		static Scenario of(String name) {
+			for (var s : values()) {
+				if (s.name.equals(name)) {
+					return s;
+				}
+			}
+			throw new IllegalArgumentException("Unknown scenario! [" + name + "]");
+		}
+	}
+
+	/**
+	 * A session that records round-trip times. Each is measured from when the request was due to be sent rather than
+	 * when it was, so time queued behind a late scheduler is included rather than omitted. Responses for a session
+	 * arrive on one thread at a time; each sample is published by the volatile write of {@link #size} so it can be read
+	 * on another thread, e.g. by {@link #samples()} after {@link #stop()}.
+	 */
+	private static class LoadClient extends FixClient {
+		private final CountDownLatch loggedOn = new CountDownLatch(1);
+		private final SessionID sessionId;
+		private final Scenario scenario;
+
+		private volatile boolean recording;
+		private long[] samples = new long[1_024];
+		private volatile int size;
+		/** Set before the sends are scheduled. */
+		private long first;
+		private long period;
+		/** Only accessed by the scheduled sends, which never overlap. */
+		private long sent;
+
+		LoadClient(WebSocketContainer container, URI uri, int index, Scenario scenario) {
+			this(container, uri, new SessionID(FixVersions.BEGINSTRING_FIXT11, String.format("LOAD%05d", index), "WsServer"),
+					scenario);
+		}
+
+		private LoadClient(WebSocketContainer container, URI uri, SessionID sessionId, Scenario scenario) {
+			super(container, uri, settings(sessionId), new MemoryStoreFactory());
+			this.sessionId = sessionId;
+			this.scenario = scenario;
+		}
+
+		/**
+		 * @param scheduler the scheduler to send from.
+		 * @param delay nanoseconds until the first send.
+		 * @param period nanoseconds between sends.
+		 */
+		void schedule(ScheduledExecutorService scheduler, long delay, long period) {
+			this.first = System.nanoTime() + delay;
+			this.period = period;
+			scheduler.scheduleAtFixedRate(this::send, delay, period, NANOSECONDS);
+		}
+
+		private void send() {
+			var intended = this.first + this.sent++ * this.period;
+			send(this.scenario.request(Long.toString(intended)));
+		}
+
+		void record() {
+			this.recording = true;
+		}
+
+		void stop() {
+			this.recording = false;
+		}
+
+		@Override
+		public void onLogon(SessionID sessionId) {
+			this.loggedOn.countDown();
+		}
+
+		@Override
+		public void fromApp(Message message, SessionID sessionId) {
+			var received = System.nanoTime();
+			try {
+				if (this.recording && this.scenario.responseType.equals(message.getHeader().getString(MsgType.FIELD))) {
+					add(received - Long.parseLong(message.getString(this.scenario.idField)));
+				}
+			} catch (FieldNotFound e) {
+				throw new IllegalStateException(e);
+			}
+		}
+
+		private void add(long sample) {
+			var size = this.size;
+			if (size == this.samples.length) {
+				this.samples = Arrays.copyOf(this.samples, size * 2);
+			}
+			this.samples[size] = sample;
+			this.size = size + 1;  // publishes the sample
+		}
+
+		/**
+		 * @return a copy of the samples recorded so far.
+		 */
+		long[] samples() {
+			var size = this.size;  // read first to see the samples it published
+			return Arrays.copyOf(this.samples, size);
+		}
+
+		@Override
+		public void close() throws IOException {
+			try {
+				super.close();
+			} catch (RuntimeException e) {
+				// best effort
+			}
+		}
+
+		private static SessionSettings settings(SessionID sessionId) {
+			var settings = new SessionSettings();
+			settings.setString("ConnectionType", "initiator");
+			settings.setString("StartTime", "00:00:00");
+			settings.setString("EndTime", "00:00:00");
+			settings.setString("HeartBtInt", "30");
+			settings.setString("DefaultApplVerID", "FIX.5.0");
+			settings.setString("ResetOnLogon", "Y");
+			// the gateway validates; parsing the dictionary for every client would dominate start up
+			settings.setString("UseDataDictionary", "N");
+			settings.setString(sessionId, "BeginString", sessionId.getBeginString());
+			return settings;
+		}
+	}
+}
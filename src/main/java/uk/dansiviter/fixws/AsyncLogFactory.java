@@ -0,0 +1,276 @@
+/*
+ * Copyright 2026 Daniel Siviter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.dansiviter.fixws;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.Closeable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import javax.annotation.Nonnull;
+
+import quickfix.Log;
+import quickfix.LogFactory;
+import quickfix.SessionID;
+
+/**
+ * A {@link LogFactory} whose logs copy each entry into a preallocated ring buffer and return immediately. A single
+ * background thread drains the ring and hands the entries to the {@link Log} created by the delegate factory, so the
+ * cost of formatting and I/O is kept off the FIX session threads.
+ * <p>
+ * Entries that fit within a slot are copied without allocation. Larger entries keep a reference to the original
+ * {@link String} instead. If the ring is full the producer briefly spins then parks until the writer catches up,
+ * rather than dropping entries; {@link #stalls()} counts how often that happened.
+ *
+ * @author Daniel Siviter
+ * @since v1.0 [19 Oct 2026]
+ */
+public class AsyncLogFactory implements LogFactory, Closeable {
+	public static final int DEFAULT_CAPACITY = 1_024;
+	public static final int DEFAULT_SLOT_SIZE = 1_024;
+
+	private static final long IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+	private static final long FULL_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+	private static final int SPINS = 100;
+	/** Set on {@link #head} once closed, so claiming a slot and closing are ordered by the same atomic. */
+	private static final long CLOSED = Long.MIN_VALUE;
+
+	private final LogFactory delegate;
+	private final Entry[] ring;
+	private final int mask;
+	/** The next sequence to claim, with {@link #CLOSED} set once closed. */
+	private final AtomicLong head = new AtomicLong();
+	private final LongAdder stalls = new LongAdder();
+	private final Thread writer;
+
+	private volatile long tail;
+
+	/**
+	 * @param delegate the factory for the logs that entries are finally written to.
+	 */
+	public AsyncLogFactory(@Nonnull LogFactory delegate) {
+		this(delegate, DEFAULT_CAPACITY, DEFAULT_SLOT_SIZE);
+	}
+
+	/**
+	 * @param delegate the factory for the logs that entries are finally written to.
+	 * @param capacity the number of entries in the ring. Must be a power of two.
+	 * @param slotSize the number of characters preallocated for each entry.
+	 */
+	public AsyncLogFactory(@Nonnull LogFactory delegate, int capacity, int slotSize) {
+		if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+			throw new IllegalArgumentException("Capacity must be a power of two! [" + capacity + "]");
+		}
+		this.delegate = requireNonNull(delegate);
+		this.ring = new Entry[capacity];
+		for (int i = 0; i < capacity; i++) {
+			this.ring[i] = new Entry(i - capacity, slotSize);
+		}
+		this.mask = capacity - 1;
+		this.writer = new Thread(this::drain, "fix-log-writer");
+		this.writer.setDaemon(true);
+		this.writer.start();
+	}
+
+	@Override
+	public Log create(SessionID sessionID) {
+		return new AsyncLog(this.delegate.create(sessionID));
+	}
+
+	/**
+	 * @return the number of times a producer found the ring full and had to wait.
+	 */
+	public long stalls() {
+		return this.stalls.sum();
+	}
+
+	private void publish(Log target, Kind kind, String text) {
+		long seq;
+		do {
+			seq = this.head.get();
+			if ((seq & CLOSED) != 0) {
+				kind.write(target, text);
+				return;
+			}
+		} while (!this.head.compareAndSet(seq, seq + 1));
+
+		if (seq - this.tail >= this.ring.length) {
+			this.stalls.increment();
+			for (int spins = 0; seq - this.tail >= this.ring.length; spins++) {
+				if (spins < SPINS) {
+					Thread.onSpinWait();
+				} else {
+					LockSupport.parkNanos(FULL_NANOS);
+				}
+			}
+		}
+		var entry = this.ring[(int) seq & this.mask];
+		entry.set(target, kind, text);
+		entry.published = seq;
+	}
+
+	private void drain() {
+		var seq = this.tail;
+		while (true) {
+			var head = this.head.get();
+			if ((head & CLOSED) != 0 && seq >= (head & ~CLOSED)) {
+				return;  // every claimed entry is written
+			}
+			var entry = this.ring[(int) seq & this.mask];
+			if (entry.published != seq) {
+				LockSupport.parkNanos(IDLE_NANOS);
+				continue;
+			}
+			try {
+				entry.write();
+			} catch (RuntimeException e) {  // don't let one bad entry stall every producer
+				var thread = Thread.currentThread();
+				thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+			}
+			this.tail = ++seq;
+		}
+	}
+
+	/**
+	 * Stops accepting entries, then waits for the writer to flush those already in the ring.
+	 */
+	@Override
+	public void close() {
+		this.head.getAndUpdate(h -> h | CLOSED);
+		try {
+			this.writer.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+
+	// --- Inner Classes ---
+
+	/**
+	 * The kind of log entry.
+	 */
+	private enum Kind {
+		INCOMING {
+			@Override
+			void write(Log log, String text) {
+				log.onIncoming(text);
+			}
+		},
+		OUTGOING {
+			@Override
+			void write(Log log, String text) {
+				log.onOutgoing(text);
+			}
+		},
+		EVENT {
+			@Override
+			void write(Log log, String text) {
+				log.onEvent(text);
+			}
+		},
+		ERROR_EVENT {
+			@Override
+			void write(Log log, String text) {
+				log.onErrorEvent(text);
+			}
+		},
+		CLEAR {
+			@Override
+			void write(Log log, String text) {
+				log.clear();
+			}
+		};
+
+		abstract void write(Log log, String text);
+	}
+
+	/**
+	 * A preallocated ring slot. Only ever written by the producer that claimed its sequence and read by the writer
+	 * thread once {@link #published} matches.
+	 */
+	private static class Entry {
+		private final char[] chars;
+		private Log target;
+		private Kind kind;
+		private int length;
+		private String overflow;
+		private volatile long published;
+
+		Entry(long published, int slotSize) {
+			this.published = published;
+			this.chars = new char[slotSize];
+		}
+
+		void set(Log target, Kind kind, String text) {
+			this.target = target;
+			this.kind = kind;
+			if (text.length() <= this.chars.length) {
+				text.getChars(0, text.length(), this.chars, 0);
+				this.length = text.length();
+				this.overflow = null;
+			} else {
+				this.overflow = text;
+			}
+		}
+
+		void write() {
+			var text = this.overflow != null ? this.overflow : new String(this.chars, 0, this.length);
+			this.kind.write(this.target, text);
+			this.target = null;
+			this.overflow = null;
+		}
+	}
+
+	/**
+	 * The {@link Log} returned to QuickFIX/J; each call is a ring publish.
+	 */
+	private class AsyncLog implements Log {
+		private final Log delegate;
+
+		AsyncLog(Log delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public void clear() {
+			publish(this.delegate, Kind.CLEAR, "");  // ordered with the entries before it
+		}
+
+		@Override
+		public void onIncoming(String message) {
+			publish(this.delegate, Kind.INCOMING, message);
+		}
+
+		@Override
+		public void onOutgoing(String message) {
+			publish(this.delegate, Kind.OUTGOING, message);
+		}
+
+		@Override
+		public void onEvent(String text) {
+			publish(this.delegate, Kind.EVENT, text);
+		}
+
+		@Override
+		public void onErrorEvent(String text) {
+			publish(this.delegate, Kind.ERROR_EVENT, text);
+		}
+	}
+}
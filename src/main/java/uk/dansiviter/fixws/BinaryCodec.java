@@ -0,0 +1,303 @@
+/*
+ * Copyright 2026 Daniel Siviter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.dansiviter.fixws;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.UnmappableCharacterException;
+
+import javax.annotation.Nonnull;
+import javax.websocket.RemoteEndpoint;
+
+import org.quickfixj.CharsetSupport;
+
+import quickfix.InvalidMessage;
+import quickfix.Session;
+import quickfix.field.BeginString;
+import quickfix.field.BodyLength;
+import quickfix.field.CheckSum;
+
+/**
+ * A compact binary encoding of the tag=value fields, negotiated with the {@code binary} subprotocol suffix, e.g.
+ * {@code fix50-binary}. Each field, in order, is an unsigned LEB128 varint key of {@code tag << 1 | integer} followed
+ * by either the varint value, if the value is a non-negative integer without leading zeros, or the varint length and
+ * the bytes of the value. {@code BodyLength} and {@code CheckSum} are dropped as the frame carries both and are
+ * recalculated on decode.
+ * <p>
+ * Values are carried a byte per character, so only characters the QuickFIX/J charset encodes as that one byte are
+ * supported, i.e. any for the default ISO-8859-1 but only ASCII otherwise; others are rejected rather than truncated.
+ * The encoding is schema-less so needs no data dictionary; length-prefixed data fields containing SOH are not
+ * supported.
+ *
+ * @author Daniel Siviter
+ * @since v1.0 [19 Oct 2026]
+ */
+public class BinaryCodec implements Codec {
+	public static final String NAME = "binary";
+
+	private static final char SOH = '\u0001';
+	/** The largest integer sent as a varint, so it always fits in a {@code long}. */
+	private static final int MAX_DIGITS = 18;
+
+	private final BinaryFrames buffers;
+
+	public BinaryCodec() {
+		this(BinaryFrames.common());
+	}
+
+	/**
+	 * @param buffers the source of buffers to encode into.
+	 */
+	public BinaryCodec(@Nonnull BinaryFrames buffers) {
+		this.buffers = buffers;
+	}
+
+	@Override
+	public String name() {
+		return NAME;
+	}
+
+	/**
+	 * Decodes in two passes over the frame: the first validates it and measures the fields so {@code BodyLength} is
+	 * known up front, the second writes the message straight into an array of exactly the right size.
+	 */
+	@Override
+	public String decode(ByteBuffer frame) throws InvalidMessage {
+		if (!frame.hasRemaining()) {
+			throw new InvalidMessage("Empty frame!");
+		}
+		try {
+			if (tag(frame.duplicate()) != BeginString.FIELD) {
+				throw new InvalidMessage("BeginString must be first!");
+			}
+			var in = frame.duplicate();
+			var beginString = measure(in);
+			var bodyLength = 0L;
+			while (in.hasRemaining()) {
+				bodyLength += measure(in);
+			}
+			// BeginString, BodyLength, the body and a CheckSum of three digits
+			var length = beginString + digits(BodyLength.FIELD) + digits(bodyLength) + 2 + bodyLength + 7;
+			if (length > Integer.MAX_VALUE) {
+				throw new InvalidMessage("Frame too large!");
+			}
+
+			var out = new char[(int) length];
+			in = frame.duplicate();
+			var pos = write(in, out, 0);
+			pos = field(out, pos, BodyLength.FIELD, bodyLength);
+			while (in.hasRemaining()) {
+				pos = write(in, out, pos);
+			}
+			var checksum = 0;
+			for (int i = 0; i < pos; i++) {
+				checksum += out[i];
+			}
+			checksum &= 0xff;
+			out[pos++] = '1';
+			out[pos++] = '0';
+			out[pos++] = '=';
+			out[pos++] = (char) ('0' + checksum / 100);
+			out[pos++] = (char) ('0' + checksum / 10 % 10);
+			out[pos++] = (char) ('0' + checksum % 10);
+			out[pos] = SOH;
+			return new String(out);
+		} catch (BufferUnderflowException e) {
+			throw new InvalidMessage("Truncated frame!");
+		}
+	}
+
+	@Override
+	public void send(RemoteEndpoint.Basic remote, String data, Session session) throws IOException {
+		var length = data.length();
+		// only a value over 16KiB has a longer length prefix than its '=' and SOH
+		var buffer = this.buffers.acquire(length + (length >> 14) + 1);
+		try {
+			encode(data, buffer);
+			remote.sendBinary(buffer.flip());  // blocks until sent so the buffer is free on return
+		} finally {
+			this.buffers.release(buffer);
+		}
+	}
+
+
+	// --- Static Methods ---
+
+	/**
+	 * @param data the tag=value message.
+	 * @param out the buffer to write to.
+	 * @throws CharacterCodingException if a character cannot be sent as a single byte.
+	 */
+	static void encode(@Nonnull CharSequence data, @Nonnull ByteBuffer out) throws CharacterCodingException {
+		var max = ISO_8859_1.equals(CharsetSupport.getCharsetInstance()) ? 0xFF : 0x7F;
+		var length = data.length();
+		var i = 0;
+		while (i < length) {
+			var tag = 0;
+			char c;
+			while (i < length && (c = data.charAt(i++)) != '=') {
+				tag = tag * 10 + (c - '0');
+			}
+			var start = i;
+			while (i < length && data.charAt(i) != SOH) {
+				i++;
+			}
+			var end = i++;
+			if (tag == BodyLength.FIELD || tag == CheckSum.FIELD) {
+				continue;
+			}
+			var value = integer(data, start, end);
+			if (value >= 0) {
+				varint(out, (long) tag << 1 | 1);
+				varint(out, value);
+			} else {
+				varint(out, (long) tag << 1);
+				varint(out, end - start);
+				for (int j = start; j < end; j++) {
+					c = data.charAt(j);
+					if (c > max) {
+						throw new UnmappableCharacterException(1);
+					}
+					out.put((byte) c);
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return the value, or {@code -1} if it would not survive the round trip as an integer.
+	 */
+	private static long integer(CharSequence data, int start, int end) {
+		var length = end - start;
+		if (length == 0 || length > MAX_DIGITS || (length > 1 && data.charAt(start) == '0')) {
+			return -1;
+		}
+		var value = 0L;
+		for (int i = start; i < end; i++) {
+			var c = data.charAt(i);
+			if (c < '0' || c > '9') {
+				return -1;
+			}
+			value = value * 10 + (c - '0');
+		}
+		return value;
+	}
+
+	/**
+	 * Validates the next field, skipping over it.
+	 *
+	 * @return the length of the field as tag=value, including the SOH.
+	 */
+	private static long measure(ByteBuffer in) throws InvalidMessage {
+		var key = varint(in);
+		var tag = tag(key);
+		if ((key & 1) != 0) {
+			return digits(tag) + digits(varint(in)) + 2;
+		}
+		var length = varint(in);
+		if (length > in.remaining()) {
+			throw new InvalidMessage("Truncated field! [" + tag + "]");
+		}
+		in.position(in.position() + (int) length);
+		return digits(tag) + length + 2;
+	}
+
+	/**
+	 * Writes the next field, already validated by {@link #measure(ByteBuffer)}, as tag=value.
+	 *
+	 * @return the position after the field.
+	 */
+	private static int write(ByteBuffer in, char[] out, int pos) throws InvalidMessage {
+		var key = varint(in);
+		if ((key & 1) != 0) {
+			return field(out, pos, tag(key), varint(in));
+		}
+		pos = digits(out, pos, tag(key));
+		out[pos++] = '=';
+		for (long i = varint(in); i > 0; i--) {
+			out[pos++] = (char) (in.get() & 0xff);
+		}
+		out[pos++] = SOH;
+		return pos;
+	}
+
+	private static int field(char[] out, int pos, long tag, long value) {
+		pos = digits(out, pos, tag);
+		out[pos++] = '=';
+		pos = digits(out, pos, value);
+		out[pos++] = SOH;
+		return pos;
+	}
+
+	/**
+	 * Writes the decimal digits of the value.
+	 *
+	 * @return the position after the digits.
+	 */
+	private static int digits(char[] out, int pos, long value) {
+		var end = pos + digits(value);
+		for (int i = end - 1; i >= pos; i--) {
+			out[i] = (char) ('0' + value % 10);
+			value /= 10;
+		}
+		return end;
+	}
+
+	private static int digits(long value) {
+		var digits = 1;
+		while (value >= 10) {
+			value /= 10;
+			digits++;
+		}
+		return digits;
+	}
+
+	private static long tag(ByteBuffer in) throws InvalidMessage {
+		return tag(varint(in));
+	}
+
+	private static long tag(long key) throws InvalidMessage {
+		var tag = key >>> 1;
+		if (tag <= 0 || tag > Integer.MAX_VALUE) {
+			throw new InvalidMessage("Invalid tag! [" + tag + "]");
+		}
+		return tag;
+	}
+
+	private static void varint(ByteBuffer out, long value) {
+		while ((value & ~0x7fL) != 0) {
+			out.put((byte) ((value & 0x7f) | 0x80));
+			value >>>= 7;
+		}
+		out.put((byte) value);
+	}
+
+	private static long varint(ByteBuffer in) throws InvalidMessage {
+		var value = 0L;
+		for (int shift = 0; shift < 63; shift += 7) {
+			var b = in.get();
+			value |= (long) (b & 0x7f) << shift;
+			if (b >= 0) {
+				return value;
+			}
+		}
+		throw new InvalidMessage("Varint too long!");
+	}
+}
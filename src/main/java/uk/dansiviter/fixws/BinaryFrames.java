@@ -0,0 +1,301 @@
+/*
+ * Copyright 2026 Daniel Siviter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.dansiviter.fixws;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.UnmappableCharacterException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+
+import javax.annotation.Nonnull;
+import javax.websocket.RemoteEndpoint;
+import javax.websocket.SendHandler;
+
+import org.quickfixj.CharsetSupport;
+
+import quickfix.ConfigError;
+import quickfix.FieldConvertError;
+import quickfix.SessionID;
+import quickfix.SessionSettings;
+
+/**
+ * Sends FIX messages as binary rather than text frames. Each message is encoded in the QuickFIX/J charset
+ * ({@link CharsetSupport#getCharset()}), which it uses to calculate {@code BodyLength} and {@code CheckSum}. For the
+ * default ISO-8859-1 it is written a byte per character straight into a pooled direct buffer, so the container doesn't
+ * UTF-8 encode it into a fresh array first; characters the charset cannot encode are rejected rather than truncated.
+ * Messages larger than a pooled buffer use a one-off one.
+ * <p>
+ * A connection's {@link Sender} hands frames to the asynchronous remote so the sending thread doesn't wait for the
+ * write, only for the previous one if it is still in progress. That wait is bounded by the remote's send timeout, or
+ * {@link #DEFAULT_SEND_TIMEOUT} if it has none, after which the connection is considered stalled and every later send
+ * fails immediately; otherwise a dead peer would hold the sending thread, e.g. a {@link SessionTimer} worker, forever.
+ * <p>
+ * Enabled with {@link #WEBSOCKET_BINARY} in the default section on the gateway, or the session section for
+ * {@link uk.dansiviter.fixws.client.FixClient}. Both always accept either frame type, so only the sender need enable
+ * it.
+ *
+ * @author Daniel Siviter
+ * @since v1.0 [19 Oct 2026]
+ */
+public class BinaryFrames {
+	public static final String WEBSOCKET_BINARY = "WebSocketBinary";
+	public static final int DEFAULT_BUFFER_SIZE = 4_096;
+	public static final int DEFAULT_POOL_SIZE = 64;
+	/** Milliseconds to wait for the previous write if the remote has no send timeout. */
+	public static final long DEFAULT_SEND_TIMEOUT = 10_000;
+
+	private final BlockingQueue<ByteBuffer> pool;
+	private final int bufferSize;
+
+	/**
+	 * @param bufferSize the size of the pooled buffers.
+	 * @param poolSize the maximum number of buffers retained.
+	 */
+	public BinaryFrames(int bufferSize, int poolSize) {
+		this.pool = new ArrayBlockingQueue<>(poolSize);
+		this.bufferSize = bufferSize;
+	}
+
+	/**
+	 * @param remote the remote to send to.
+	 * @param data the encoded FIX message.
+	 * @throws IOException if the send failed or a character cannot be encoded.
+	 */
+	public void send(@Nonnull RemoteEndpoint.Basic remote, @Nonnull String data) throws IOException {
+		var buffer = encode(data);
+		try {
+			remote.sendBinary(buffer);  // blocks until sent so the buffer is free on return
+		} finally {
+			release(buffer);
+		}
+	}
+
+	/**
+	 * @param remote the connection's asynchronous remote.
+	 * @return a sender for the connection.
+	 */
+	public Sender sender(@Nonnull RemoteEndpoint.Async remote) {
+		var timeout = remote.getSendTimeout();
+		return sender(remote, timeout > 0 ? timeout : DEFAULT_SEND_TIMEOUT);
+	}
+
+	/**
+	 * @param remote the connection's asynchronous remote.
+	 * @param timeout milliseconds to wait for the previous write.
+	 * @return a sender for the connection.
+	 */
+	public Sender sender(@Nonnull RemoteEndpoint.Async remote, long timeout) {
+		return new Sender(remote, timeout);
+	}
+
+	/**
+	 * @param data the FIX message.
+	 * @return a buffer ready to send, which should be released once sent.
+	 * @throws CharacterCodingException if a character cannot be encoded.
+	 */
+	ByteBuffer encode(String data) throws CharacterCodingException {
+		var charset = CharsetSupport.getCharsetInstance();
+		if (!ISO_8859_1.equals(charset)) {
+			return charset.newEncoder().encode(CharBuffer.wrap(data));  // reports unmappable characters
+		}
+		var length = data.length();
+		var buffer = acquire(length);
+		for (int i = 0; i < length; i++) {
+			var c = data.charAt(i);
+			if (c > 0xFF) {
+				release(buffer);
+				throw new UnmappableCharacterException(1);
+			}
+			buffer.put((byte) c);
+		}
+		return buffer.flip();
+	}
+
+	/**
+	 * @param length the number of bytes required.
+	 * @return a pooled buffer, or a one-off one if larger than the pooled buffers.
+	 */
+	ByteBuffer acquire(int length) {
+		if (length > this.bufferSize) {
+			return ByteBuffer.allocate(length);
+		}
+		var buffer = this.pool.poll();
+		return buffer != null ? buffer : ByteBuffer.allocateDirect(this.bufferSize);
+	}
+
+	/**
+	 * @param buffer the buffer to return to the pool, if pooled.
+	 */
+	void release(ByteBuffer buffer) {
+		if (buffer.isDirect()) {
+			this.pool.offer(buffer.clear());
+		}
+	}
+
+
+	// --- Static Methods ---
+
+	/**
+	 * @param data the received frame.
+	 * @return the FIX message.
+	 */
+	public static @Nonnull String decode(@Nonnull ByteBuffer data) {
+		var charset = CharsetSupport.getCharsetInstance();
+		if (data.hasArray()) {
+			return new String(data.array(), data.arrayOffset() + data.position(), data.remaining(), charset);
+		}
+		var bytes = new byte[data.remaining()];
+		data.duplicate().get(bytes);
+		return new String(bytes, charset);
+	}
+
+	/**
+	 * @return frames shared by endpoints and clients.
+	 */
+	public static BinaryFrames common() {
+		return Common.INSTANCE;
+	}
+
+	/**
+	 * @param settings the session settings.
+	 * @return {@code true} if binary frames are enabled in the default section.
+	 * @throws ConfigError if the setting is invalid.
+	 */
+	public static boolean enabled(@Nonnull SessionSettings settings) throws ConfigError {
+		try {
+			return settings.isSetting(WEBSOCKET_BINARY) && settings.getBool(WEBSOCKET_BINARY);
+		} catch (FieldConvertError e) {
+			throw new ConfigError(e);
+		}
+	}
+
+	/**
+	 * @param settings the session settings.
+	 * @param sessionId the session, which must be defined in the settings.
+	 * @return {@code true} if binary frames are enabled for the session.
+	 * @throws ConfigError if the setting is invalid.
+	 */
+	public static boolean enabled(@Nonnull SessionSettings settings, @Nonnull SessionID sessionId) throws ConfigError {
+		try {
+			return settings.isSetting(sessionId, WEBSOCKET_BINARY) && settings.getBool(sessionId, WEBSOCKET_BINARY);
+		} catch (FieldConvertError e) {
+			throw new ConfigError(e);
+		}
+	}
+
+
+	// --- Inner Classes ---
+
+	/**
+	 * Sends a connection's frames asynchronously, one at a time as containers needn't queue concurrent writes. Thread
+	 * safe.
+	 */
+	public class Sender {
+		private final Semaphore writing = new Semaphore(1);
+		private final RemoteEndpoint.Async remote;
+		private final long timeout;
+		private volatile boolean stalled;
+
+		private Sender(RemoteEndpoint.Async remote, long timeout) {
+			this.remote = remote;
+			this.timeout = timeout;
+		}
+
+		/**
+		 * Hands the message to the remote, waiting only for the previous write to complete.
+		 *
+		 * @param data the encoded FIX message.
+		 * @param handler called once written, or the write failed.
+		 * @throws SocketTimeoutException if the previous write didn't complete in time, or already hadn't.
+		 * @throws IOException if a character cannot be encoded or interrupted.
+		 */
+		public void send(@Nonnull String data, @Nonnull SendHandler handler) throws IOException {
+			acquire();
+			ByteBuffer buffer;
+			try {
+				buffer = encode(data);
+			} catch (CharacterCodingException e) {
+				this.writing.release();
+				throw e;
+			}
+			try {
+				this.remote.sendBinary(buffer, r -> {
+					release(buffer);
+					this.writing.release();
+					handler.onResult(r);
+				});
+			} catch (RuntimeException e) {
+				release(buffer);
+				this.writing.release();
+				throw new IOException(e);
+			}
+		}
+
+		/**
+		 * Waits for the write in progress, if any, e.g. so a Logout is written before the connection is closed.
+		 *
+		 * @return {@code false} if the write didn't complete in time, or the connection had already stalled.
+		 * @throws InterruptedIOException if interrupted.
+		 */
+		public boolean flush() throws InterruptedIOException {
+			try {
+				acquire();
+			} catch (SocketTimeoutException e) {
+				return false;
+			}
+			this.writing.release();
+			return true;
+		}
+
+		/**
+		 * @return {@code true} if a write didn't complete in time, so nothing more will be sent.
+		 */
+		public boolean stalled() {
+			return this.stalled;
+		}
+
+		private void acquire() throws InterruptedIOException {
+			if (this.stalled) {
+				throw new SocketTimeoutException("Stalled!");
+			}
+			try {
+				if (!this.writing.tryAcquire(this.timeout, MILLISECONDS)) {
+					this.stalled = true;
+					throw new SocketTimeoutException("Write timed out! [" + this.timeout + "ms]");
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException();
+			}
+		}
+	}
+
+	/**
+	 * Lazy holder for {@link #common()}.
+	 */
+	private static class Common {
+		private static final BinaryFrames INSTANCE = new BinaryFrames(DEFAULT_BUFFER_SIZE, DEFAULT_POOL_SIZE);
+	}
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2026 Daniel Siviter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.dansiviter.fixws;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.function.BiFunction;
+
+import javax.annotation.Nonnull;
+import javax.websocket.RemoteEndpoint;
+
+import quickfix.InvalidMessage;
+import quickfix.Message;
+import quickfix.Session;
+import quickfix.SessionID;
+
+/**
+ * An alternative wire encoding, negotiated by a WebSocket subprotocol of the FIX version and the codec's name separated
+ * by {@link #SEPARATOR}, e.g. {@code fix50-binary}. Without a suffix the payload is tag=value.
+ * <p>
+ * Codecs translate at the edge so QuickFIX/J, the session log and the CDI observers all see the usual message. Binary
+ * frames are decoded to tag=value and text frames either straight to a {@link Message} or, by default, left as
+ * tag=value. Implementations are found with {@link ServiceLoader} and must be thread safe as they are shared by all
+ * connections.
+ *
+ * @author Daniel Siviter
+ * @since v1.0 [19 Oct 2026]
+ */
+public interface Codec {
+	String SEPARATOR = "-";
+
+	/**
+	 * @return the subprotocol suffix.
+	 */
+	@Nonnull
+	String name();
+
+	/**
+	 * @param frame the received binary frame.
+	 * @return the tag=value message.
+	 * @throws InvalidMessage if the frame could not be decoded.
+	 */
+	@Nonnull
+	default String decode(@Nonnull ByteBuffer frame) throws InvalidMessage {
+		return BinaryFrames.decode(frame);
+	}
+
+	/**
+	 * @param frame the received text frame.
+	 * @param sessions resolves the receiving session from the message's reverse session ID and {@code MsgType},
+	 * returning {@code null} if it is unknown.
+	 * @return the message, or {@code null} if the frame is tag=value.
+	 * @throws InvalidMessage if the frame could not be decoded.
+	 */
+	default Message decode(@Nonnull String frame, @Nonnull BiFunction<SessionID, String, Session> sessions)
+			throws InvalidMessage
+	{
+		return null;
+	}
+
+	/**
+	 * @param remote the remote to send to.
+	 * @param data the tag=value message as encoded by QuickFIX/J.
+	 * @param session the session sending the message.
+	 * @throws IOException if the send failed.
+	 */
+	void send(@Nonnull RemoteEndpoint.Basic remote, @Nonnull String data, @Nonnull Session session) throws IOException;
+
+
+	// --- Static Methods ---
+
+	/**
+	 * @param subprotocol the negotiated subprotocol, may be {@code null}.
+	 * @return the codec, or {@code null} if tag=value.
+	 * @throws IllegalStateException if there is no codec of that name.
+	 */
+	static Codec of(String subprotocol) {
+		var i = subprotocol != null ? subprotocol.indexOf(SEPARATOR) : -1;
+		if (i < 0) {
+			return null;
+		}
+		var name = subprotocol.substring(i + SEPARATOR.length());
+		var codec = Registry.CODECS.get(name);
+		if (codec == null) {
+			throw new IllegalStateException("Unknown codec! [" + name + "]");
+		}
+		return codec;
+	}
+
+
+	// --- Inner Classes ---
+
+	/**
+	 * Lazy holder for {@link #of(String)}.
+	 */
+	final class Registry {
+		private static final Map<String, Codec> CODECS = load();
+
+		private Registry() { }
+
+		private static Map<String, Codec> load() {
+			var codecs = new HashMap<String, Codec>();
+			ServiceLoader.load(Codec.class, Codec.class.getClassLoader()).forEach(c -> codecs.put(c.name(), c));
+			return codecs;
+		}
+	}
+}
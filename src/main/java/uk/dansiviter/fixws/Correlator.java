@@ -0,0 +1,174 @@
+/*
+ * Copyright 2026 Daniel Siviter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.dansiviter.fixws;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+import javax.annotation.Nonnull;
+
+import quickfix.FieldMap;
+import quickfix.FieldNotFound;
+import quickfix.Message;
+import quickfix.field.BusinessRejectRefID;
+import quickfix.field.ClOrdID;
+import quickfix.field.CollReqID;
+import quickfix.field.MDReqID;
+import quickfix.field.MassStatusReqID;
+import quickfix.field.OrdStatusReqID;
+import quickfix.field.PosReqID;
+import quickfix.field.QuoteReqID;
+import quickfix.field.QuoteStatusReqID;
+import quickfix.field.SecurityReqID;
+import quickfix.field.SecurityStatusReqID;
+import quickfix.field.TradSesReqID;
+import quickfix.field.TradeRequestID;
+import quickfix.field.UserRequestID;
+
+/**
+ * Matches inbound application messages to outstanding requests of a single session by a correlation key, e.g. an
+ * {@code ExecutionReport} to its {@code NewOrderSingle} by {@code ClOrdID} or a {@code MarketDataSnapshotFullRefresh}
+ * to its {@code MarketDataRequest} by {@code MDReqID}. The key is the first of {@link #TAGS} set on the request, so the
+ * specific request IDs take precedence over {@code ClOrdID}. A {@code BusinessMessageReject} matches by
+ * {@code BusinessRejectRefID}.
+ * <p>
+ * Each future completes with the first matching message, which may be a reject, or exceptionally with
+ * {@link java.util.concurrent.TimeoutException} if none arrives in time. Later messages with the same key, e.g. fills,
+ * are only given to the observers. Futures are completed on the executor, by default
+ * {@link ForkJoinPool#commonPool()}, rather than the thread reading the connection, so non-async dependent stages
+ * don't hold up the session. Thread safe.
+ *
+ * @author Daniel Siviter
+ * @since v1.0 [19 Oct 2026]
+ */
+public class Correlator {
+	/** The correlation tags, in order of precedence. */
+	static final int[] TAGS = {
+		MDReqID.FIELD,
+		QuoteReqID.FIELD,
+		QuoteStatusReqID.FIELD,
+		SecurityReqID.FIELD,
+		SecurityStatusReqID.FIELD,
+		TradSesReqID.FIELD,
+		TradeRequestID.FIELD,
+		PosReqID.FIELD,
+		CollReqID.FIELD,
+		MassStatusReqID.FIELD,
+		OrdStatusReqID.FIELD,
+		UserRequestID.FIELD,
+		ClOrdID.FIELD
+	};
+
+	/** Outstanding requests by the value of the tag at the same index of {@link #TAGS}. */
+	private final Map<String, CompletableFuture<Message>>[] pending;
+
+	private final Executor executor;
+
+	public Correlator() {
+		this(ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * @param executor completes the futures.
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public Correlator(@Nonnull Executor executor) {
+		this.executor = executor;
+		this.pending = new Map[TAGS.length];
+		for (int i = 0; i < TAGS.length; i++) {
+			this.pending[i] = new ConcurrentHashMap<>();
+		}
+	}
+
+	/**
+	 * Registers the request, which should then be sent. If the send fails the returned future should be completed
+	 * exceptionally to deregister it.
+	 *
+	 * @param request the request.
+	 * @param timeout the maximum time to wait for a response.
+	 * @return the future response.
+	 * @throws IllegalArgumentException if the request has no correlation key.
+	 * @throws IllegalStateException if a request with the same key is outstanding.
+	 */
+	public CompletableFuture<Message> register(@Nonnull Message request, @Nonnull Duration timeout) {
+		for (int i = 0; i < TAGS.length; i++) {
+			var value = value(request, TAGS[i]);
+			if (value == null) {
+				continue;
+			}
+			var future = new CompletableFuture<Message>();
+			var pending = this.pending[i];
+			if (pending.putIfAbsent(value, future) != null) {
+				throw new IllegalStateException("Duplicate correlation key! [" + TAGS[i] + "=" + value + "]");
+			}
+			future.whenComplete((r, t) -> pending.remove(value, future));
+			return future.orTimeout(timeout.toNanos(), NANOSECONDS);
+		}
+		throw new IllegalArgumentException("No correlation key! [" + FixUtil.msgType(request) + "]");
+	}
+
+	/**
+	 * @return {@code true} if there are no outstanding requests.
+	 */
+	public boolean isEmpty() {
+		for (var pending : this.pending) {
+			if (!pending.isEmpty()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Completes the outstanding request the message responds to, if any.
+	 *
+	 * @param message the inbound application message.
+	 * @param copy {@code true} if the message will be recycled so must be cloned.
+	 */
+	public void correlate(@Nonnull Message message, boolean copy) {
+		var rejectRef = value(message, BusinessRejectRefID.FIELD);
+		for (int i = 0; i < TAGS.length; i++) {
+			var pending = this.pending[i];
+			if (pending.isEmpty()) {
+				continue;
+			}
+			var value = rejectRef != null ? rejectRef : value(message, TAGS[i]);
+			var future = value != null ? pending.remove(value) : null;
+			if (future != null) {
+				var response = copy ? (Message) message.clone() : message;
+				future.completeAsync(() -> response, this.executor);
+				return;
+			}
+		}
+	}
+
+
+	// --- Static Methods ---
+
+	private static String value(FieldMap map, int tag) {
+		try {
+			return map.isSetField(tag) ? map.getString(tag) : null;
+		} catch (FieldNotFound e) {
+			return null;
+		}
+	}
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2026 Daniel Siviter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.dansiviter.fixws;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static javax.websocket.CloseReason.CloseCodes.GOING_AWAY;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Nonnull;
+import javax.annotation.PostConstruct;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.inject.Instance;
+import javax.inject.Inject;
+import javax.websocket.CloseReason;
+import javax.websocket.Session;
+
+import quickfix.ConfigError;
+import quickfix.FieldConvertError;
+import quickfix.SessionSettings;
+import uk.dansiviter.juli.LogProducer;
+
+/**
+ * Gracefully takes the endpoint out of service, e.g. before a rolling restart. Once {@link #drain(Duration)} is
+ * called new logons are refused and every logged on session is logged out; the Logout is sent by the
+ * {@link SessionTimer} on its next visit, so the session is never driven from two threads, and sessions close as the
+ * counterparties respond. Any left at the deadline are closed. Finally each session is closed so the message stores
+ * are synced, meaning the counterparty reconnects to another node with matching sequence numbers rather than a wave of
+ * resends.
+ * <p>
+ * Draining is terminal; the container should be stopped afterwards. Only used by {@link FixEndpoint} if
+ * {@link #DRAIN_TIMEOUT} (seconds) is set in the default section of the session settings.
+ *
+ * @author Daniel Siviter
+ * @since v1.0 [19 Oct 2026]
+ */
+@ApplicationScoped
+public class Drain {
+	public static final String DRAIN_TIMEOUT = "DrainTimeout";
+	public static final String REASON = "Draining";
+
+	private final Log log = LogProducer.log(Log.class);
+	private final Map<Session, quickfix.Session> connections = new ConcurrentHashMap<>();
+
+	@Inject
+	private Instance<SessionSettings> settings;
+
+	private Duration timeout;
+	private volatile boolean draining;
+
+	@PostConstruct
+	void init() {
+		if (!this.settings.isResolvable()) {
+			return;
+		}
+		var settings = this.settings.get();
+		try {
+			if (enabled(settings)) {
+				this.timeout = Duration.ofSeconds(settings.getLong(DRAIN_TIMEOUT));
+			}
+		} catch (ConfigError | FieldConvertError e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * @param session the connection.
+	 * @param qfSession the FIX session bound to it.
+	 */
+	void bound(@Nonnull Session session, @Nonnull quickfix.Session qfSession) {
+		this.connections.put(session, qfSession);
+	}
+
+	/**
+	 * @param session the connection that closed.
+	 */
+	void unbound(@Nonnull Session session) {
+		if (this.connections.remove(session) != null && this.draining) {
+			synchronized (this) {
+				notifyAll();
+			}
+		}
+	}
+
+	/**
+	 * @return {@code true} if new logons are being refused.
+	 */
+	public boolean isDraining() {
+		return this.draining;
+	}
+
+	/**
+	 * @return the number of open connections with a bound session.
+	 */
+	public int size() {
+		return this.connections.size();
+	}
+
+	/**
+	 * Refuses further logons, logs out every session and waits up to {@link #DRAIN_TIMEOUT} for the connections to
+	 * close.
+	 *
+	 * @return {@code true} if all connections closed before the deadline.
+	 * @throws IllegalStateException if not enabled.
+	 */
+	public boolean drain() {
+		if (this.timeout == null) {
+			throw new IllegalStateException("Drain not enabled! [" + DRAIN_TIMEOUT + "]");
+		}
+		return drain(this.timeout);
+	}
+
+	/**
+	 * Refuses further logons, logs out every session and waits for the connections to close.
+	 *
+	 * @param timeout the maximum time to wait for counterparties to respond to the Logout, which may take up to a
+	 *                second longer to be sent.
+	 * @return {@code true} if all connections closed before the deadline.
+	 * @throws IllegalStateException if not enabled.
+	 */
+	public boolean drain(@Nonnull Duration timeout) {
+		if (this.timeout == null) {
+			throw new IllegalStateException("Drain not enabled! [" + DRAIN_TIMEOUT + "]");
+		}
+		var deadline = System.nanoTime() + timeout.toNanos();
+		this.draining = true;
+
+		var drained = new ArrayList<quickfix.Session>();
+		for (var entry : this.connections.entrySet()) {
+			var qfSession = entry.getValue();
+			drained.add(qfSession);
+			if (!qfSession.isLoggedOn()) {
+				close(entry.getKey());
+				continue;
+			}
+			qfSession.logout(REASON);  // sent by the timer
+		}
+
+		var graceful = await(deadline);
+		if (!graceful) {
+			this.log.drainTimeout(this.connections.size());
+			this.connections.keySet().forEach(Drain::close);
+		}
+
+		for (var qfSession : drained) {
+			try {
+				qfSession.close();  // syncs the store
+			} catch (IOException e) {
+				qfSession.getLog().onErrorEvent("Unable to close session: " + e);
+			}
+		}
+		return graceful;
+	}
+
+	private boolean await(long deadline) {
+		synchronized (this) {
+			long remaining;
+			while (!this.connections.isEmpty() && (remaining = deadline - System.nanoTime()) > 0) {
+				try {
+					NANOSECONDS.timedWait(this, remaining);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return false;
+				}
+			}
+			return this.connections.isEmpty();
+		}
+	}
+
+
+	// --- Static Methods ---
+
+	/**
+	 * @param settings the session settings.
+	 * @return {@code true} if draining is enabled.
+	 */
+	public static boolean enabled(@Nonnull SessionSettings settings) {
+		return settings.isSetting(DRAIN_TIMEOUT);
+	}
+
+	private static void close(Session session) {
+		try {
+			session.close(new CloseReason(GOING_AWAY, REASON));
+		} catch (IOException e) {
+			LogProducer.log(Log.class).close(session.getId(), e);
+		}
+	}
+}
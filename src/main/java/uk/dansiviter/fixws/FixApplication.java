@@ -18,28 +18,45 @@ package uk.dansiviter.fixws;
 import static quickfix.LogUtil.logThrowable;
 import static quickfix.MessageUtils.toApplVerID;
 import static uk.dansiviter.fixws.ExceptionFactory.sessionNotFound;
+import static uk.dansiviter.fixws.Metrics.Stage.SEND;
 import static uk.dansiviter.fixws.annotations.MsgType.Literal.msgType;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Nonnull;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.event.Event;
 import javax.enterprise.event.Observes;
 import javax.enterprise.event.ObservesAsync;
+import javax.enterprise.inject.Instance;
+import javax.enterprise.inject.spi.BeanManager;
+import javax.enterprise.inject.spi.ObserverMethod;
 import javax.inject.Inject;
 
 import quickfix.ApplicationAdapter;
+import quickfix.ConfigError;
 import quickfix.DoNotSend;
+import quickfix.FieldException;
 import quickfix.FieldNotFound;
 import quickfix.FixVersions;
 import quickfix.IncorrectDataFormat;
 import quickfix.IncorrectTagValue;
+import quickfix.InvalidMessage;
 import quickfix.Message;
 import quickfix.MessageUtils;
 import quickfix.Session;
 import quickfix.SessionID;
-import quickfix.SessionNotFound;
+import quickfix.SessionSettings;
 import quickfix.UnsupportedMessageType;
 import quickfix.field.ApplVerID;
+import quickfix.field.BeginString;
 import uk.dansiviter.fixws.annotations.FromApp;
+import uk.dansiviter.fixws.annotations.MsgType;
+import uk.dansiviter.fixws.annotations.OnLogon;
+import uk.dansiviter.fixws.annotations.OnLogout;
 import uk.dansiviter.fixws.annotations.ToApp;
 
 /**
@@ -52,11 +69,98 @@ public class FixApplication extends ApplicationAdapter {
 	@FromApp
 	private Event<Message> messageEvent;
 	@Inject
+	@FromApp
+	private Event<LazyMessage> lazyEvent;
+	@Inject
+	private Event<FixSessionHandle> sessionEvent;
+	@Inject
 	private Metrics metrics;
+	@Inject
+	private Instance<SessionSettings> settings;
+	@Inject
+	private BeanManager beanManager;
+	@Inject
+	private Instance<PartitionedExecutor> partitionedExecutor;
+	@Inject
+	private Instance<FixPublishers> fixPublishers;
+
+	private final Map<SessionID, FixSessionHandle> handles = new ConcurrentHashMap<>();
+	/** Outstanding requests, by session so they survive a reconnect. */
+	private final Map<SessionID, Correlator> correlators = new ConcurrentHashMap<>();
+
+	private final Map<String, Boolean> asyncObservers = new ConcurrentHashMap<>();
+	private final Map<String, Boolean> messageObservers = new ConcurrentHashMap<>();
+	private final Map<String, Boolean> lazyObservers = new ConcurrentHashMap<>();
+
+	/** Inbound messages are recycled once the synchronous observers return. */
+	private boolean pooling;
+	/** {@link LazyMessage} observers are notified of fully parsed messages too. */
+	private boolean lazy;
+	/** Runs asynchronous observers in key order, or {@code null} to use the container's executor. */
+	private PartitionedExecutor partitions;
+	/** {@code true} if created from the settings rather than produced, so closed here. */
+	private boolean closePartitions;
+	/** Reactive Streams publishers, or {@code null} if not deployed. */
+	private FixPublishers publishers;
+
+	@PostConstruct
+	void init() {
+		if (this.fixPublishers.isResolvable()) {
+			this.publishers = this.fixPublishers.get();
+		}
+		if (this.partitionedExecutor.isResolvable()) {
+			this.partitions = this.partitionedExecutor.get();
+		}
+		if (this.settings.isResolvable()) {
+			var settings = this.settings.get();
+			try {
+				this.pooling = MessagePool.enabled(settings);
+				this.lazy = LazyMessage.enabled(settings);
+				if (this.partitions == null) {
+					this.partitions = PartitionedExecutor.of(settings);
+					this.closePartitions = this.partitions != null;
+				}
+			} catch (ConfigError e) {
+				throw new IllegalStateException(e);
+			}
+		}
+	}
+
+	@PreDestroy
+	void destroy() {
+		if (this.closePartitions) {
+			this.partitions.close();
+		}
+	}
+
+	@Override
+	public void onLogon(SessionID sessionId) {
+		var session = Session.lookupSession(sessionId);  // once per logon
+		if (session == null) {
+			return;
+		}
+		var handle = new FixSessionHandle(this, session);
+		this.handles.put(sessionId, handle);
+		this.sessionEvent.select(OnLogon.Literal.onLogon()).fire(handle);
+	}
+
+	@Override
+	public void onLogout(SessionID sessionId) {
+		var handle = this.handles.remove(sessionId);
+		if (handle != null) {
+			this.sessionEvent.select(OnLogout.Literal.onLogout()).fire(handle);
+		}
+	}
+
+	@Override
+	public void toAdmin(Message message, SessionID sessionId) {
+		this.metrics.resend(message, sessionId);
+	}
 
 	@Override
 	public void toApp(Message message, SessionID sessionId) throws DoNotSend {
 		this.metrics.on(message, sessionId, false);
+		this.metrics.resend(message, sessionId);
 	}
 
 	@Override
@@ -64,10 +168,159 @@ public class FixApplication extends ApplicationAdapter {
 			throws FieldNotFound, IncorrectDataFormat, IncorrectTagValue, UnsupportedMessageType
 	{
 		this.metrics.on(message, sessionId, true);
+		this.metrics.dispatched(message, sessionId);
 
-		var evt = this.messageEvent.select(msgType(message));
+		var msgType = msgType(message);
+		var lazy = LazyMessage.from(message);
+		if (lazy != null) {
+			fromApp(lazy, msgType, sessionId);
+			return;
+		}
+		if (this.lazy) {
+			var view = LazyMessage.of(message);
+			if (lazyObserved(view, msgType)) {
+				fire(this.pooling ? LazyMessage.of((Message) message.clone()) : view, msgType, sessionId);
+			}
+		}
+		var evt = this.messageEvent.select(msgType);
 		evt.fire(message);
-		evt.fireAsync(message);
+		if (!this.pooling) {
+			fireAsync(evt, message, sessionId);
+		} else if (asyncObserved(message, msgType)) {  // as it will be recycled
+			fireAsync(evt, (Message) message.clone(), sessionId);
+		}
+		if (subscribed(msgType, sessionId)) {
+			this.publishers.publish(this.pooling ? (Message) message.clone() : message, msgType.value(), sessionId);
+		}
+		var correlator = correlator(sessionId, false);
+		if (correlator != null) {
+			correlator.correlate(message, this.pooling);
+		}
+	}
+
+	private void fromApp(LazyMessage lazy, MsgType msgType, SessionID sessionId)
+			throws FieldNotFound, IncorrectDataFormat, IncorrectTagValue, UnsupportedMessageType
+	{
+		fire(lazy, msgType, sessionId);
+		// only if one appeared since the message was parsed
+		var observed = messageObserved(lazy, msgType);
+		var subscribed = subscribed(msgType, sessionId);
+		var correlator = correlator(sessionId, false);
+		if (!observed && !subscribed && correlator == null) {
+			return;
+		}
+		try {
+			var message = lazy.toMessage();
+			if (observed) {
+				var evt = this.messageEvent.select(msgType);
+				evt.fire(message);
+				fireAsync(evt, message, sessionId);
+			}
+			if (subscribed) {
+				this.publishers.publish(message, msgType.value(), sessionId);
+			}
+			if (correlator != null) {
+				correlator.correlate(message, false);
+			}
+		} catch (InvalidMessage e) {
+			throw new IncorrectDataFormat(e.getMessage());
+		}
+	}
+
+	private void fire(LazyMessage lazy, MsgType msgType, SessionID sessionId) {
+		var lazyEvt = this.lazyEvent.select(msgType);
+		lazyEvt.fire(lazy);
+		var partitions = this.partitions;
+		if (partitions == null) {
+			lazyEvt.fireAsync(lazy);
+		} else {
+			lazyEvt.fireAsync(lazy, partitions.options(lazy, sessionId));
+		}
+	}
+
+	/**
+	 * @param lazy the indexed message.
+	 * @param sessionId the session the message was received on.
+	 * @return {@code true} if only {@link LazyMessage} observers need the message, so QuickFIX/J may be given it
+	 *         unparsed. Otherwise it's parsed once up front.
+	 */
+	boolean parseLazily(@Nonnull LazyMessage lazy, @Nonnull SessionID sessionId) {
+		var msgType = msgType(lazy.getMsgType());
+		try {
+			return !messageObserved(lazy, msgType) && !subscribed(msgType, sessionId)
+					&& correlator(sessionId, false) == null;
+		} catch (IncorrectDataFormat e) {
+			return false;  // so it's rejected as normal
+		}
+	}
+
+	/**
+	 * @param sessionId the session.
+	 * @param create {@code true} to create the correlator if absent.
+	 * @return the session's correlator, or {@code null} if absent or, when not creating, has no outstanding requests.
+	 */
+	Correlator correlator(SessionID sessionId, boolean create) {
+		if (create) {
+			return this.correlators.computeIfAbsent(sessionId, k -> new Correlator());
+		}
+		var correlator = this.correlators.get(sessionId);
+		return correlator == null || correlator.isEmpty() ? null : correlator;
+	}
+
+	private boolean subscribed(MsgType msgType, SessionID sessionId) {
+		var publishers = this.publishers;
+		return publishers != null && publishers.subscribed(sessionId, msgType.value());
+	}
+
+	private void fireAsync(Event<Message> evt, Message message, SessionID sessionId) {
+		var partitions = this.partitions;
+		if (partitions == null) {
+			evt.fireAsync(message);
+		} else {
+			evt.fireAsync(message, partitions.options(message, sessionId));
+		}
+	}
+
+	/**
+	 * @return {@code true} if there are {@link Message} observers for the message type, to avoid needlessly parsing.
+	 */
+	private boolean messageObserved(LazyMessage lazy, MsgType msgType) throws IncorrectDataFormat {
+		var observed = this.messageObservers.get(msgType.value());
+		if (observed == null) {
+			try {
+				var message = lazy.toMessage();  // the type depends on the message factory
+				observed = !this.beanManager.resolveObserverMethods(message, FromApp.Literal.fromApp(), msgType).isEmpty();
+			} catch (InvalidMessage e) {
+				throw new IncorrectDataFormat(e.getMessage());
+			}
+			this.messageObservers.put(msgType.value(), observed);
+		}
+		return observed;
+	}
+
+	/**
+	 * @return {@code true} if there are {@link LazyMessage} observers for the message type.
+	 */
+	private boolean lazyObserved(LazyMessage lazy, MsgType msgType) {
+		var observed = this.lazyObservers.get(msgType.value());
+		if (observed == null) {
+			observed = !this.beanManager.resolveObserverMethods(lazy, FromApp.Literal.fromApp(), msgType).isEmpty();
+			this.lazyObservers.put(msgType.value(), observed);
+		}
+		return observed;
+	}
+
+	/**
+	 * @return {@code true} if there are asynchronous observers for the message type, to avoid needlessly cloning.
+	 */
+	private boolean asyncObserved(Message message, MsgType msgType) {
+		var observed = this.asyncObservers.get(msgType.value());
+		if (observed == null) {
+			observed = this.beanManager.resolveObserverMethods(message, FromApp.Literal.fromApp(), msgType)
+					.stream().anyMatch(ObserverMethod::isAsync);
+			this.asyncObservers.put(msgType.value(), observed);
+		}
+		return observed;
 	}
 
 	/**
@@ -83,34 +336,68 @@ public class FixApplication extends ApplicationAdapter {
 	 * @param message
 	 */
 	public void on(@Observes @ToApp Message message) {
+		var start = start();
 		var sessionId = MessageUtils.getSessionID(message);
 		var session = quickfix.Session.lookupSession(sessionId);
 		if (session == null) {
 			throw sessionNotFound(sessionId);
 		}
+		send(session, message, start);
+	}
+
+	/**
+	 * @return the start time if sampling, otherwise zero.
+	 */
+	long start() {
+		return this.metrics.sampled() ? System.nanoTime() : 0;
+	}
 
+	/**
+	 * Validates and sends the message directly on the session.
+	 */
+	boolean send(quickfix.Session session, Message message, long start) {
+		try {
+			validate(session, message);
+		} catch (FieldException | FieldNotFound | IncorrectTagValue | IncorrectDataFormat e) {
+			logThrowable(session.getSessionID(), "Outgoing message failed validation!", e);
+			return false;
+		}
+		return sendValidated(session, message, start);
+	}
+
+	/**
+	 * Completes the header as required for validation and validates the message against the session's dictionary, if
+	 * it has one.
+	 *
+	 * @throws FieldException if a field is missing, unknown or out of order.
+	 */
+	void validate(quickfix.Session session, Message message)
+			throws FieldNotFound, IncorrectTagValue, IncorrectDataFormat
+	{
+		var sessionId = session.getSessionID();
+		var header = message.getHeader();
+		if (!header.isSetField(BeginString.FIELD)) {  // required for validation, the remainder is set on send
+			header.setString(BeginString.FIELD, sessionId.getBeginString());
+		}
 		if (sessionId.isFIXT()) {  // required for correct deserialisation on client app.
-			if (!message.getHeader().isSetField(ApplVerID.FIELD)) {
-				message.getHeader().setField(session.getSenderDefaultApplicationVersionID());
+			if (!header.isSetField(ApplVerID.FIELD)) {
+				header.setField(session.getSenderDefaultApplicationVersionID());
 			}
 		}
 
 		var dataDictionaryProvider = session.getDataDictionaryProvider();
 		if (dataDictionaryProvider != null) {
-			try {
-				dataDictionaryProvider.getApplicationDataDictionary(applVerId(session, message)).validate(message);
-			} catch (FieldNotFound | IncorrectTagValue | IncorrectDataFormat e) {
-				logThrowable(sessionId, "Outgoing message failed validation!", e);
-				return;
-			}
-		}
-		try {
-			Session.sendToTarget(message, sessionId);
-		} catch (SessionNotFound e) {
-			logThrowable(sessionId, "Outgoing message failed!", e);
+			dataDictionaryProvider.getApplicationDataDictionary(applVerId(session, message)).validate(message);
 		}
 	}
 
+	/**
+	 * Sends a message already passed by {@link #validate(quickfix.Session, Message)}.
+	 */
+	boolean sendValidated(quickfix.Session session, Message message, long start) {
+		this.metrics.latency(SEND, session.getSessionID(), FixUtil.msgType(message), start);
+		return session.send(message);
+	}
 
 	// --- Static Methods ---
 
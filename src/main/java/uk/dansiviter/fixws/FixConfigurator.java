@@ -0,0 +1,247 @@
+/*
+ * Copyright 2026 Daniel Siviter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.dansiviter.fixws;
+
+import static javax.enterprise.inject.spi.CDI.current;
+import static quickfix.SessionSettings.BEGINSTRING;
+import static quickfix.SessionSettings.SENDERCOMPID;
+import static quickfix.SessionSettings.TARGETCOMPID;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.Nonnull;
+import javax.websocket.HandshakeResponse;
+import javax.websocket.server.HandshakeRequest;
+import javax.websocket.server.ServerEndpointConfig;
+
+import quickfix.Acceptor;
+import quickfix.ConfigError;
+import quickfix.FieldConvertError;
+import quickfix.FixVersions;
+import quickfix.SessionID;
+import quickfix.SessionSettings;
+import uk.dansiviter.juli.LogProducer;
+
+/**
+ * Resolves the beans used by {@link FixEndpoint} once per endpoint rather than per connection, and creates (or
+ * rehydrates from the store) the FIX session during the HTTP upgrade so the I/O thread processing the Logon doesn't
+ * block on it. Only sessions explicitly defined in the settings are created this way as the upgrade is not
+ * authenticated; sessions from an acceptor template are created once their Logon is admitted.
+ * <p>
+ * The session is identified from the client's perspective by the {@code SenderCompID}, {@code TargetCompID} and
+ * optional {@code BeginString} (default {@code FIXT.1.1}) query parameters, e.g. for browsers:
+ *
+ * <pre>
+ * ws://host/fix?SenderCompID=client&amp;TargetCompID=server
+ * </pre>
+ *
+ * ...or the same names prefixed with {@link #HEADER_PREFIX} as headers, which {@link uk.dansiviter.fixws.client.FixClient}
+ * sends. If neither is present the session is resolved from the Logon as before.
+ *
+ * @author Daniel Siviter
+ * @since v1.0 [19 Oct 2026]
+ */
+public class FixConfigurator extends ServerEndpointConfig.Configurator {
+	public static final String HEADER_PREFIX = "FIX-";
+
+	private static final String WILDCARD = "*";
+
+	private final Log log = LogProducer.log(Log.class);
+
+	private volatile boolean resolved;
+	private Set<SessionID> defined;
+	private SessionProvider sessionProvider;
+	private Metrics metrics;
+	private WireJournal journal;
+	private SessionTimer timer;
+	private LogonAdmission admission;
+	private Drain drain;
+	private Duration pingInterval;
+	private BinaryFrames frames;
+	private boolean pooling;
+	private FixApplication application;
+
+	@Override
+	public void modifyHandshake(ServerEndpointConfig sec, HandshakeRequest request, HandshakeResponse response) {
+		// the default makes no modification, so super isn't called as it may not be running in a platform container
+		var sessionId = sessionId(request);
+		if (sessionId == null) {
+			return;
+		}
+		resolve();
+		if (!this.defined.contains(sessionId)
+				|| (this.drain != null && this.drain.isDraining())
+				|| quickfix.Session.lookupSession(sessionId) != null)
+		{
+			return;
+		}
+		// never wait here; if busy the session is created when the logon is admitted instead
+		var admission = this.admission;
+		if (admission != null && !admission.tryAcquire()) {
+			return;
+		}
+		try {
+			this.sessionProvider.get(sessionId);
+			this.metrics.created(sec.getPath());
+		} catch (RuntimeException e) {
+			this.log.handshakeSession(sessionId, e);
+		} finally {
+			if (admission != null) {
+				admission.release();
+			}
+		}
+	}
+
+	/**
+	 * Resolves the beans, if not already.
+	 */
+	void resolve() {
+		if (this.resolved) {
+			return;
+		}
+		synchronized (this) {
+			if (this.resolved) {
+				return;
+			}
+			var cdi = current();
+			this.sessionProvider = cdi.select(SessionProvider.class).get();
+			this.metrics = cdi.select(Metrics.class).get();
+			var journal = cdi.select(WireJournal.class);
+			this.journal = journal.isResolvable() ? journal.get() : null;
+			var timer = cdi.select(SessionTimer.class);
+			this.timer = timer.isResolvable() ? timer.get() : SessionTimer.common();
+			try {
+				var settings = cdi.select(SessionSettings.class).get();
+				this.defined = defined(settings);
+				var admission = cdi.select(LogonAdmission.class);
+				this.admission = LogonAdmission.enabled(settings) && admission.isResolvable() ? admission.get() : null;
+				var drain = cdi.select(Drain.class);
+				this.drain = Drain.enabled(settings) && drain.isResolvable() ? drain.get() : null;
+				this.pingInterval = WebSocketPing.interval(settings);
+				this.frames = BinaryFrames.enabled(settings) ? BinaryFrames.common() : null;
+				this.pooling = MessagePool.enabled(settings);
+				var application = cdi.select(FixApplication.class);
+				this.application = LazyMessage.enabled(settings) && application.isResolvable() ? application.get() : null;
+			} catch (ConfigError e) {
+				throw new IllegalStateException(e);
+			}
+			this.resolved = true;
+		}
+	}
+
+	SessionProvider sessionProvider() {
+		return this.sessionProvider;
+	}
+
+	Metrics metrics() {
+		return this.metrics;
+	}
+
+	WireJournal journal() {
+		return this.journal;
+	}
+
+	SessionTimer timer() {
+		return this.timer;
+	}
+
+	LogonAdmission admission() {
+		return this.admission;
+	}
+
+	Drain drain() {
+		return this.drain;
+	}
+
+	Duration pingInterval() {
+		return this.pingInterval;
+	}
+
+	/**
+	 * @return the binary frames, or {@code null} if sending text.
+	 */
+	BinaryFrames frames() {
+		return this.frames;
+	}
+
+	boolean pooling() {
+		return this.pooling;
+	}
+
+	/**
+	 * @return the application deciding which messages are parsed lazily, or {@code null} if lazy parsing is disabled.
+	 */
+	FixApplication application() {
+		return this.application;
+	}
+
+
+	// --- Static Methods ---
+
+	/**
+	 * @param settings the session settings.
+	 * @return the sessions explicitly defined, i.e. excluding acceptor templates and wildcards.
+	 * @throws ConfigError if the settings are invalid.
+	 */
+	static Set<SessionID> defined(@Nonnull SessionSettings settings) throws ConfigError {
+		var defined = new HashSet<SessionID>();
+		for (var it = settings.sectionIterator(); it.hasNext(); ) {
+			var sessionId = it.next();
+			if (!sessionId.toString().contains(WILDCARD) && !isTemplate(settings, sessionId)) {
+				defined.add(sessionId);
+			}
+		}
+		return Set.copyOf(defined);
+	}
+
+	private static boolean isTemplate(SessionSettings settings, SessionID sessionId) throws ConfigError {
+		try {
+			return settings.isSetting(sessionId, Acceptor.SETTING_ACCEPTOR_TEMPLATE)
+					&& settings.getBool(sessionId, Acceptor.SETTING_ACCEPTOR_TEMPLATE);
+		} catch (FieldConvertError e) {
+			throw new ConfigError(e);
+		}
+	}
+
+	/**
+	 * @param request the upgrade request.
+	 * @return the session from the acceptor's perspective, or {@code null} if not identified.
+	 */
+	static SessionID sessionId(@Nonnull HandshakeRequest request) {
+		var senderCompId = value(request, SENDERCOMPID);
+		var targetCompId = value(request, TARGETCOMPID);
+		if (senderCompId == null || targetCompId == null) {
+			return null;
+		}
+		var beginString = value(request, BEGINSTRING);
+		return new SessionID(
+				beginString != null ? beginString : FixVersions.BEGINSTRING_FIXT11,
+				targetCompId,
+				senderCompId);
+	}
+
+	private static String value(HandshakeRequest request, String name) {
+		var value = first(request.getParameterMap().get(name));
+		return value != null ? value : first(request.getHeaders().get(HEADER_PREFIX + name));
+	}
+
+	private static String first(List<String> values) {
+		return values == null || values.isEmpty() || values.get(0).isEmpty() ? null : values.get(0);
+	}
+}
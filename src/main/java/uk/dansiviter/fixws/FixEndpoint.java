@@ -15,13 +15,16 @@
  */
 package uk.dansiviter.fixws;
 
-import static javax.enterprise.inject.spi.CDI.current;
+import static javax.websocket.CloseReason.CloseCodes.GOING_AWAY;
+import static javax.websocket.CloseReason.CloseCodes.TRY_AGAIN_LATER;
 import static quickfix.MessageUtils.getReverseSessionID;
 import static quickfix.MessageUtils.isLogon;
-import static quickfix.MessageUtils.parse;
 import static quickfix.mina.SessionConnector.QF_SESSION;
+import static uk.dansiviter.fixws.FixUtil.msgType;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -30,6 +33,7 @@ import javax.websocket.CloseReason;
 import javax.websocket.Endpoint;
 import javax.websocket.EndpointConfig;
 import javax.websocket.MessageHandler.Whole;
+import javax.websocket.SendResult;
 import javax.websocket.Session;
 import javax.websocket.server.ServerEndpointConfig;
 import javax.websocket.server.ServerEndpointConfig.Builder;
@@ -39,6 +43,7 @@ import quickfix.IncorrectDataFormat;
 import quickfix.IncorrectTagValue;
 import quickfix.InvalidMessage;
 import quickfix.Message;
+import quickfix.MessageUtils;
 import quickfix.RejectLogon;
 import quickfix.Responder;
 import quickfix.SessionID;
@@ -59,54 +64,223 @@ public class FixEndpoint extends Endpoint {
 	private final Log log = LogProducer.log(Log.class);
 
 	private SessionProvider sessionProvider;
+	private Metrics metrics;
+	private WireJournal journal;
+	private SessionTimer timer;
+	private LogonAdmission admission;
+	private Drain drain;
+	private Duration pingInterval;
+	private BinaryFrames frames;
+	private MessagePool pool;
+	private FixApplication application;
+	private Codec codec;
+	private String path;
+
+	// bound by the container's thread or, if the logon was queued for admission, a worker
+	private volatile quickfix.Session qfSession;
+	private volatile Metrics.Transport transport;
+	private volatile Responder responder;
 
 	@Override
 	public void onOpen(Session session, EndpointConfig config) {
 		// non-annotated Endpoints do not get injection!
-		this.sessionProvider = current().select(SessionProvider.class).get();
+		var configurator = configurator(config);
+		configurator.resolve();
+		this.sessionProvider = configurator.sessionProvider();
+		this.metrics = configurator.metrics();
+		this.journal = configurator.journal();
+		this.timer = configurator.timer();
+		this.admission = configurator.admission();
+		this.drain = configurator.drain();
+		this.pingInterval = configurator.pingInterval();
+		this.frames = configurator.frames();
+		this.pool = configurator.pooling() ? new MessagePool() : null;
+		this.application = configurator.application();
+		this.codec = Codec.of(session.getNegotiatedSubprotocol());
+		this.path = config instanceof ServerEndpointConfig
+				? ((ServerEndpointConfig) config).getPath()
+				: session.getRequestURI().getPath();
 
 		this.log.onOpen(session.getId());
 		session.addMessageHandler(String.class, new Whole<String>() {
 			@Override
 			public void onMessage(String message) {
-				try {
-					on(message, session);
-				} catch (IOException | FieldNotFound | RejectLogon | IncorrectDataFormat | IncorrectTagValue
-						| UnsupportedMessageType | InvalidMessage e) {
-					throw new IllegalStateException(e);
-				}
+				FixEndpoint.this.onMessage(message, session);
 			}
 		});
+		session.addMessageHandler(ByteBuffer.class, new Whole<ByteBuffer>() {
+			@Override
+			public void onMessage(ByteBuffer message) {
+				FixEndpoint.this.onMessage(message, session);
+			}
+		});
+	}
+
+	private void onMessage(ByteBuffer message, Session session) {
+		var codec = this.codec;
+		if (codec == null) {
+			onMessage(BinaryFrames.decode(message), session);
+			return;
+		}
+		try {
+			onMessage(codec.decode(message), session);
+		} catch (InvalidMessage e) {
+			invalid(e, session);
+		}
+	}
+
+	private void onMessage(String message, Session session) {
+		try {
+			var codec = this.codec;
+			if (codec == null) {
+				on(message, session);
+				return;
+			}
+			var received = System.nanoTime();
+			// decoding resolves the session, which is only created for a logon once admitted
+			if (this.qfSession != null) {
+				decode(codec, message, session, received);
+			} else {
+				admit(session, received, () -> decode(codec, message, session, received));
+			}
+		} catch (IOException | FieldNotFound | RejectLogon | IncorrectDataFormat | IncorrectTagValue
+				| UnsupportedMessageType | InvalidMessage e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private void decode(Codec codec, String message, Session session, long received)
+			throws IOException, FieldNotFound, RejectLogon,
+			IncorrectDataFormat, IncorrectTagValue, UnsupportedMessageType, InvalidMessage
+	{
+		Message decoded;
+		try {
+			decoded = codec.decode(message, (sessionID, msgType) -> MsgType.LOGON.equals(msgType)
+					? session(sessionID)
+					: lookup(sessionID));
+		} catch (InvalidMessage e) {
+			invalid(e, session);
+			return;
+		}
+		on(message, decoded, session, received);
+	}
+
+	/**
+	 * Handles a frame the codec could not decode as QuickFIX/J does a garbled message it could not parse: once logged
+	 * on it is ignored, otherwise the connection is closed as for an invalid logon.
+	 */
+	private void invalid(InvalidMessage e, Session session) {
+		var qfSession = this.qfSession;
+		if (qfSession != null) {
+			qfSession.getLog().onErrorEvent("Invalid message: " + e.getMessage());
+			return;
+		}
+		this.log.invalidFrame(session.getId(), e.getMessage());
+		try {
+			session.close();
+		} catch (IOException ex) {
+			this.log.close(session.getId(), ex);
+		}
 	}
 
 	public void on(String msgStr, Session session)
 			throws IOException, FieldNotFound, RejectLogon,
 			IncorrectDataFormat, IncorrectTagValue, UnsupportedMessageType, InvalidMessage
 	{
-		var remoteSessionID = getReverseSessionID(msgStr);
+		var received = System.nanoTime();
+		// only a logon on an unbound connection is admitted, so established sessions never wait
+		if (this.qfSession == null && isLogon(msgStr)) {
+			admit(session, received, () -> on(msgStr, null, session, received));
+			return;
+		}
+		on(msgStr, null, session, received);
+	}
+
+	/**
+	 * Processes the logon once admitted, which may be later on another thread if too many are in progress. Refuses it
+	 * while draining or if too many are already queued, closing the connection.
+	 */
+	private void admit(Session session, long received, Logon logon) throws IOException {
+		var drain = this.drain;
+		if (drain != null && drain.isDraining()) {
+			this.log.logonDraining(session.getId());
+			session.close(new CloseReason(GOING_AWAY, Drain.REASON));
+			return;
+		}
+		var admission = this.admission;
+		if (admission == null) {
+			logon(session, logon);
+			return;
+		}
+		var admitted = admission.admit(() -> {
+			this.metrics.admitted(this.path, received);
+			if (session.isOpen()) {  // may have closed while queued
+				logon(session, logon);
+			}
+		});
+		if (!admitted) {
+			this.metrics.refused(this.path);
+			this.log.logonRefused(session.getId());
+			session.close(new CloseReason(TRY_AGAIN_LATER, "Too many logons"));
+		}
+	}
+
+	private void logon(Session session, Logon logon) {
+		try {
+			logon.run();
+		} catch (IOException | FieldNotFound | RejectLogon | IncorrectDataFormat | IncorrectTagValue
+				| UnsupportedMessageType | InvalidMessage | RuntimeException e) {
+			onError(session, e);  // as the container would, as it may be on an admission worker
+		}
+	}
+
+	/**
+	 * @param msgStr the received frame, tag=value unless decoded by the codec, which is what is journalled and logged.
+	 * @param decoded the message decoded by the codec, otherwise {@code null} to parse the tag=value frame.
+	 */
+	private void on(String msgStr, Message decoded, Session session, long received)
+			throws IOException, FieldNotFound, RejectLogon,
+			IncorrectDataFormat, IncorrectTagValue, UnsupportedMessageType, InvalidMessage
+	{
+		var remoteSessionID = decoded != null ? getReverseSessionID(decoded) : getReverseSessionID(msgStr);
 		var quickFixSession = findQFSession(session, remoteSessionID);
 		if (quickFixSession != null) {
+			if (this.journal != null) {
+				this.journal.inbound(received, session.getId(), quickFixSession.getSessionID(), msgStr);
+			}
+			var transport = this.transport;
+			transport.received(msgStr.length());
 			var rejectGarbledMessage = quickFixSession.isRejectGarbledMessage();
 			var sessionLog = quickFixSession.getLog();
 			sessionLog.onIncoming(msgStr);
+			var pool = this.pool;
+			var expectedTargetNum = quickFixSession.getExpectedTargetNum();
+			var fixMessage = decoded;
 			try {
-				var fixMessage = parse(quickFixSession, msgStr);
+				if (fixMessage == null) {
+					fixMessage = parse(quickFixSession, msgStr, pool);
+				}
+				this.metrics.parsed(fixMessage, quickFixSession.getSessionID(), transport.sampled() ? received : 0);
 				processMessage(session, quickFixSession, fixMessage);
 			} catch (InvalidMessage e) {
-				if (rejectGarbledMessage) {
-					var fixMessage = e.getFixMessage();
-					if (fixMessage != null) {
-						sessionLog.onErrorEvent("Processing garbled message: " + e.getMessage());
-						processMessage(session, quickFixSession, fixMessage);
-						return;
-					}
+				if (e.getFixMessage() != null) {
+					fixMessage = e.getFixMessage();
 				}
-				if (isLogon(msgStr)) {
+				if (rejectGarbledMessage && e.getFixMessage() != null) {
+					sessionLog.onErrorEvent("Processing garbled message: " + e.getMessage());
+					processMessage(session, quickFixSession, fixMessage);
+					return;
+				}
+				if (decoded != null ? MsgType.LOGON.equals(msgType(decoded)) : isLogon(msgStr)) {
 					sessionLog.onErrorEvent("Invalid LOGON message, disconnecting: " + e.getMessage());
 					session.close();
 				} else {
 					sessionLog.onErrorEvent("Invalid message: " + e.getMessage());
 				}
+			} finally {
+				if (pool != null && fixMessage != null) {
+					pool.release(fixMessage, expectedTargetNum);
+				}
 			}
 		} else {
 			log.fixSessionNotFound(msgStr);
@@ -114,6 +288,20 @@ public class FixEndpoint extends Endpoint {
 		}
 	}
 
+	private Message parse(quickfix.Session qfSession, String msgStr, MessagePool pool) throws InvalidMessage {
+		var application = this.application;
+		if (application != null) {
+			var lazy = new LazyMessage(qfSession, msgStr);
+			var carrier = !lazy.isAdmin() && application.parseLazily(lazy, qfSession.getSessionID())
+					? lazy.carrier()
+					: null;
+			if (carrier != null) {
+				return carrier;
+			}
+		}
+		return pool != null ? pool.parse(qfSession, msgStr) : MessageUtils.parse(qfSession, msgStr);
+	}
+
 	private void processMessage(Session session, quickfix.Session qfSession, Message message)
 			throws IOException, FieldNotFound, RejectLogon, IncorrectDataFormat,
 			IncorrectTagValue, UnsupportedMessageType, InvalidMessage
@@ -135,8 +323,7 @@ public class FixEndpoint extends Endpoint {
 					var heartbeatInterval = message.isSetField(HeartBtInt.FIELD) ? message.getInt(HeartBtInt.FIELD) : 0;
 					qfSession.setHeartBeatInterval(heartbeatInterval);
 					sessionLog.onEvent("Acceptor heartbeat set to " + heartbeatInterval + " seconds");
-					session.getUserProperties().put(QF_SESSION, qfSession);
-					qfSession.setResponder(new WsResponder(session));
+					bind(session, qfSession);
 					if (sessionID.isFIXT()) { // QFJ-592
 						if (message.isSetField(DefaultApplVerID.FIELD)) {
 							var applVerID = new ApplVerID(
@@ -168,16 +355,74 @@ public class FixEndpoint extends Endpoint {
 	 */
 	private quickfix.Session findQFSession(Session session, SessionID sessionID) {
 		var qfSession = findQFSession(session);
-		if (qfSession == null) {
-			qfSession = quickfix.Session.lookupSession(sessionID);
+		if (qfSession != null) {
+			return qfSession;
+		}
+		qfSession = session(sessionID);
+		if (!qfSession.hasResponder()) {
+			bind(session, qfSession);
+		} else if (this.transport == null) {
+			this.transport = this.metrics.transport(qfSession.getSessionID(), this.path);
+		}
+		return qfSession;
+	}
+
+	/**
+	 * @return the bound session, otherwise the existing one or {@code null}.
+	 */
+	private quickfix.Session lookup(SessionID sessionID) {
+		var qfSession = this.qfSession;
+		return qfSession != null ? qfSession : quickfix.Session.lookupSession(sessionID);
+	}
+
+	/**
+	 * @return the bound session, otherwise the existing or a newly created one.
+	 */
+	private quickfix.Session session(SessionID sessionID) {
+		var qfSession = this.qfSession;
+		if (qfSession != null) {
+			return qfSession;
 		}
+		qfSession = quickfix.Session.lookupSession(sessionID);
 		if (qfSession == null) {
-			qfSession = sessionProvider.get(sessionID);
-			qfSession.setResponder(new WsResponder(session));
+			qfSession = this.sessionProvider.get(sessionID);
+			this.metrics.created(this.path);
 		}
 		return qfSession;
 	}
 
+	/**
+	 * Binds the FIX session to this connection.
+	 */
+	private void bind(Session session, quickfix.Session qfSession) {
+		this.qfSession = qfSession;
+		this.transport = this.metrics.transport(qfSession.getSessionID(), this.path);
+		this.responder = new WsResponder(session, qfSession, this.transport, this.journal, this.frames, this.codec);
+		session.getUserProperties().put(QF_SESSION, qfSession);
+		qfSession.setResponder(this.responder);
+		if (this.pingInterval.isZero()) {
+			this.timer.register(qfSession);
+		} else {
+			this.timer.register(qfSession, new WebSocketPing(session, this.pingInterval));
+		}
+		if (this.drain != null) {
+			this.drain.bound(session, qfSession);
+		}
+	}
+
+	/**
+	 * @return the endpoint's configurator, or a new one if it's not using {@link FixConfigurator}.
+	 */
+	private static FixConfigurator configurator(EndpointConfig config) {
+		if (config instanceof ServerEndpointConfig) {
+			var configurator = ((ServerEndpointConfig) config).getConfigurator();
+			if (configurator instanceof FixConfigurator) {
+				return (FixConfigurator) configurator;
+			}
+		}
+		return new FixConfigurator();
+	}
+
 	private static quickfix.Session findQFSession(Session session) {
 		return (quickfix.Session) session.getUserProperties().get(SessionConnector.QF_SESSION);
 	}
@@ -185,6 +430,30 @@ public class FixEndpoint extends Endpoint {
 	@Override
 	public void onClose(Session session, CloseReason closeReason) {
 		this.log.onClose(session.getId(), closeReason.getCloseCode().getCode(), closeReason.getReasonPhrase());
+		if (this.drain != null) {
+			this.drain.unbound(session);
+		}
+		if (this.journal != null) {
+			this.journal.closed(session.getId());
+		}
+		unbind(session);
+	}
+
+	/**
+	 * Disconnects the FIX session if it is still bound to this connection, so a reconnecting client can bind to it.
+	 */
+	private void unbind(Session session) {
+		var qfSession = this.qfSession;
+		if (qfSession == null || qfSession.getResponder() != this.responder) {
+			return;
+		}
+		try {
+			qfSession.disconnect("WebSocket closed", false);
+		} catch (IOException e) {
+			this.log.close(session.getId(), e);
+		}
+		this.timer.unregister(qfSession);
+		this.metrics.evicted(qfSession.getSessionID(), this.path);
 	}
 
 	@Override
@@ -201,7 +470,10 @@ public class FixEndpoint extends Endpoint {
 	 * @return
 	 */
 	public static ServerEndpointConfig config(String path, List<String> subprotocols) {
-		return Builder.create(FixEndpoint.class, path).subprotocols(subprotocols(subprotocols)).build();
+		return Builder.create(FixEndpoint.class, path)
+				.subprotocols(subprotocols(subprotocols))
+				.configurator(new FixConfigurator())
+				.build();
 	}
 
 	/**
@@ -227,6 +499,15 @@ public class FixEndpoint extends Endpoint {
 
 	// --- Inner Classes ---
 
+	/**
+	 * Processing of a logon frame.
+	 */
+	@FunctionalInterface
+	private interface Logon {
+		void run() throws IOException, FieldNotFound, RejectLogon, IncorrectDataFormat, IncorrectTagValue,
+				UnsupportedMessageType, InvalidMessage;
+	}
+
 	/**
 	 * @author Daniel Siviter
 	 * @since v1.0 [13 Nov 2019]
@@ -234,25 +515,80 @@ public class FixEndpoint extends Endpoint {
 	private static class WsResponder implements Responder {
 		private final Log log = LogProducer.log(Log.class);
 		private final Session session;
+		private final quickfix.Session qfSession;
+		private final Metrics.Transport transport;
+		private final WireJournal journal;
+		private final BinaryFrames.Sender sender;
+		private final Codec codec;
 
-		WsResponder(Session session) {
+		WsResponder(
+				Session session,
+				quickfix.Session qfSession,
+				Metrics.Transport transport,
+				WireJournal journal,
+				BinaryFrames frames,
+				Codec codec)
+		{
 			this.session = session;
+			this.qfSession = qfSession;
+			this.transport = transport;
+			this.journal = journal;
+			this.sender = frames != null ? frames.sender(session.getAsyncRemote()) : null;
+			this.codec = codec;
 		}
 
 		@Override
 		public boolean send(String data) {
+			var start = this.transport.sampled() ? System.nanoTime() : 0;
+			if (this.journal != null) {
+				this.journal.outbound(start != 0 ? start : System.nanoTime(), this.session.getId(), this.qfSession.getSessionID(), data);
+			}
+			this.transport.sending(data.length());
 			try {
-				this.session.getBasicRemote().sendText(data);
+				if (this.codec != null) {
+					this.codec.send(this.session.getBasicRemote(), data, this.qfSession);
+				} else if (this.sender != null) {
+					this.sender.send(data, r -> written(r, start));
+					return true;
+				} else {
+					this.session.getBasicRemote().sendText(data);
+				}
+				this.transport.written(start);
 				return true;
 			} catch (IOException e) {
 				this.log.send(session.getId(), e);
+				if (this.sender != null && this.sender.stalled()) {
+					abort("Write timed out");
+				}
 				return false;
 			}
 		}
 
+		private void written(SendResult result, long start) {
+			if (result.isOK()) {
+				this.transport.written(start);
+				return;
+			}
+			var e = result.getException();
+			this.log.send(this.session.getId(), e instanceof IOException ? (IOException) e : new IOException(e));
+			abort("Write failed");  // already reported as sent, so the session must not carry on
+		}
+
+		private void abort(String reason) {
+			try {
+				this.qfSession.disconnect(reason, true);
+			} catch (IOException e) {
+				this.log.close(this.session.getId(), e);
+			}
+		}
+
 		@Override
 		public void disconnect() {
 			try {
+				var flushed = this.sender == null || this.sender.flush();
+				if (flushed && this.session.isOpen()) {
+					this.session.getBasicRemote().flushBatch();  // e.g. the Logout, if the container batches
+				}
 				this.session.close();
 			} catch (IOException e) {
 				this.log.close(session.getId(), e);
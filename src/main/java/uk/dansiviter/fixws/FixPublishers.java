@@ -0,0 +1,216 @@
+/*
+ * Copyright 2026 Daniel Siviter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.dansiviter.fixws;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeoutException;
+
+import javax.annotation.Nonnull;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.inject.Instance;
+import javax.inject.Inject;
+
+import quickfix.ConfigError;
+import quickfix.FieldConvertError;
+import quickfix.Message;
+import quickfix.SessionID;
+import quickfix.SessionSettings;
+import uk.dansiviter.juli.LogProducer;
+
+/**
+ * Reactive Streams access to inbound application messages, per session and optionally per message type, as an
+ * alternative to {@link uk.dansiviter.fixws.annotations.FromApp @FromApp} observers:
+ * <pre>
+ * publishers.publisher(sessionId, NewOrderSingle.MSGTYPE).subscribe(subscriber);
+ * </pre>
+ * Each subscriber is given its own buffer of {@link #PUBLISHER_BUFFER_SIZE} messages (default
+ * {@link Flow#defaultBufferSize()}), set in the default section, and is called on a {@code fix-publisher-} thread.
+ * When a subscriber has not requested enough to accept a message the inbound thread waits for it to; as WebSocket
+ * containers deliver a connection's frames one at a time this stops reading from that connection, so TCP flow control
+ * pushes back on the counterparty rather than the heap growing. Heartbeats from the counterparty are not processed
+ * meanwhile, so the wait is limited to {@link #PUBLISHER_TIMEOUT} seconds (default 5), after which the subscriber is
+ * dropped with {@link Flow.Subscriber#onError(Throwable) onError} of a {@link TimeoutException} and the message is
+ * given to the rest.
+ * <p>
+ * Messages are only published while there are subscribers and are shared between them. Publishers complete when the
+ * application stops.
+ *
+ * @author Daniel Siviter
+ * @since v1.0 [19 Oct 2026]
+ */
+@ApplicationScoped
+public class FixPublishers {
+	public static final String PUBLISHER_BUFFER_SIZE = "PublisherBufferSize";
+	public static final String PUBLISHER_TIMEOUT = "PublisherTimeout";
+
+	/** The message type key of a session's publisher of all types. */
+	private static final String ALL = "";
+
+	private final Log log = LogProducer.log(Log.class);
+	private final Map<SessionID, Map<String, Topic>> publishers = new ConcurrentHashMap<>();
+	private final ExecutorService executor = Executors.newCachedThreadPool(SessionTimer.threadFactory("fix-publisher-"));
+
+	@Inject
+	private Instance<SessionSettings> settings;
+
+	private int bufferSize = Flow.defaultBufferSize();
+	private long timeout = Duration.ofSeconds(5).toNanos();
+
+	@PostConstruct
+	void init() {
+		if (!this.settings.isResolvable()) {
+			return;
+		}
+		var settings = this.settings.get();
+		try {
+			if (settings.isSetting(PUBLISHER_BUFFER_SIZE)) {
+				this.bufferSize = settings.getInt(PUBLISHER_BUFFER_SIZE);
+			}
+			if (settings.isSetting(PUBLISHER_TIMEOUT)) {
+				this.timeout = Duration.ofSeconds(settings.getLong(PUBLISHER_TIMEOUT)).toNanos();
+			}
+		} catch (ConfigError | FieldConvertError e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * @param sessionId the session.
+	 * @return a publisher of all application messages received on the session.
+	 */
+	public Flow.Publisher<Message> publisher(@Nonnull SessionID sessionId) {
+		return publisher(sessionId, ALL);
+	}
+
+	/**
+	 * @param sessionId the session.
+	 * @param msgType the message type, e.g. {@code D}.
+	 * @return a publisher of application messages of that type received on the session.
+	 */
+	public Flow.Publisher<Message> publisher(@Nonnull SessionID sessionId, @Nonnull String msgType) {
+		return this.publishers.computeIfAbsent(sessionId, k -> new ConcurrentHashMap<>())
+				.computeIfAbsent(msgType, k -> new Topic(sessionId, msgType));
+	}
+
+	/**
+	 * @param sessionId the session the message was received on.
+	 * @param msgType the message type.
+	 * @return {@code true} if there are subscribers for the message, to avoid needlessly parsing or cloning it.
+	 */
+	boolean subscribed(@Nonnull SessionID sessionId, @Nonnull String msgType) {
+		var session = this.publishers.get(sessionId);
+		return session != null && (subscribed(session.get(msgType)) || subscribed(session.get(ALL)));
+	}
+
+	/**
+	 * Publishes the message, waiting up to the timeout for each subscriber whose buffer is full.
+	 *
+	 * @param message the message, which must not be recycled.
+	 * @param msgType the message type.
+	 * @param sessionId the session the message was received on.
+	 */
+	void publish(@Nonnull Message message, @Nonnull String msgType, @Nonnull SessionID sessionId) {
+		var session = this.publishers.get(sessionId);
+		if (session != null) {
+			offer(session.get(msgType), message);
+			offer(session.get(ALL), message);
+		}
+	}
+
+	@PreDestroy
+	void destroy() {
+		this.publishers.values().forEach(m -> m.values().forEach(Topic::close));
+		this.executor.shutdown();
+	}
+
+
+	private void offer(Topic topic, Message message) {
+		if (topic != null) {
+			topic.offer(message);
+		}
+	}
+
+
+	// --- Static Methods ---
+
+	private static boolean subscribed(Topic topic) {
+		return topic != null && topic.subscribed();
+	}
+
+
+	// --- Inner Classes ---
+
+	/**
+	 * The subscribers of a session and message type, each with its own {@link SubmissionPublisher} so one that falls
+	 * behind can be dropped without affecting the rest.
+	 */
+	private class Topic implements Flow.Publisher<Message> {
+		private final List<SubmissionPublisher<Message>> subscribers = new CopyOnWriteArrayList<>();
+		private final SessionID sessionId;
+		private final String msgType;
+
+		Topic(SessionID sessionId, String msgType) {
+			this.sessionId = sessionId;
+			this.msgType = msgType;
+		}
+
+		@Override
+		public void subscribe(Flow.Subscriber<? super Message> subscriber) {
+			var publisher = new SubmissionPublisher<Message>(executor, bufferSize);
+			publisher.subscribe(subscriber);
+			this.subscribers.add(publisher);  // only once subscribed, else #offer may close it as cancelled
+		}
+
+		boolean subscribed() {
+			for (var publisher : this.subscribers) {
+				if (publisher.hasSubscribers()) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		void offer(Message message) {
+			for (var publisher : this.subscribers) {
+				if (!publisher.hasSubscribers()) {
+					// cancelled
+					this.subscribers.remove(publisher);
+					publisher.close();
+				} else if (publisher.offer(message, timeout, NANOSECONDS, (s, m) -> false) < 0) {
+					log.publisherTimeout(this.sessionId, this.msgType);
+					this.subscribers.remove(publisher);
+					publisher.closeExceptionally(new TimeoutException("Subscriber too slow! [" + this.sessionId + "]"));
+				}
+			}
+		}
+
+		void close() {
+			this.subscribers.forEach(SubmissionPublisher::close);
+		}
+	}
+}
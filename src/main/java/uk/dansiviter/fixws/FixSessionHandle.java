@@ -0,0 +1,103 @@
+/*
+ * Copyright 2026 Daniel Siviter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.dansiviter.fixws;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import javax.annotation.Nonnull;
+
+import quickfix.FieldException;
+import quickfix.FieldNotFound;
+import quickfix.IncorrectDataFormat;
+import quickfix.IncorrectTagValue;
+import quickfix.Message;
+import quickfix.Session;
+import quickfix.SessionID;
+
+/**
+ * A handle on a logged on session, fired as a {@link uk.dansiviter.fixws.annotations.OnLogon @OnLogon} event. Unlike
+ * firing a {@link uk.dansiviter.fixws.annotations.ToApp @ToApp} message, sending via the handle goes straight to the
+ * session without building a {@link SessionID} from the header or looking it up in the static session registry, so
+ * the header need not be populated. A {@link uk.dansiviter.fixws.annotations.OnLogout @OnLogout} event is fired with
+ * the same handle when the session logs out, after which sends are queued for resend on the next logon as usual.
+ *
+ * <pre>
+ * public void onLogon(&#64;Observes &#64;OnLogon FixSessionHandle handle) {
+ * 	this.handle = handle;
+ * }
+ * </pre>
+ *
+ * @author Daniel Siviter
+ * @since v1.0 [19 Oct 2026]
+ */
+public class FixSessionHandle {
+	private final FixApplication application;
+	private final Session session;
+
+	FixSessionHandle(@Nonnull FixApplication application, @Nonnull Session session) {
+		this.application = application;
+		this.session = session;
+	}
+
+	public SessionID getSessionID() {
+		return this.session.getSessionID();
+	}
+
+	public boolean isLoggedOn() {
+		return this.session.isLoggedOn();
+	}
+
+	/**
+	 * @param message the message to send.
+	 * @return {@code true} if sent, {@code false} if it failed validation or could not be sent now.
+	 */
+	public boolean send(@Nonnull Message message) {
+		return this.application.send(this.session, message, this.application.start());
+	}
+
+	/**
+	 * Sends the request and awaits the response correlated by its ID, e.g. the {@code ExecutionReport} for a
+	 * {@code NewOrderSingle}. The response is still fired to the observers first. Outstanding requests belong to the
+	 * session, so survive a reconnect.
+	 *
+	 * @param request the request to send.
+	 * @param timeout the maximum time to wait for the response.
+	 * @return the future response, completed on {@link Correlator}'s executor, or exceptionally with
+	 * {@link java.util.concurrent.TimeoutException} if none arrives in time, the validation exception, e.g.
+	 * {@link FieldException}, if it failed validation, or {@link IllegalStateException} if it could not be sent now.
+	 * @throws IllegalArgumentException if the request has no correlation key.
+	 * @see Correlator
+	 */
+	public CompletableFuture<Message> sendAndAwait(@Nonnull Message request, @Nonnull Duration timeout) {
+		var future = this.application.correlator(getSessionID(), true).register(request, timeout);
+		try {
+			this.application.validate(this.session, request);
+		} catch (FieldException | FieldNotFound | IncorrectTagValue | IncorrectDataFormat e) {
+			future.completeExceptionally(e);
+			return future;
+		}
+		if (!this.application.sendValidated(this.session, request, this.application.start())) {
+			future.completeExceptionally(new IllegalStateException("Unable to send! [" + FixUtil.msgType(request) + "]"));
+		}
+		return future;
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "[" + getSessionID() + "]";
+	}
+}
@@ -30,16 +30,8 @@ import javax.el.MethodNotFoundException;
 import quickfix.ConfigError;
 import quickfix.FieldNotFound;
 import quickfix.Message;
-import quickfix.Message.Header;
 import quickfix.SessionID;
 import quickfix.SessionSettings;
-import quickfix.field.BeginString;
-import quickfix.field.SenderCompID;
-import quickfix.field.SenderLocationID;
-import quickfix.field.SenderSubID;
-import quickfix.field.TargetCompID;
-import quickfix.field.TargetLocationID;
-import quickfix.field.TargetSubID;
 
 /**
  * @author Daniel Siviter
@@ -84,17 +76,10 @@ public enum FixUtil { ;
 	 * @param message
 	 * @return
 	 * @see Message#setSessionID(SessionID)
+	 * @see HeaderTemplate
 	 */
 	public static @Nonnull <M extends Message> M set(@Nonnull SessionID sessionId, @Nonnull M message) {
-		var header = message.getHeader();
-		header.setString(BeginString.FIELD, sessionId.getBeginString());
-		header.setString(SenderCompID.FIELD, sessionId.getSenderCompID());
-		optionallySetID(header, SenderSubID.FIELD, sessionId.getSenderSubID());
-		optionallySetID(header, SenderLocationID.FIELD, sessionId.getSenderLocationID());
-		header.setString(TargetCompID.FIELD, sessionId.getTargetCompID());
-		optionallySetID(header, TargetSubID.FIELD, sessionId.getTargetSubID());
-		optionallySetID(header, TargetLocationID.FIELD, sessionId.getTargetLocationID());
-		return message;
+		return HeaderTemplate.of(sessionId).apply(message);
 	}
 
 	/**
@@ -105,13 +90,7 @@ public enum FixUtil { ;
 	 * @return
 	 */
 	public static <M extends Message> M setReverse(@Nonnull SessionID sessionId, @Nonnull M message) {
-		return set(reverse(sessionId), message);
-	}
-
-	private static void optionallySetID(@Nonnull Header header, int field, @Nonnull String value) {
-		if (!value.equals(SessionID.NOT_SET)) {
-			header.setString(field, value);
-		}
+		return HeaderTemplate.reverse(sessionId).apply(message);
 	}
 
 	/**
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2026 Daniel Siviter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.dansiviter.fixws;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Nonnull;
+
+import quickfix.Message;
+import quickfix.SessionID;
+import quickfix.StringField;
+import quickfix.field.BeginString;
+import quickfix.field.SenderCompID;
+import quickfix.field.SenderLocationID;
+import quickfix.field.SenderSubID;
+import quickfix.field.TargetCompID;
+import quickfix.field.TargetLocationID;
+import quickfix.field.TargetSubID;
+
+/**
+ * The session identifying header fields of a session, built once and stamped onto outbound messages.
+ * <p>
+ * The fields are shared by every message the template is applied to and are encoded when the template is built, so
+ * QuickFIX/J reuses their {@code tag=value} form, length and checksum contribution rather than recomputing them per
+ * message. Consequently they must not be mutated; replace them with {@code Header#setString(int, String)} instead.
+ *
+ * @author Daniel Siviter
+ * @since v1.0 [19 Oct 2026]
+ * @see Message#setSessionID(SessionID)
+ */
+public class HeaderTemplate {
+	/** Sessions are bounded by configuration, but don't let arbitrary {@link SessionID}s grow the cache forever. */
+	private static final int MAX_CACHED = 4_096;
+	private static final Map<SessionID, HeaderTemplate> TEMPLATES = new ConcurrentHashMap<>();
+	private static final Map<SessionID, HeaderTemplate> REVERSE_TEMPLATES = new ConcurrentHashMap<>();
+
+	private final SessionID sessionId;
+	private final StringField[] fields;
+
+	private HeaderTemplate(SessionID sessionId) {
+		this.sessionId = sessionId;
+		var fields = new ArrayList<StringField>(7);
+		add(fields, BeginString.FIELD, sessionId.getBeginString());
+		add(fields, SenderCompID.FIELD, sessionId.getSenderCompID());
+		add(fields, SenderSubID.FIELD, sessionId.getSenderSubID());
+		add(fields, SenderLocationID.FIELD, sessionId.getSenderLocationID());
+		add(fields, TargetCompID.FIELD, sessionId.getTargetCompID());
+		add(fields, TargetSubID.FIELD, sessionId.getTargetSubID());
+		add(fields, TargetLocationID.FIELD, sessionId.getTargetLocationID());
+		this.fields = fields.toArray(new StringField[0]);
+	}
+
+	/**
+	 * @return the session the fields identify.
+	 */
+	public @Nonnull SessionID getSessionID() {
+		return this.sessionId;
+	}
+
+	/**
+	 * @param <M>
+	 * @param message the message to populate.
+	 * @return the message.
+	 */
+	public @Nonnull <M extends Message> M apply(@Nonnull M message) {
+		var header = message.getHeader();
+		for (var field : this.fields) {
+			header.setField(field);
+		}
+		return message;
+	}
+
+
+	// --- Static Methods ---
+
+	private static void add(ArrayList<StringField> fields, int tag, String value) {
+		if (!SessionID.NOT_SET.equals(value)) {
+			var field = new StringField(tag, value);
+			field.toString();  // encode now so it's safely published, and never mutated, via the cache
+			fields.add(field);
+		}
+	}
+
+	/**
+	 * @param sessionId the session.
+	 * @return the template for messages sent on the session.
+	 */
+	public static @Nonnull HeaderTemplate of(@Nonnull SessionID sessionId) {
+		return get(TEMPLATES, sessionId, false);
+	}
+
+	/**
+	 * @param sessionId the session from the counterparty's perspective, e.g. of a received message.
+	 * @return the template for replies, avoiding reversing the {@link SessionID} each time.
+	 */
+	public static @Nonnull HeaderTemplate reverse(@Nonnull SessionID sessionId) {
+		return get(REVERSE_TEMPLATES, sessionId, true);
+	}
+
+	private static HeaderTemplate get(Map<SessionID, HeaderTemplate> cache, SessionID sessionId, boolean reverse) {
+		var template = cache.get(sessionId);
+		if (template != null) {
+			return template;
+		}
+		template = new HeaderTemplate(reverse ? FixUtil.reverse(sessionId) : sessionId);
+		if (cache.size() < MAX_CACHED) {
+			var existing = cache.putIfAbsent(sessionId, template);
+			return existing != null ? existing : template;
+		}
+		return template;
+	}
+}
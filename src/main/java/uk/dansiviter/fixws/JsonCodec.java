@@ -0,0 +1,616 @@
+/*
+ * Copyright 2026 Daniel Siviter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.dansiviter.fixws;
+
+import static quickfix.MessageUtils.isAdminMessage;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+import javax.annotation.Nonnull;
+import javax.websocket.RemoteEndpoint;
+
+import org.quickfixj.QFJException;
+
+import quickfix.DataDictionary;
+import quickfix.DataDictionaryProvider;
+import quickfix.FieldMap;
+import quickfix.FixVersions;
+import quickfix.Group;
+import quickfix.InvalidMessage;
+import quickfix.Message;
+import quickfix.MessageUtils;
+import quickfix.Session;
+import quickfix.SessionID;
+import quickfix.field.ApplVerID;
+import quickfix.field.BeginString;
+import quickfix.field.BodyLength;
+import quickfix.field.CheckSum;
+import quickfix.field.MsgType;
+import quickfix.field.SenderCompID;
+import quickfix.field.SenderLocationID;
+import quickfix.field.SenderSubID;
+import quickfix.field.TargetCompID;
+import quickfix.field.TargetLocationID;
+import quickfix.field.TargetSubID;
+
+/**
+ * FIX JSON encoding, negotiated with the {@code json} subprotocol suffix, e.g. {@code fix50-json}, and sent as text
+ * frames:
+ *
+ * <pre>
+ * {"Header":{"BeginString":"FIXT.1.1","MsgType":"D",...},"Body":{"ClOrdID":"123","NoPartyIDs":[{"PartyID":"ABC"}]},"Trailer":{}}
+ * </pre>
+ *
+ * Fields are named, and repeating groups are arrays of objects, using the session's data dictionary, so one is required.
+ * Values are always sent as strings, but numbers and booleans are accepted. {@code BodyLength} and {@code CheckSum} are
+ * omitted, and only set on inbound messages if the dictionary requires them for validation. The {@code Header} must be first as it identifies the session, and so the dictionary, for the rest.
+ * <p>
+ * Inbound frames are decoded straight into the message created by the session's message factory. Outbound,
+ * QuickFIX/J only provides tag=value, so that is streamed to JSON guided by the dictionary rather than parsed first.
+ *
+ * @author Daniel Siviter
+ * @since v1.0 [19 Oct 2026]
+ */
+public class JsonCodec implements Codec {
+	public static final String NAME = "json";
+
+	private static final String HEADER = "Header";
+	private static final String BODY = "Body";
+	private static final String TRAILER = "Trailer";
+	private static final char SOH = '\u0001';
+	private static final char[] HEX = "0123456789abcdef".toCharArray();
+	/** Identifies the session before the dictionary is known. */
+	private static final Map<String, Integer> SESSION_FIELDS = Map.of(
+			"BeginString", BeginString.FIELD,
+			"MsgType", MsgType.FIELD,
+			"ApplVerID", ApplVerID.FIELD,
+			"SenderCompID", SenderCompID.FIELD,
+			"SenderSubID", SenderSubID.FIELD,
+			"SenderLocationID", SenderLocationID.FIELD,
+			"TargetCompID", TargetCompID.FIELD,
+			"TargetSubID", TargetSubID.FIELD,
+			"TargetLocationID", TargetLocationID.FIELD);
+
+	@Override
+	public String name() {
+		return NAME;
+	}
+
+	@Override
+	public Message decode(String frame, BiFunction<SessionID, String, Session> sessions) throws InvalidMessage {
+		return new Decoder(frame).decode(sessions);
+	}
+
+	@Override
+	public void send(RemoteEndpoint.Basic remote, String data, Session session) throws IOException {
+		remote.sendText(encode(data, session));
+	}
+
+
+	// --- Static Methods ---
+
+	/**
+	 * @param data the tag=value message.
+	 * @param session the session sending the message.
+	 * @return the JSON message.
+	 * @throws IOException if the session has no data dictionary or the message is malformed.
+	 */
+	static String encode(@Nonnull CharSequence data, @Nonnull Session session) throws IOException {
+		var provider = session.getDataDictionaryProvider();
+		if (provider == null) {
+			throw new IOException("Data dictionary required! [" + session.getSessionID() + "]");
+		}
+		return new Encoder(data).encode(session, provider);
+	}
+
+	/**
+	 * @return the {@code CheckSum} the message would have as tag=value, without rendering it.
+	 */
+	private static String checkSum(Message message) {
+		var sum = sum(message.getHeader()) + sum(message) + sum(message.getTrailer());
+		var checkSum = Integer.toString(sum & 0xFF);
+		return "000".substring(checkSum.length()) + checkSum;
+	}
+
+	private static int sum(FieldMap fields) {
+		var sum = 0;
+		for (var it = fields.iterator(); it.hasNext(); ) {
+			var field = it.next();
+			if (field.getTag() == CheckSum.FIELD) {
+				continue;
+			}
+			var tagValue = field.toString();  // tag=value, as QuickFIX/J renders it
+			for (int i = 0; i < tagValue.length(); i++) {
+				sum += tagValue.charAt(i);
+			}
+			sum += SOH;
+		}
+		for (var it = fields.groupKeyIterator(); it.hasNext(); ) {
+			for (var group : fields.getGroups(it.next())) {
+				sum += sum(group);
+			}
+		}
+		return sum;
+	}
+
+	private static ApplVerID applVerID(Session session, String beginString, String applVerID, boolean inbound) {
+		if (!FixVersions.BEGINSTRING_FIXT11.equals(beginString)) {
+			return MessageUtils.toApplVerID(beginString);
+		}
+		if (applVerID != null) {
+			return new ApplVerID(applVerID);
+		}
+		// null for admin messages, which don't need it
+		return inbound ? session.getTargetDefaultApplicationVersionID() : session.getSenderDefaultApplicationVersionID();
+	}
+
+
+	// --- Inner Classes ---
+
+	/**
+	 * Streams tag=value to JSON. Only the names and the group structure come from the dictionary.
+	 */
+	private static class Encoder {
+		private final CharSequence data;
+		private final StringBuilder out;
+
+		private int pos;
+		private int next;
+		private int tag;
+		private int start;
+		private int end;
+
+		Encoder(CharSequence data) {
+			this.data = data;
+			this.out = new StringBuilder(data.length() * 2);
+		}
+
+		String encode(Session session, DataDictionaryProvider provider) throws IOException {
+			if (!peek() || this.tag != BeginString.FIELD) {
+				throw new IOException("BeginString must be first!");
+			}
+			var beginString = value();
+			var sessionDD = provider.getSessionDataDictionary(beginString);
+			String msgType = null;
+			String applVerID = null;
+
+			this.out.append("{\"").append(HEADER).append("\":{");
+			var first = true;
+			while (peek() && sessionDD.isHeaderField(this.tag)) {
+				consume();
+				if (this.tag == BodyLength.FIELD) {
+					continue;
+				}
+				if (this.tag == MsgType.FIELD) {
+					msgType = value();
+				} else if (this.tag == ApplVerID.FIELD) {
+					applVerID = value();
+				}
+				first = member(sessionDD, sessionDD, DataDictionary.HEADER_ID, first);
+			}
+			if (msgType == null) {
+				throw new IOException("MsgType not found!");
+			}
+
+			var bodyDD = isAdminMessage(msgType)
+					? sessionDD
+					: provider.getApplicationDataDictionary(applVerID(session, beginString, applVerID, false));
+			this.out.append("},\"").append(BODY).append("\":{");
+			first = true;
+			while (peek() && !sessionDD.isTrailerField(this.tag)) {
+				consume();
+				first = member(bodyDD, bodyDD, msgType, first);
+			}
+
+			this.out.append("},\"").append(TRAILER).append("\":{");
+			first = true;
+			while (peek()) {
+				consume();
+				if (this.tag != CheckSum.FIELD) {
+					first = member(sessionDD, sessionDD, DataDictionary.TRAILER_ID, first);
+				}
+			}
+			return this.out.append("}}").toString();
+		}
+
+		/**
+		 * @param names the dictionary to name fields with, as group dictionaries may not.
+		 * @param dd the dictionary of the containing message or group.
+		 */
+		private boolean member(DataDictionary names, DataDictionary dd, String msgType, boolean first) {
+			if (!first) {
+				this.out.append(',');
+			}
+			var name = names.getFieldName(this.tag);
+			this.out.append('"');
+			if (name != null) {
+				this.out.append(name);
+			} else {
+				this.out.append(this.tag);
+			}
+			this.out.append("\":");
+			if (dd.isGroup(msgType, this.tag)) {
+				group(names, dd.getGroup(msgType, this.tag), msgType);
+			} else {
+				string(this.start, this.end);
+			}
+			return false;
+		}
+
+		private void group(DataDictionary names, DataDictionary.GroupInfo info, String msgType) {
+			var groupDD = info.getDataDictionary();
+			var delimiter = info.getDelimiterField();
+			this.out.append('[');
+			var open = false;
+			var first = true;
+			while (peek()) {
+				if (this.tag == delimiter) {
+					if (open) {
+						this.out.append("},");
+					}
+					this.out.append('{');
+					open = true;
+					first = true;
+				} else if (!open || !(groupDD.isGroup(msgType, this.tag) || groupDD.isField(this.tag))) {
+					break;
+				}
+				consume();
+				first = member(names, groupDD, msgType, first);
+			}
+			if (open) {
+				this.out.append('}');
+			}
+			this.out.append(']');
+		}
+
+		private void string(int from, int to) {
+			this.out.append('"');
+			for (int i = from; i < to; i++) {
+				var c = this.data.charAt(i);
+				if (c == '"' || c == '\\') {
+					this.out.append('\\').append(c);
+				} else if (c < 0x20) {
+					this.out.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xf]);
+				} else {
+					this.out.append(c);
+				}
+			}
+			this.out.append('"');
+		}
+
+		/**
+		 * Reads the next field without consuming it.
+		 */
+		private boolean peek() {
+			var length = this.data.length();
+			var i = this.pos;
+			if (i >= length) {
+				return false;
+			}
+			var tag = 0;
+			char c;
+			while (i < length && (c = this.data.charAt(i++)) != '=') {
+				tag = tag * 10 + (c - '0');
+			}
+			this.start = i;
+			while (i < length && this.data.charAt(i) != SOH) {
+				i++;
+			}
+			this.end = i;
+			this.tag = tag;
+			this.next = i + 1;
+			return true;
+		}
+
+		private void consume() {
+			this.pos = this.next;
+		}
+
+		private String value() {
+			return this.data.subSequence(this.start, this.end).toString();
+		}
+	}
+
+	/**
+	 * Parses JSON straight into the message. The header is scanned once to find the session and again to populate it.
+	 */
+	private static class Decoder {
+		private final String data;
+
+		private int pos;
+
+		Decoder(String data) {
+			this.data = data;
+		}
+
+		Message decode(BiFunction<SessionID, String, Session> sessions) throws InvalidMessage {
+			expect('{');
+			if (!HEADER.equals(string())) {
+				throw new InvalidMessage("Header must be first!");
+			}
+			expect(':');
+			var headerStart = this.pos;
+			var scratch = new Message();
+			var header = scratch.getHeader();
+			scan(header);
+
+			var msgType = header.getOptionalString(MsgType.FIELD).orElse(null);
+			if (msgType == null || !header.isSetField(BeginString.FIELD)) {
+				throw new InvalidMessage("BeginString and MsgType required!");
+			}
+			var sessionId = MessageUtils.getReverseSessionID(scratch);
+			var session = sessions.apply(sessionId, msgType);
+			if (session == null) {
+				throw new InvalidMessage("Session not found! [" + sessionId + "]");
+			}
+			var provider = session.getDataDictionaryProvider();
+			if (provider == null) {
+				throw new InvalidMessage("Data dictionary required! [" + session.getSessionID() + "]");
+			}
+			var beginString = sessionId.getBeginString();
+			DataDictionary sessionDD;
+			DataDictionary bodyDD;
+			ApplVerID applVerID;
+			try {
+				sessionDD = provider.getSessionDataDictionary(beginString);
+				applVerID = applVerID(
+						session, beginString, header.getOptionalString(ApplVerID.FIELD).orElse(null), true);
+				if (isAdminMessage(msgType)) {
+					bodyDD = sessionDD;
+				} else if (applVerID != null) {
+					bodyDD = provider.getApplicationDataDictionary(applVerID);
+				} else {
+					throw new InvalidMessage("Can't determine ApplVerID! [" + sessionId + "]");
+				}
+			} catch (QFJException e) {
+				throw new InvalidMessage("Data dictionary not found! [" + e.getMessage() + "]");
+			}
+
+			var message = session.getMessageFactory().create(beginString, applVerID, msgType);
+			this.pos = headerStart;
+			object(message.getHeader(), sessionDD, sessionDD, DataDictionary.HEADER_ID);
+			while (comma()) {
+				var name = string();
+				expect(':');
+				if (BODY.equals(name)) {
+					object(message, bodyDD, bodyDD, msgType);
+				} else if (TRAILER.equals(name)) {
+					object(message.getTrailer(), sessionDD, sessionDD, DataDictionary.TRAILER_ID);
+				} else {
+					throw new InvalidMessage("Unexpected member! [" + name + "]");
+				}
+			}
+			expect('}');
+			// QuickFIX/J validation only checks they are present, and only if the dictionary requires them
+			if (sessionDD.isRequiredHeaderField(BodyLength.FIELD)) {
+				message.getHeader().setInt(BodyLength.FIELD, message.bodyLength());
+			}
+			if (sessionDD.isRequiredTrailerField(CheckSum.FIELD)) {
+				message.getTrailer().setString(CheckSum.FIELD, checkSum(message));
+			}
+			return message;
+		}
+
+		/**
+		 * Collects just the fields needed to identify the session.
+		 */
+		private void scan(FieldMap header) throws InvalidMessage {
+			expect('{');
+			if (!closes('}')) {
+				do {
+					var tag = SESSION_FIELDS.get(string());
+					expect(':');
+					if (tag != null) {
+						header.setString(tag, value());
+					} else {
+						skip();
+					}
+				} while (comma());
+				expect('}');
+			}
+		}
+
+		/**
+		 * @param names the dictionary to name fields with, as group dictionaries may not.
+		 * @param dd the dictionary of the message or group being populated.
+		 */
+		private void object(FieldMap target, DataDictionary names, DataDictionary dd, String msgType)
+				throws InvalidMessage
+		{
+			expect('{');
+			if (closes('}')) {
+				return;
+			}
+			do {
+				var name = string();
+				expect(':');
+				var tag = tag(names, name);
+				if (whitespace() == '[') {
+					var info = dd.getGroup(msgType, tag);
+					if (info == null) {
+						throw new InvalidMessage("Not a group! [" + name + "]");
+					}
+					this.pos++;
+					if (closes(']')) {
+						target.setInt(tag, 0);
+						continue;
+					}
+					var groupDD = info.getDataDictionary();
+					do {
+						var group = new Group(tag, info.getDelimiterField(), groupDD.getOrderedFields());
+						object(group, names, groupDD, msgType);
+						target.addGroup(group);
+					} while (comma());
+					expect(']');
+				} else if (tag != BodyLength.FIELD && tag != CheckSum.FIELD) {
+					target.setString(tag, value());
+				} else {
+					skip();
+				}
+			} while (comma());
+			expect('}');
+		}
+
+		private static int tag(DataDictionary names, String name) throws InvalidMessage {
+			var tag = names.getFieldTag(name);
+			if (tag > 0) {
+				return tag;
+			}
+			try {
+				return Integer.parseInt(name);  // undefined fields are named by tag
+			} catch (NumberFormatException e) {
+				throw new InvalidMessage("Unknown field! [" + name + "]");
+			}
+		}
+
+		/**
+		 * @return a string, or the text of a number; booleans are {@code Y} or {@code N}.
+		 */
+		private String value() throws InvalidMessage {
+			if (whitespace() == '"') {
+				return string();
+			}
+			var start = this.pos;
+			while (this.pos < this.data.length() && ",}] \t\r\n".indexOf(this.data.charAt(this.pos)) < 0) {
+				this.pos++;
+			}
+			var literal = this.data.substring(start, this.pos);
+			switch (literal) {
+			case "true":
+				return "Y";
+			case "false":
+				return "N";
+			case "":
+			case "null":
+				throw new InvalidMessage("Value expected! [" + start + "]");
+			default:
+				return literal;
+			}
+		}
+
+		private String string() throws InvalidMessage {
+			expect('"');
+			var start = this.pos;
+			var end = this.data.indexOf('"', start);
+			if (end < 0) {
+				throw new InvalidMessage("Unterminated string! [" + start + "]");
+			}
+			var escape = this.data.indexOf('\\', start);
+			if (escape < 0 || escape > end) {
+				this.pos = end + 1;
+				return this.data.substring(start, end);
+			}
+			var out = new StringBuilder(end - start);
+			try {
+				for (char c; (c = this.data.charAt(this.pos++)) != '"';) {
+					if (c != '\\') {
+						out.append(c);
+						continue;
+					}
+					c = this.data.charAt(this.pos++);
+					switch (c) {
+					case 'b':
+						out.append('\b');
+						break;
+					case 'f':
+						out.append('\f');
+						break;
+					case 'n':
+						out.append('\n');
+						break;
+					case 'r':
+						out.append('\r');
+						break;
+					case 't':
+						out.append('\t');
+						break;
+					case 'u':
+						out.append((char) Integer.parseInt(this.data.substring(this.pos, this.pos + 4), 16));
+						this.pos += 4;
+						break;
+					default:
+						out.append(c);
+					}
+				}
+			} catch (IndexOutOfBoundsException | NumberFormatException e) {
+				throw new InvalidMessage("Invalid string! [" + start + "]");
+			}
+			return out.toString();
+		}
+
+		/**
+		 * Skips any value.
+		 */
+		private void skip() throws InvalidMessage {
+			var c = whitespace();
+			if (c == '"') {
+				string();
+			} else if (c == '{' || c == '[') {
+				var close = c == '{' ? '}' : ']';
+				this.pos++;
+				if (closes(close)) {
+					return;
+				}
+				do {
+					if (c == '{') {
+						string();
+						expect(':');
+					}
+					skip();
+				} while (comma());
+				expect(close);
+			} else {
+				value();
+			}
+		}
+
+		private char whitespace() throws InvalidMessage {
+			while (this.pos < this.data.length()) {
+				var c = this.data.charAt(this.pos);
+				if (c != ' ' && c != '\t' && c != '\r' && c != '\n') {
+					return c;
+				}
+				this.pos++;
+			}
+			throw new InvalidMessage("Unexpected end!");
+		}
+
+		private void expect(char expected) throws InvalidMessage {
+			if (whitespace() != expected) {
+				throw new InvalidMessage("Expected '" + expected + "'! [" + this.pos + "]");
+			}
+			this.pos++;
+		}
+
+		private boolean closes(char close) throws InvalidMessage {
+			if (whitespace() == close) {
+				this.pos++;
+				return true;
+			}
+			return false;
+		}
+
+		private boolean comma() throws InvalidMessage {
+			if (whitespace() == ',') {
+				this.pos++;
+				return true;
+			}
+			return false;
+		}
+	}
+}
@@ -0,0 +1,405 @@
+/*
+ * Copyright 2026 Daniel Siviter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.dansiviter.fixws;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Nonnull;
+
+import quickfix.ConfigError;
+import quickfix.DataDictionary;
+import quickfix.DataDictionaryProvider;
+import quickfix.FieldConvertError;
+import quickfix.FieldMap;
+import quickfix.FieldNotFound;
+import quickfix.FixVersions;
+import quickfix.InvalidMessage;
+import quickfix.Message;
+import quickfix.MessageUtils;
+import quickfix.Session;
+import quickfix.SessionSettings;
+import quickfix.field.ApplVerID;
+import quickfix.field.BeginString;
+import quickfix.field.BodyLength;
+import quickfix.field.CheckSum;
+import quickfix.field.MsgType;
+
+/**
+ * A read-only view of a received message that indexes the tag offsets in one pass and only decodes a value when it's
+ * read. Observed with {@code @Observes @FromApp LazyMessage} if {@link #LAZY_PARSING} is enabled in the default
+ * section.
+ * <p>
+ * On sessions without a data dictionary QuickFIX/J is only given the header. With one it is given the body's fields
+ * too, undecoded, so it validates them as normal. Header and trailer fields are those of the session's transport
+ * dictionary, or QuickFIX/J's standard one for the version if it has none. Messages with repeating groups, including
+ * header groups such as {@code NoHops}, data fields or fields out of order are parsed fully instead, as are messages of a type with {@link uk.dansiviter.fixws.annotations.FromApp @FromApp}
+ * {@link Message} observers, subscribers or outstanding requests, so a message is never parsed twice. Observers are
+ * then given a view of the parsed message. Groups aren't indexed by instance; use {@link #toMessage()}.
+ *
+ * @author Daniel Siviter
+ * @since v1.0 [19 Oct 2026]
+ */
+public class LazyMessage {
+	public static final String LAZY_PARSING = "LazyParsing";
+
+	private static final char SOH = '\u0001';
+	/** Standard transport dictionaries by BeginString, for sessions without a data dictionary. */
+	private static final Map<String, DataDictionary> STANDARD = new ConcurrentHashMap<>();
+
+	private final Session session;
+	/** The message as received, or {@code null} if a view of {@link #message}. */
+	private final String data;
+	/** Triples of tag, value start and value end. */
+	private int[] index;
+	private int size;
+	private int msgType = -1;
+	private Message message;
+
+	/**
+	 * @param session the session the message was received on.
+	 * @param data the message.
+	 * @throws InvalidMessage if the message is malformed or, if validated by the session, the checksum is incorrect.
+	 */
+	LazyMessage(@Nonnull Session session, @Nonnull String data) throws InvalidMessage {
+		this.session = session;
+		this.data = data;
+		index(session.isValidateChecksum());
+	}
+
+	private LazyMessage(Message message) {
+		this.session = null;
+		this.data = null;
+		this.message = message;
+	}
+
+	private void index(boolean validateChecksum) throws InvalidMessage {
+		this.index = new int[48];
+		var data = this.data;
+		var length = data.length();
+		var checksum = 0;
+		var pos = 0;
+		while (pos < length) {
+			var fieldStart = pos;
+			var tag = 0;
+			char c;
+			while (pos < length && (c = data.charAt(pos)) != '=') {
+				if (c < '0' || c > '9') {
+					throw new InvalidMessage("Invalid tag at " + pos + ": " + data);
+				}
+				tag = tag * 10 + (c - '0');
+				pos++;
+			}
+			var start = ++pos;
+			var end = data.indexOf(SOH, start);
+			if (tag == 0 || start > length || end < 0) {
+				throw new InvalidMessage("Truncated field at " + fieldStart + ": " + data);
+			}
+			if (tag == CheckSum.FIELD) {
+				if (validateChecksum && checksum % 256 != parseInt(start, end)) {
+					throw new InvalidMessage("Invalid checksum: " + data);
+				}
+			} else if (validateChecksum) {
+				for (int i = fieldStart; i <= end; i++) {
+					checksum += data.charAt(i);
+				}
+			}
+			add(tag, start, end);
+			pos = end + 1;
+		}
+		if (this.size < 3 || this.index[0] != BeginString.FIELD || this.index[3] != BodyLength.FIELD) {
+			throw new InvalidMessage("Header must start with BeginString and BodyLength: " + data);
+		}
+		this.msgType = find(MsgType.FIELD);
+		if (this.msgType < 0 || this.index[(this.size - 1) * 3] != CheckSum.FIELD) {
+			throw new InvalidMessage("MsgType or CheckSum missing: " + data);
+		}
+	}
+
+	private void add(int tag, int start, int end) {
+		var i = this.size * 3;
+		if (i + 3 > this.index.length) {
+			this.index = Arrays.copyOf(this.index, this.index.length * 2);
+		}
+		this.index[i] = tag;
+		this.index[i + 1] = start;
+		this.index[i + 2] = end;
+		this.size++;
+	}
+
+	/**
+	 * @return the offset of the first occurrence in the index, or {@code -1} if not set.
+	 */
+	private int find(int tag) {
+		var index = this.index;
+		for (int i = 0, n = this.size * 3; i < n; i += 3) {
+			if (index[i] == tag) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private int get(int tag) throws FieldNotFound {
+		var i = find(tag);
+		if (i < 0) {
+			throw new FieldNotFound(tag);
+		}
+		return i;
+	}
+
+	/**
+	 * @return the part of the parsed message the tag belongs to.
+	 */
+	private FieldMap map(int tag) {
+		if (this.message.getHeader().isSetField(tag)) {
+			return this.message.getHeader();
+		}
+		return this.message.getTrailer().isSetField(tag) ? this.message.getTrailer() : this.message;
+	}
+
+	public @Nonnull String getMsgType() {
+		return this.data == null ? FixUtil.msgType(this.message) : value(this.msgType);
+	}
+
+	public boolean isSetField(int tag) {
+		return this.data == null ? map(tag).isSetField(tag) : find(tag) >= 0;
+	}
+
+	public @Nonnull String getString(int tag) throws FieldNotFound {
+		return this.data == null ? map(tag).getString(tag) : value(get(tag));
+	}
+
+	public char getChar(int tag) throws FieldNotFound {
+		return this.data == null ? map(tag).getChar(tag) : this.data.charAt(this.index[get(tag) + 1]);
+	}
+
+	public int getInt(int tag) throws FieldNotFound, FieldConvertError {
+		if (this.data == null) {
+			return map(tag).getInt(tag);
+		}
+		var i = get(tag);
+		try {
+			return parseInt(this.index[i + 1], this.index[i + 2]);
+		} catch (InvalidMessage e) {
+			throw new FieldConvertError("Not an int: " + value(i));
+		}
+	}
+
+	public @Nonnull BigDecimal getDecimal(int tag) throws FieldNotFound, FieldConvertError {
+		var value = getString(tag);
+		try {
+			return new BigDecimal(value);
+		} catch (NumberFormatException e) {
+			throw new FieldConvertError("Not a decimal: " + value);
+		}
+	}
+
+	private String value(int i) {
+		return this.data.substring(this.index[i + 1], this.index[i + 2]);
+	}
+
+	private int parseInt(int start, int end) throws InvalidMessage {
+		var negative = start < end && this.data.charAt(start) == '-';
+		var first = negative ? start + 1 : start;
+		if (first == end || end - first > 9) {  // avoid overflow
+			throw new InvalidMessage("Not an int: " + this.data.substring(start, end));
+		}
+		var value = 0;
+		for (int i = first; i < end; i++) {
+			var c = this.data.charAt(i);
+			if (c < '0' || c > '9') {
+				throw new InvalidMessage("Not an int: " + this.data.substring(start, end));
+			}
+			value = value * 10 + (c - '0');
+		}
+		return negative ? -value : value;
+	}
+
+	/**
+	 * @return the message as received.
+	 */
+	public @Nonnull String toRawString() {
+		return this.data == null ? this.message.toString() : this.data;
+	}
+
+	/**
+	 * @return the fully parsed message. Parsed on first call.
+	 * @throws InvalidMessage if the message could not be parsed.
+	 */
+	public @Nonnull Message toMessage() throws InvalidMessage {
+		if (this.message == null) {
+			this.message = MessageUtils.parse(this.session, this.data);
+		}
+		return this.message;
+	}
+
+	/**
+	 * @return a message for QuickFIX/J's session processing, or {@code null} if it needs the fully parsed message.
+	 */
+	Message carrier() {
+		var provider = this.session.getDataDictionaryProvider();
+		if (provider == null) {
+			return header();
+		}
+		var transport = provider.getSessionDataDictionary(this.session.getSessionID().getBeginString());
+		var dictionary = dictionary(provider);
+		if (transport == null || dictionary == null) {
+			return null;
+		}
+		var msgType = getMsgType();
+		var message = new Carrier(this);
+		var body = false;
+		for (int i = 0, n = this.size * 3; i < n; i += 3) {
+			var tag = this.index[i];
+			FieldMap map;
+			if (tag == CheckSum.FIELD) {
+				map = message.getTrailer();
+			} else if (transport.isHeaderField(tag)) {
+				if (body || transport.isGroup(DataDictionary.HEADER_ID, tag)) {
+					return null;  // out of order, which QuickFIX/J rejects, or a group such as NoHops
+				}
+				map = message.getHeader();
+			} else if (transport.isTrailerField(tag) || dictionary.isGroup(msgType, tag) || dictionary.isDataField(tag)) {
+				return null;
+			} else {
+				body = true;
+				map = message;
+			}
+			if (map.isSetField(tag)) {
+				return null;  // repeated, which QuickFIX/J rejects
+			}
+			map.setString(tag, value(i));
+		}
+		return message;
+	}
+
+	/**
+	 * @return the application data dictionary, or {@code null} if the version can't be determined.
+	 */
+	private DataDictionary dictionary(DataDictionaryProvider provider) {
+		var beginString = value(0);
+		if (!FixVersions.BEGINSTRING_FIXT11.equals(beginString)) {
+			return provider.getApplicationDataDictionary(MessageUtils.toApplVerID(beginString));
+		}
+		var i = find(ApplVerID.FIELD);
+		var applVerID = i >= 0 ? new ApplVerID(value(i)) : this.session.getTargetDefaultApplicationVersionID();
+		return applVerID != null ? provider.getApplicationDataDictionary(applVerID) : null;
+	}
+
+	/**
+	 * @return a message with only the header and trailer populated, for QuickFIX/J's session processing, or
+	 * 		{@code null} if it needs the fully parsed message.
+	 */
+	Message header() {
+		var transport = standard(this.session.getSessionID().getBeginString());
+		if (transport == null) {
+			return null;
+		}
+		var message = new Carrier(this);
+		var header = message.getHeader();
+		var trailer = message.getTrailer();
+		for (int i = 0, n = this.size * 3; i < n; i += 3) {
+			var tag = this.index[i];
+			if (tag == CheckSum.FIELD) {
+				trailer.setString(tag, value(i));
+			} else if (transport.isHeaderField(tag)) {
+				if (transport.isGroup(DataDictionary.HEADER_ID, tag)) {
+					return null;
+				}
+				header.setString(tag, value(i));
+			}
+		}
+		return message;
+	}
+
+	boolean isAdmin() {
+		var i = this.msgType;
+		return this.index[i + 2] - this.index[i + 1] == 1 && "0A12345".indexOf(this.data.charAt(this.index[i + 1])) >= 0;
+	}
+
+	@Override
+	public String toString() {
+		return toRawString();
+	}
+
+
+	// --- Static Methods ---
+
+	/**
+	 * @param beginString the FIX version.
+	 * @return QuickFIX/J's standard transport dictionary for the version, or {@code null} if it has none.
+	 */
+	private static DataDictionary standard(String beginString) {
+		var dictionary = STANDARD.get(beginString);
+		if (dictionary == null) {
+			try {
+				dictionary = new DataDictionary(beginString.replace(".", "") + ".xml");
+			} catch (ConfigError | RuntimeException e) {
+				return null;
+			}
+			STANDARD.putIfAbsent(beginString, dictionary);
+		}
+		return dictionary;
+	}
+
+	/**
+	 * @param message the message from QuickFIX/J.
+	 * @return the view, or {@code null} if the message was parsed as normal.
+	 */
+	static LazyMessage from(@Nonnull Message message) {
+		return message instanceof Carrier ? ((Carrier) message).lazy : null;
+	}
+
+	/**
+	 * @param message the fully parsed message.
+	 * @return a view of the message.
+	 */
+	static LazyMessage of(@Nonnull Message message) {
+		return new LazyMessage(message);
+	}
+
+	/**
+	 * @param settings the session settings.
+	 * @return {@code true} if lazy parsing is enabled.
+	 * @throws ConfigError if the setting is invalid.
+	 */
+	static boolean enabled(@Nonnull SessionSettings settings) throws ConfigError {
+		try {
+			return settings.isSetting(LAZY_PARSING) && settings.getBool(LAZY_PARSING);
+		} catch (FieldConvertError e) {
+			throw new ConfigError(e);
+		}
+	}
+
+
+	// --- Inner Classes ---
+
+	/**
+	 * Carries the view through QuickFIX/J to {@link FixApplication}.
+	 */
+	private static class Carrier extends Message {
+		private static final long serialVersionUID = 1L;
+
+		private final transient LazyMessage lazy;
+
+		Carrier(LazyMessage lazy) {
+			this.lazy = lazy;
+		}
+	}
+}
@@ -47,9 +47,36 @@ public interface Log extends FixLog {
 	@Message(value = "Disconnecting; received message for unknown session. [{0}]", level = WARN)
 	void fixSessionNotFound(String msg);
 
+	@Message(value = "Disconnecting; invalid frame before logon. [id={0},reason={1}]", level = WARN)
+	void invalidFrame(String id, String reason);
+
 	@Message(value = "Unknown session ID during logon. [{0}]", level = WARN)
 	void unknownSessionIdLogon(SessionID sessionId);
 
 	@Message(value = "Ignoring non-logon message before session established. [{0}]", level = WARN)
 	void ignoringLogon(quickfix.Message msg);
+
+	@Message(value = "Session timer overrun; skipping tick. [bucket={0}]", level = WARN)
+	void timerOverrun(int bucket);
+
+	@Message(value = "Logon refused; admission queue full. [id={0}]", level = WARN)
+	void logonRefused(String id);
+
+	@Message(value = "Unable to resolve session during handshake! [{0}]", level = WARN)
+	void handshakeSession(SessionID sessionId, RuntimeException e);
+
+	@Message(value = "No pong received; closing. [id={0}]", level = WARN)
+	void pingTimeout(String id);
+
+	@Message(value = "Unable to ping! [{0}]", level = WARN)
+	void ping(String id, Exception e);
+
+	@Message(value = "Logon refused; draining. [id={0}]", level = WARN)
+	void logonDraining(String id);
+
+	@Message(value = "Subscriber too slow; dropping. [sessionId={0},msgType={1}]", level = WARN)
+	void publisherTimeout(SessionID sessionId, String msgType);
+
+	@Message(value = "Drain deadline reached; closing remaining connections. [remaining={0}]", level = WARN)
+	void drainTimeout(int remaining);
 }
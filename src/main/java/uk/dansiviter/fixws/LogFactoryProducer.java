@@ -18,12 +18,14 @@ package uk.dansiviter.fixws;
 import static uk.dansiviter.juli.LogProducer.log;
 
 import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.inject.Disposes;
 import javax.enterprise.inject.Produces;
 
 import quickfix.LogFactory;
 
 /**
- * Produces {@link Log} instances for injection.
+ * Produces {@link Log} instances for injection. Session logs are written asynchronously via {@link AsyncLogFactory}
+ * so full message logging doesn't hold up the FIX session threads.
  *
  * @author Daniel Siviter
  * @since v1.0 [13 Nov 2019]
@@ -31,6 +33,12 @@ import quickfix.LogFactory;
 public class LogFactoryProducer {
 	@Produces @ApplicationScoped
 	public static LogFactory logFactory() {
-		return id -> log(Log.class, "quickfix:" + id.toString());
+		return new AsyncLogFactory(id -> log(Log.class, "quickfix:" + id.toString()));
+	}
+
+	public static void close(@Disposes LogFactory logFactory) {
+		if (logFactory instanceof AsyncLogFactory) {
+			((AsyncLogFactory) logFactory).close();
+		}
 	}
 }
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2026 Daniel Siviter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.dansiviter.fixws;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+import javax.annotation.Nonnull;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.inject.Instance;
+import javax.inject.Inject;
+
+import quickfix.ConfigError;
+import quickfix.FieldConvertError;
+import quickfix.SessionSettings;
+
+/**
+ * Caps the number of logons processed concurrently so a reconnect storm, e.g. after a failover, doesn't create,
+ * open and resend for thousands of sessions at once at the expense of established ones. Excess logons are queued in
+ * arrival order without holding the WebSocket thread that received them; as each logon completes the next is run on a
+ * worker. Once {@link #LOGON_QUEUE_SIZE} are queued further logons are refused straight away so the client can back
+ * off and retry.
+ * <p>
+ * Only used by {@link FixEndpoint} if {@link #LOGON_CONCURRENCY} is set in the default section of the session
+ * settings.
+ *
+ * @author Daniel Siviter
+ * @since v1.0 [19 Oct 2026]
+ */
+@ApplicationScoped
+public class LogonAdmission {
+	public static final String LOGON_CONCURRENCY = "LogonConcurrency";
+	public static final String LOGON_QUEUE_SIZE = "LogonQueueSize";
+
+	public static final int DEFAULT_QUEUE_SIZE = 64;
+
+	private final Deque<Runnable> queue = new ArrayDeque<>();
+	private final ExecutorService executor = Executors.newCachedThreadPool(SessionTimer.threadFactory("fix-logon-"));
+
+	@Inject
+	private Instance<SessionSettings> settings;
+
+	private int permits;
+	private int queueSize;
+
+	LogonAdmission() { }
+
+	/**
+	 * @param concurrency the maximum number of logons processed at once.
+	 * @param queueSize the maximum number of logons queued.
+	 */
+	public LogonAdmission(int concurrency, int queueSize) {
+		this.permits = concurrency;
+		this.queueSize = queueSize;
+	}
+
+	@PostConstruct
+	void init() {
+		var concurrency = Runtime.getRuntime().availableProcessors();
+		var queueSize = DEFAULT_QUEUE_SIZE;
+		if (this.settings.isResolvable()) {
+			var settings = this.settings.get();
+			try {
+				if (settings.isSetting(LOGON_CONCURRENCY)) {
+					concurrency = settings.getInt(LOGON_CONCURRENCY);
+				}
+				if (settings.isSetting(LOGON_QUEUE_SIZE)) {
+					queueSize = settings.getInt(LOGON_QUEUE_SIZE);
+				}
+			} catch (ConfigError | FieldConvertError e) {
+				throw new IllegalStateException(e);
+			}
+		}
+		this.permits = concurrency;
+		this.queueSize = queueSize;
+	}
+
+	/**
+	 * Runs the logon on the calling thread if fewer than the maximum are being processed, otherwise queues it to run on a
+	 * worker once its turn comes. Either way the logon is released once run.
+	 *
+	 * @param logon the logon.
+	 * @return {@code true} if run or queued, {@code false} if the queue is full and it should be refused.
+	 */
+	public boolean admit(@Nonnull Runnable logon) {
+		synchronized (this) {
+			if (this.permits == 0 || !this.queue.isEmpty()) {
+				if (this.queue.size() >= this.queueSize) {
+					return false;
+				}
+				this.queue.add(logon);
+				return true;
+			}
+			this.permits--;
+		}
+		run(logon);
+		return true;
+	}
+
+	/**
+	 * Admits only if it would not wait or overtake a queued logon. If admitted {@link #release()} must be called once
+	 * the logon has been processed.
+	 *
+	 * @return {@code true} if admitted.
+	 */
+	public synchronized boolean tryAcquire() {
+		if (this.permits == 0 || !this.queue.isEmpty()) {
+			return false;
+		}
+		this.permits--;
+		return true;
+	}
+
+	/**
+	 * Hands the permit to the next queued logon, if any.
+	 */
+	public void release() {
+		Runnable next;
+		synchronized (this) {
+			next = this.queue.poll();
+			if (next == null) {
+				this.permits++;
+				return;
+			}
+		}
+		try {
+			this.executor.execute(() -> run(next));
+		} catch (RejectedExecutionException e) {
+			release();  // shutting down, so drop it
+		}
+	}
+
+	/**
+	 * @return the number of logons queued.
+	 */
+	public synchronized int queued() {
+		return this.queue.size();
+	}
+
+	@PreDestroy
+	void destroy() {
+		this.executor.shutdown();
+	}
+
+	private void run(Runnable logon) {
+		try {
+			logon.run();
+		} finally {
+			release();
+		}
+	}
+
+
+	// --- Static Methods ---
+
+	/**
+	 * @param settings the session settings.
+	 * @return {@code true} if admission control is enabled.
+	 */
+	public static boolean enabled(@Nonnull SessionSettings settings) {
+		return settings.isSetting(LOGON_CONCURRENCY);
+	}
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2026 Daniel Siviter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.dansiviter.fixws;
+
+import static quickfix.MessageUtils.getMessageType;
+import static quickfix.MessageUtils.getStringField;
+import static quickfix.MessageUtils.isAdminMessage;
+import static quickfix.MessageUtils.isLogon;
+import static quickfix.MessageUtils.toApplVerID;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import javax.annotation.Nonnull;
+
+import quickfix.ConfigError;
+import quickfix.FieldConvertError;
+import quickfix.FieldNotFound;
+import quickfix.FixVersions;
+import quickfix.InvalidMessage;
+import quickfix.Message;
+import quickfix.Session;
+import quickfix.SessionSettings;
+import quickfix.field.ApplVerID;
+import quickfix.field.BeginString;
+import quickfix.field.DefaultApplVerID;
+import quickfix.field.MsgSeqNum;
+import quickfix.field.MsgType;
+
+/**
+ * Recycles inbound messages, one per message type, for a single connection. Equivalent to
+ * {@link quickfix.MessageUtils#parse(Session, String)} except the message is reused once dispatched, saving the
+ * message, header, trailer and their maps per frame.
+ * <p>
+ * Enabled with {@link #INBOUND_MESSAGE_POOL} in the default section. When enabled a message passed to a
+ * {@link uk.dansiviter.fixws.annotations.FromApp @FromApp} observer is only valid until the observer returns; it must be
+ * {@link Message#clone() cloned} if retained. Asynchronous observers are given a clone. A message QuickFIX/J may have
+ * queued, i.e. ahead of the expected sequence number, or that failed validation is never recycled.
+ * <p>
+ * Not thread safe; WebSocket containers deliver a connection's frames one at a time.
+ *
+ * @author Daniel Siviter
+ * @since v1.0 [19 Oct 2026]
+ */
+public class MessagePool {
+	public static final String INBOUND_MESSAGE_POOL = "InboundMessagePool";
+
+	private final Map<String, Entry> entries = new HashMap<>();
+
+	/**
+	 * @param session the session the message was received on.
+	 * @param msgStr the message.
+	 * @return the parsed message, which should be passed to {@link #release(Message, int)} once dispatched.
+	 * @throws InvalidMessage if the message could not be parsed.
+	 */
+	Message parse(@Nonnull Session session, @Nonnull String msgStr) throws InvalidMessage {
+		var beginString = getStringField(msgStr, BeginString.FIELD);
+		var msgType = getMessageType(msgStr);
+		var ddProvider = session.getDataDictionaryProvider();
+		var sessionDataDictionary = ddProvider == null ? null : ddProvider.getSessionDataDictionary(beginString);
+		var payloadDictionary = sessionDataDictionary;
+		ApplVerID applVerID = null;
+		if (!isAdminMessage(msgType) || isLogon(msgStr)) {
+			applVerID = FixVersions.BEGINSTRING_FIXT11.equals(beginString)
+					? applVerID(session, msgStr)
+					: toApplVerID(beginString);
+			if (!isAdminMessage(msgType) && ddProvider != null) {
+				payloadDictionary = ddProvider.getApplicationDataDictionary(applVerID);
+			}
+		}
+
+		var message = acquire(session, beginString, applVerID, msgType);
+		var validateChecksum = session.isValidateChecksum();
+		if (sessionDataDictionary == null) {
+			message.fromString(msgStr, null, false, validateChecksum);
+		} else {
+			message.fromString(msgStr, sessionDataDictionary, payloadDictionary, payloadDictionary != null,
+					validateChecksum);
+		}
+		return message;
+	}
+
+	private Message acquire(Session session, String beginString, ApplVerID applVerID, String msgType) {
+		var entry = this.entries.get(msgType);
+		if (entry != null && !entry.inUse && entry.message != null && Objects.equals(entry.applVerID, applVerID)) {
+			entry.message.clear();
+			entry.inUse = true;
+			return entry.message;
+		}
+		var message = session.getMessageFactory().create(beginString, applVerID, msgType);
+		if (entry == null) {
+			this.entries.put(msgType, new Entry(applVerID, message));
+		} else if (!entry.inUse) {  // given up or a different version, so replace
+			entry.applVerID = applVerID;
+			entry.message = message;
+			entry.inUse = true;
+		}
+		return message;
+	}
+
+	/**
+	 * @param message the dispatched message.
+	 * @param expectedTargetNum the session's expected target sequence number before the message was processed.
+	 */
+	void release(@Nonnull Message message, int expectedTargetNum) {
+		try {
+			var header = message.getHeader();
+			var entry = this.entries.get(header.getString(MsgType.FIELD));
+			if (entry == null || entry.message != message) {
+				return;
+			}
+			if (message.getException() != null || header.getInt(MsgSeqNum.FIELD) > expectedTargetNum) {
+				// the exception isn't cleared, or it may be queued until the gap is filled, so give it up
+				entry.message = null;
+			}
+			entry.inUse = false;
+		} catch (FieldNotFound e) {
+			// not recycled
+		}
+	}
+
+
+	// --- Static Methods ---
+
+	/**
+	 * @see quickfix.MessageUtils#parse(Session, String)
+	 */
+	private static ApplVerID applVerID(Session session, String msgStr) throws InvalidMessage {
+		var applVerID = getStringField(msgStr, ApplVerID.FIELD);
+		if (applVerID != null) {
+			return new ApplVerID(applVerID);
+		}
+		var defaultApplVerID = session.getTargetDefaultApplicationVersionID();
+		if (defaultApplVerID != null) {
+			return defaultApplVerID;
+		}
+		if (isLogon(msgStr)) {
+			applVerID = getStringField(msgStr, DefaultApplVerID.FIELD);
+			if (applVerID != null) {
+				return new ApplVerID(applVerID);
+			}
+		}
+		throw new InvalidMessage("Can't determine ApplVerID from message " + msgStr);
+	}
+
+	/**
+	 * @param settings the session settings.
+	 * @return {@code true} if inbound messages are pooled.
+	 * @throws ConfigError if the setting is invalid.
+	 */
+	static boolean enabled(@Nonnull SessionSettings settings) throws ConfigError {
+		try {
+			return settings.isSetting(INBOUND_MESSAGE_POOL) && settings.getBool(INBOUND_MESSAGE_POOL);
+		} catch (FieldConvertError e) {
+			throw new ConfigError(e);
+		}
+	}
+
+
+	// --- Inner Classes ---
+
+	/**
+	 * The pooled message for a message type.
+	 */
+	private static class Entry {
+		private ApplVerID applVerID;
+		private Message message;
+		private boolean inUse;
+
+		Entry(ApplVerID applVerID, Message message) {
+			this.applVerID = applVerID;
+			this.message = message;
+			this.inUse = true;
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 Daniel Siviter
+ * Copyright 2019-2026 Daniel Siviter
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,51 +15,506 @@
  */
 package uk.dansiviter.fixws;
 
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static org.eclipse.microprofile.metrics.MetricType.COUNTER;
+import static org.eclipse.microprofile.metrics.MetricType.METERED;
+import static org.eclipse.microprofile.metrics.MetricType.TIMER;
 import static uk.dansiviter.fixws.FixUtil.msgType;
 
 import java.util.Map;
-import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
 
 import javax.annotation.Nonnull;
+import javax.annotation.PostConstruct;
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.inject.Instance;
 import javax.inject.Inject;
 
+import org.eclipse.microprofile.metrics.Counter;
 import org.eclipse.microprofile.metrics.Metadata;
+import org.eclipse.microprofile.metrics.MetricID;
 import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.eclipse.microprofile.metrics.MetricUnits;
 import org.eclipse.microprofile.metrics.Tag;
+import org.eclipse.microprofile.metrics.Timer;
 
+import quickfix.ConfigError;
+import quickfix.FieldConvertError;
+import quickfix.FieldNotFound;
 import quickfix.Message;
+import quickfix.Session;
 import quickfix.SessionID;
+import quickfix.SessionSettings;
+import quickfix.field.MsgSeqNum;
+import quickfix.field.PossDupFlag;
 
 /**
+ * Metric handles are resolved from the registry once per session, direction and message type and then cached, so
+ * recording a message is a map lookup and a {@link LongAdder} increment.
+ * <p>
+ * Latency is recorded per {@link Stage} for a sample of messages; set {@link #LATENCY_SAMPLE_INTERVAL} in the default
+ * section of the session settings to time roughly one in every {@code n} messages, by default
+ * {@value #DEFAULT_SAMPLE_INTERVAL}.
+ *
  * @author Daniel Siviter
  * @since v1.0 [4 Feb 2020]
  */
 @ApplicationScoped
 public class Metrics {
+	public static final String LATENCY_SAMPLE_INTERVAL = "LatencySampleInterval";
+	public static final int DEFAULT_SAMPLE_INTERVAL = 100;
+
+	/** Number of sessions with cached handles beyond which those that have closed are evicted. */
+	static final int MAX_SESSIONS = 10_000;
+	/** Number of sampled messages per session that may await dispatch, e.g. while queued for a gap to fill. */
+	static final int PARSED_SLOTS = 64;
+
 	private static final Metadata METADATA = Metadata.builder()
 			.withName("fix/message.count")
 			.withDisplayName("FIX Message Count")
 			.withDescription("The count of inbound and outbound messages.")
 			.withType(COUNTER)
 			.build();
+	private static final Metadata LATENCY = Metadata.builder()
+			.withName("fix/message.latency")
+			.withDisplayName("FIX Message Latency")
+			.withDescription("The time taken by each stage of message processing.")
+			.withType(TIMER)
+			.withUnit(MetricUnits.NANOSECONDS)
+			.build();
+	private static final Metadata BYTES = counter("fix/transport.bytes", "Transport Bytes",
+			"The number of bytes (characters for text frames) received and sent.", MetricUnits.BYTES);
+	private static final Metadata FRAMES = counter("fix/transport.frames", "Transport Frames",
+			"The number of WebSocket frames received and sent.", MetricUnits.NONE);
+	private static final Metadata RESENDS = counter("fix/message.resend", "FIX Message Resends",
+			"The number of messages resent, including gap fills.", MetricUnits.NONE);
+	private static final Metadata CREATED = meter("fix/session.created", "FIX Sessions Created",
+			"The rate FIX sessions are created.");
+	private static final Metadata EVICTED = meter("fix/session.evicted", "FIX Sessions Evicted",
+			"The rate FIX sessions are unbound from their connection.");
+	private static final Metadata ADMISSION = Metadata.builder()
+			.withName("fix/logon.admission")
+			.withDisplayName("FIX Logon Admission")
+			.withDescription("The time logons wait to be admitted.")
+			.withType(TIMER)
+			.withUnit(MetricUnits.NANOSECONDS)
+			.build();
+	private static final Metadata REFUSED = meter("fix/logon.refused", "FIX Logons Refused",
+			"The rate logons are refused because the admission queue is full.");
 	private static final Tag CLIENT = new Tag("kind", "client");
 	private static final Tag SERVER = new Tag("kind", "server");
-	private static final Map<SessionID, Tag> SESSION_ID = new WeakHashMap<>();
-	private static final Map<String, Tag> MSG_TYPE = new ConcurrentHashMap<>();
+	private static final Tag IN = new Tag("direction", "in");
+	private static final Tag OUT = new Tag("direction", "out");
+
+	private final Map<SessionID, SessionMetrics> sessions = new ConcurrentHashMap<>();
+	private final Map<MetricID, Counter> counters = new ConcurrentHashMap<>();
 
 	@Inject
-	private Instance<MetricRegistry> registry;
+	private Instance<MetricRegistry> registryInstance;
+	@Inject
+	private Instance<SessionSettings> settings;
+
+	private MetricRegistry registry;
+	private int sampleInterval = DEFAULT_SAMPLE_INTERVAL;
+
+	@PostConstruct
+	void init() {
+		this.registry = this.registryInstance.isResolvable() ? this.registryInstance.get() : null;
+		if (this.settings.isResolvable() && this.settings.get().isSetting(LATENCY_SAMPLE_INTERVAL)) {
+			try {
+				this.sampleInterval = Math.max(1, this.settings.get().getInt(LATENCY_SAMPLE_INTERVAL));
+			} catch (ConfigError | FieldConvertError e) {
+				throw new IllegalStateException(e);
+			}
+		}
+	}
 
 	void on(@Nonnull Message msg, @Nonnull SessionID id, boolean inbound) {
-		if (!this.registry.isResolvable()) {
+		if (this.registry == null) {
 			return;
 		}
-		var sessionId = SESSION_ID.computeIfAbsent(id, k -> new Tag("sessionId", id.toString()));
-		var msgType = MSG_TYPE.computeIfAbsent(msgType(msg), k -> new Tag("msgType", k));
-		this.registry.get().counter(METADATA, sessionId, inbound ? CLIENT : SERVER, msgType).inc();
+		session(id).counter(msgType(msg), inbound).inc();
+	}
+
+	/**
+	 * Counts the message if it is a resend, i.e. has {@link PossDupFlag} set.
+	 *
+	 * @param msg the outbound message.
+	 * @param id the session.
+	 */
+	void resend(@Nonnull Message msg, @Nonnull SessionID id) {
+		if (this.registry == null) {
+			return;
+		}
+		try {
+			var header = msg.getHeader();
+			if (header.isSetField(PossDupFlag.FIELD) && header.getBoolean(PossDupFlag.FIELD)) {
+				session(id).resends.inc();
+			}
+		} catch (FieldNotFound e) {
+			// can't happen as it's checked
+		}
+	}
+
+	/**
+	 * @param id the session.
+	 * @param path the endpoint path.
+	 * @return the transport handles of the session on the endpoint.
+	 */
+	Transport transport(@Nonnull SessionID id, @Nonnull String path) {
+		if (this.registry == null) {
+			return new Transport(this, null, path);
+		}
+		return session(id).transport(path);
+	}
+
+	/**
+	 * @param path the endpoint path the session was created by.
+	 */
+	void created(@Nonnull String path) {
+		if (this.registry != null) {
+			this.registry.meter(CREATED, new Tag("path", path)).mark();
+		}
+	}
+
+	/**
+	 * @param path the endpoint path.
+	 * @param start the {@link System#nanoTime()} the logon was received.
+	 */
+	void admitted(@Nonnull String path, long start) {
+		if (this.registry != null) {
+			this.registry.timer(ADMISSION, new Tag("path", path)).update(System.nanoTime() - start, NANOSECONDS);
+		}
+	}
+
+	/**
+	 * @param path the endpoint path.
+	 */
+	void refused(@Nonnull String path) {
+		if (this.registry != null) {
+			this.registry.meter(REFUSED, new Tag("path", path)).mark();
+		}
+	}
+
+	/**
+	 * Marks the session as unbound from its connection and drops its cached handles.
+	 *
+	 * @param id the session.
+	 * @param path the endpoint path the session was bound to.
+	 */
+	void evicted(@Nonnull SessionID id, @Nonnull String path) {
+		if (this.registry != null) {
+			this.registry.meter(EVICTED, new Tag("path", path)).mark();
+			this.sessions.remove(id);
+		}
+	}
+
+	/**
+	 * Decides whether the current message is timed. Callers only take a {@link System#nanoTime()} if it is.
+	 *
+	 * @return {@code true} if the message is sampled.
+	 */
+	boolean sampled() {
+		return this.registry != null
+				&& (this.sampleInterval == 1 || ThreadLocalRandom.current().nextInt(this.sampleInterval) == 0);
+	}
+
+	/**
+	 * Records the {@link Stage#PARSE} stage and remembers when parsing completed against the message's sequence number,
+	 * so {@link #dispatched(Message, SessionID)} can record the {@link Stage#DISPATCH} stage even if the message is
+	 * queued by the session or dispatched on another thread.
+	 *
+	 * @param msg the parsed message.
+	 * @param id the session.
+	 * @param received the {@link System#nanoTime()} the frame was received or {@code 0} if not sampled.
+	 */
+	void parsed(@Nonnull Message msg, @Nonnull SessionID id, long received) {
+		if (received != 0) {
+			var parsed = System.nanoTime();
+			var session = session(id);
+			session.timer(msgType(msg), Stage.PARSE).update(parsed - received, NANOSECONDS);
+			session.parsed(msg, parsed);
+		}
+	}
+
+	/**
+	 * @param msg the message being dispatched to the application.
+	 * @param id the session.
+	 */
+	void dispatched(@Nonnull Message msg, @Nonnull SessionID id) {
+		if (this.registry != null) {
+			session(id).dispatched(msg);
+		}
+	}
+
+	/**
+	 * @param stage the stage.
+	 * @param id the session.
+	 * @param msgType the message type.
+	 * @param start the {@link System#nanoTime()} the stage started or {@code 0} if not sampled.
+	 */
+	void latency(@Nonnull Stage stage, @Nonnull SessionID id, @Nonnull String msgType, long start) {
+		if (start != 0) {
+			session(id).timer(msgType, stage).update(System.nanoTime() - start, NANOSECONDS);
+		}
+	}
+
+	private SessionMetrics session(SessionID id) {
+		var session = this.sessions.get(id);
+		if (session != null) {
+			return session;
+		}
+		if (this.sessions.size() >= MAX_SESSIONS) {
+			evictClosed();
+		}
+		return this.sessions.computeIfAbsent(id, SessionMetrics::new);
+	}
+
+	/**
+	 * Drops the cached handles of sessions that have closed without being {@link #evicted(SessionID, String) evicted},
+	 * e.g. those recreated by a message sent after the connection closed. Live sessions are never evicted.
+	 */
+	void evictClosed() {
+		this.sessions.keySet().removeIf(Metrics::closed);
+	}
+
+	/**
+	 * @param id the session.
+	 * @return {@code true} if the session has cached handles.
+	 */
+	boolean cached(@Nonnull SessionID id) {
+		return this.sessions.containsKey(id);
+	}
+
+	private Timer timer(Tag... tags) {
+		return this.registry.timer(LATENCY, tags);
+	}
+
+	private Counter counter(Tag... tags) {
+		return counter(METADATA, tags);
+	}
+
+	private Counter counter(Metadata metadata, Tag... tags) {
+		return this.counters.computeIfAbsent(new MetricID(metadata.getName(), tags), k -> {
+			// may have been registered by a previous instance of the application
+			var counter = this.registry.getCounters((id, m) -> id.equals(k)).get(k);
+			return counter != null ? counter : this.registry.register(metadata, new StripedCounter(), tags);
+		});
+	}
+
+
+
+	// --- Static Methods ---
+
+	private static int seqNum(Message msg) {
+		try {
+			var header = msg.getHeader();
+			return header.isSetField(MsgSeqNum.FIELD) ? header.getInt(MsgSeqNum.FIELD) : 0;
+		} catch (FieldNotFound e) {
+			return 0;  // can't happen as it's checked
+		}
+	}
+
+	private static boolean closed(SessionID id) {
+		var session = Session.lookupSession(id);
+		return session == null || !session.hasResponder();
+	}
+
+	private static Metadata counter(String name, String displayName, String description, String unit) {
+		return Metadata.builder().withName(name).withDisplayName(displayName).withDescription(description)
+				.withType(COUNTER).withUnit(unit).build();
+	}
+
+	private static Metadata meter(String name, String displayName, String description) {
+		return Metadata.builder().withName(name).withDisplayName(displayName).withDescription(description)
+				.withType(METERED).withUnit(MetricUnits.PER_SECOND).build();
+	}
+
+
+	// --- Inner Classes ---
+
+	/**
+	 * The stages of message processing that are timed.
+	 */
+	enum Stage {
+		/** Frame receipt to parse complete. */
+		PARSE,
+		/** Parse complete to {@code fromApp} dispatch. */
+		DISPATCH,
+		/** {@code @ToApp} event to hand over to the session. */
+		SEND,
+		/** Hand over to the WebSocket to write complete. Tagged by path rather than message type. */
+		WRITE;
+
+		private final Tag tag = new Tag("stage", name().toLowerCase());
+	}
+
+	/**
+	 * Cached handles for a single session.
+	 */
+	private class SessionMetrics {
+		private final SessionID id;
+		private final Tag sessionId;
+		private final Counter resends;
+		private final Map<String, Counter> inbound = new ConcurrentHashMap<>();
+		private final Map<String, Counter> outbound = new ConcurrentHashMap<>();
+		private final Map<String, Timer[]> timers = new ConcurrentHashMap<>();
+		private final Map<String, Transport> transports = new ConcurrentHashMap<>();
+		/** Sequence number and parse time of sampled messages awaiting dispatch, by sequence number. */
+		private final AtomicReferenceArray<long[]> parsed = new AtomicReferenceArray<>(PARSED_SLOTS);
+		private final AtomicInteger pending = new AtomicInteger();
+
+		SessionMetrics(SessionID id) {
+			this.id = id;
+			this.sessionId = new Tag("sessionId", id.toString());
+			this.resends = Metrics.this.counter(RESENDS, this.sessionId);
+		}
+
+		Transport transport(String path) {
+			return this.transports.computeIfAbsent(path, k -> new Transport(Metrics.this, this, k));
+		}
+
+		Counter counter(String msgType, boolean inbound) {
+			var counters = inbound ? this.inbound : this.outbound;
+			var counter = counters.get(msgType);
+			if (counter == null) {
+				counter = counters.computeIfAbsent(msgType,
+						k -> Metrics.this.counter(this.sessionId, inbound ? CLIENT : SERVER, new Tag("msgType", k)));
+			}
+			return counter;
+		}
+
+		void parsed(Message msg, long parsed) {
+			var seqNum = seqNum(msg);
+			if (seqNum > 0 && this.parsed.getAndSet(seqNum % PARSED_SLOTS, new long[] { seqNum, parsed }) == null) {
+				this.pending.incrementAndGet();
+			}
+		}
+
+		void dispatched(Message msg) {
+			if (this.pending.get() == 0) {  // nothing sampled, so avoid reading the sequence number
+				return;
+			}
+			var seqNum = seqNum(msg);
+			if (seqNum <= 0) {
+				return;
+			}
+			var i = seqNum % PARSED_SLOTS;
+			var slot = this.parsed.get(i);
+			if (slot != null && slot[0] == seqNum && this.parsed.compareAndSet(i, slot, null)) {
+				this.pending.decrementAndGet();
+				timer(msgType(msg), Stage.DISPATCH).update(System.nanoTime() - slot[1], NANOSECONDS);
+			}
+		}
+
+		Timer timer(String msgType, Stage stage) {
+			var timers = this.timers.get(msgType);
+			if (timers == null) {
+				timers = this.timers.computeIfAbsent(msgType, k -> {
+					var msgTypeTag = new Tag("msgType", k);
+					var stages = Stage.values();
+					var out = new Timer[stages.length];
+					for (var s : stages) {
+						if (s != Stage.WRITE) {  // recorded by the transport
+							out[s.ordinal()] = Metrics.this.timer(this.sessionId, msgTypeTag, s.tag);
+						}
+					}
+					return out;
+				});
+			}
+			return timers[stage.ordinal()];
+		}
+	}
+
+	/**
+	 * Transport handles for a session on a single endpoint path. Every method is a striped add so instrumenting the
+	 * I/O path doesn't skew the throughput being measured.
+	 */
+	static class Transport {
+		private final Metrics metrics;
+		private final SessionID sessionId;
+		private final Counter bytesIn;
+		private final Counter bytesOut;
+		private final Counter framesIn;
+		private final Counter framesOut;
+		private final Timer write;
+
+		private Transport(Metrics metrics, SessionMetrics session, String path) {
+			this.metrics = metrics;
+			if (session == null) {  // no registry, so nothing to report to
+				this.sessionId = null;
+				this.bytesIn = this.bytesOut = this.framesIn = this.framesOut = new StripedCounter();
+				this.write = null;
+				return;
+			}
+			this.sessionId = session.id;
+			var pathTag = new Tag("path", path);
+			this.bytesIn = metrics.counter(BYTES, session.sessionId, pathTag, IN);
+			this.bytesOut = metrics.counter(BYTES, session.sessionId, pathTag, OUT);
+			this.framesIn = metrics.counter(FRAMES, session.sessionId, pathTag, IN);
+			this.framesOut = metrics.counter(FRAMES, session.sessionId, pathTag, OUT);
+			this.write = metrics.timer(session.sessionId, pathTag, Stage.WRITE.tag);
+		}
+
+		/**
+		 * @param length the length of the frame received.
+		 */
+		void received(int length) {
+			this.framesIn.inc();
+			this.bytesIn.inc(length);
+		}
+
+		/**
+		 * @param length the length of the frame being sent.
+		 */
+		void sending(int length) {
+			this.framesOut.inc();
+			this.bytesOut.inc(length);
+		}
+
+		/**
+		 * @return {@code true} if the current message should be timed.
+		 * @see Metrics#sampled()
+		 */
+		boolean sampled() {
+			return this.sessionId != null && this.metrics.sampled();
+		}
+
+		/**
+		 * Records the {@link Stage#WRITE} stage.
+		 *
+		 * @param start the {@link System#nanoTime()} the write started or {@code 0} if not sampled.
+		 */
+		void written(long start) {
+			if (start != 0) {
+				this.write.update(System.nanoTime() - start, NANOSECONDS);
+			}
+		}
+	}
+
+	/**
+	 * {@link Counter} backed by a {@link LongAdder} so concurrent increments don't contend.
+	 */
+	static class StripedCounter implements Counter {
+		private final LongAdder count = new LongAdder();
+
+		@Override
+		public void inc() {
+			this.count.increment();
+		}
+
+		@Override
+		public void inc(long n) {
+			this.count.add(n);
+		}
+
+		@Override
+		public long getCount() {
+			return this.count.sum();
+		}
 	}
 }
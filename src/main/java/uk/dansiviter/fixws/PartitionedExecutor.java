@@ -0,0 +1,161 @@
+/*
+ * Copyright 2026 Daniel Siviter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.dansiviter.fixws;
+
+import java.io.Closeable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+import javax.annotation.Nonnull;
+import javax.enterprise.event.NotificationOptions;
+
+import quickfix.ConfigError;
+import quickfix.FieldConvertError;
+import quickfix.FieldMap;
+import quickfix.FieldNotFound;
+import quickfix.InvalidMessage;
+import quickfix.Message;
+import quickfix.SessionID;
+import quickfix.SessionSettings;
+
+/**
+ * Runs the {@code @ObservesAsync @FromApp} observers on one of a number of single threaded lanes chosen by a partition
+ * key, e.g. {@code Symbol} or {@code Account}. Messages with the same key are observed in the order received while
+ * different keys are observed in parallel. Messages without the key are partitioned by session so they too stay in
+ * order. Synchronous observers are unaffected.
+ * <p>
+ * Enabled with {@link #PARTITION_KEY}, the tag of the key, and optionally {@link #PARTITION_LANES} (default the number
+ * of processors) in the default section, or by producing a bean, e.g. for a key derived from several fields.
+ *
+ * @author Daniel Siviter
+ * @since v1.0 [19 Oct 2026]
+ */
+public class PartitionedExecutor implements Closeable {
+	public static final String PARTITION_KEY = "PartitionKey";
+	public static final String PARTITION_LANES = "PartitionLanes";
+
+	private final ExecutorService[] lanes;
+	private final NotificationOptions[] options;
+	private final Function<Message, Object> key;
+	/** The tag of the key, or {@code -1} if derived by {@link #key}. */
+	private final int tag;
+
+	/**
+	 * @param lanes the number of lanes.
+	 * @param tag the tag of the key, looked up in the body then the header.
+	 */
+	public PartitionedExecutor(int lanes, int tag) {
+		this(lanes, tag, m -> field(m, tag));
+	}
+
+	/**
+	 * @param lanes the number of lanes.
+	 * @param key derives the key, {@code null} if none. For lazily parsed messages this forces a full parse.
+	 */
+	public PartitionedExecutor(int lanes, @Nonnull Function<Message, Object> key) {
+		this(lanes, -1, key);
+	}
+
+	private PartitionedExecutor(int lanes, int tag, Function<Message, Object> key) {
+		if (lanes <= 0) {
+			throw new IllegalArgumentException("Lanes must be positive! [" + lanes + "]");
+		}
+		this.lanes = new ExecutorService[lanes];
+		this.options = new NotificationOptions[lanes];
+		for (int i = 0; i < lanes; i++) {
+			this.lanes[i] = Executors.newSingleThreadExecutor(SessionTimer.threadFactory("fix-partition-" + i));
+			this.options[i] = NotificationOptions.ofExecutor(this.lanes[i]);
+		}
+		this.key = key;
+		this.tag = tag;
+	}
+
+	/**
+	 * @param message the message.
+	 * @param sessionId the session the message was received on.
+	 * @return the options to fire the asynchronous event with.
+	 */
+	NotificationOptions options(@Nonnull Message message, @Nonnull SessionID sessionId) {
+		return this.options[lane(this.key.apply(message), sessionId)];
+	}
+
+	/**
+	 * @param message the lazily parsed message.
+	 * @param sessionId the session the message was received on.
+	 * @return the options to fire the asynchronous event with.
+	 */
+	NotificationOptions options(@Nonnull LazyMessage message, @Nonnull SessionID sessionId) {
+		Object key = null;
+		try {
+			if (this.tag < 0) {
+				key = this.key.apply(message.toMessage());
+			} else if (message.isSetField(this.tag)) {
+				key = message.getString(this.tag);
+			}
+		} catch (InvalidMessage | FieldNotFound e) {
+			// partition by session
+		}
+		return this.options[lane(key, sessionId)];
+	}
+
+	private int lane(Object key, SessionID sessionId) {
+		var h = (key != null ? key : sessionId).hashCode();
+		return Math.floorMod(h ^ (h >>> 16), this.lanes.length);
+	}
+
+	@Override
+	public void close() {
+		for (var lane : this.lanes) {
+			lane.shutdown();
+		}
+	}
+
+
+	// --- Static Methods ---
+
+	private static String field(Message message, int tag) {
+		var value = value(message, tag);
+		return value != null ? value : value(message.getHeader(), tag);
+	}
+
+	private static String value(FieldMap map, int tag) {
+		try {
+			return map.isSetField(tag) ? map.getString(tag) : null;
+		} catch (FieldNotFound e) {
+			return null;
+		}
+	}
+
+	/**
+	 * @param settings the session settings.
+	 * @return the executor, or {@code null} if not enabled in the default section.
+	 * @throws ConfigError if the settings are invalid.
+	 */
+	public static PartitionedExecutor of(@Nonnull SessionSettings settings) throws ConfigError {
+		if (!settings.isSetting(PARTITION_KEY)) {
+			return null;
+		}
+		try {
+			var lanes = settings.isSetting(PARTITION_LANES)
+					? settings.getInt(PARTITION_LANES)
+					: Runtime.getRuntime().availableProcessors();
+			return new PartitionedExecutor(lanes, settings.getInt(PARTITION_KEY));
+		} catch (FieldConvertError e) {
+			throw new ConfigError(e);
+		}
+	}
+}
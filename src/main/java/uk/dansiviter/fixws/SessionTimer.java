@@ -0,0 +1,209 @@
+/*
+ * Copyright 2026 Daniel Siviter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.dansiviter.fixws;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nonnull;
+
+import quickfix.Session;
+import quickfix.SessionID;
+import uk.dansiviter.juli.LogProducer;
+
+/**
+ * Drives {@link Session#next()} once a second for every registered session, which QuickFIX/J relies on for
+ * heartbeats, test requests and logon/logout timeouts.
+ * <p>
+ * Rather than a scheduled task per session, sessions are hashed into the buckets of a wheel. A single ticker thread
+ * advances the wheel every {@code 1s / wheelSize} and hands the current bucket to a small worker pool, so each session
+ * is visited once per revolution and the work is spread evenly across the second. If a bucket is still being processed
+ * when its turn comes round again the tick is skipped rather than queued.
+ *
+ * @author Daniel Siviter
+ * @since v1.0 [19 Oct 2026]
+ * @see quickfix.mina.SessionConnector
+ */
+public class SessionTimer implements Closeable {
+	public static final int DEFAULT_WHEEL_SIZE = 64;
+	public static final int DEFAULT_THREADS = 2;
+
+	private static final long REVOLUTION_NANOS = SECONDS.toNanos(1);
+	private static final Runnable NO_OP = () -> { };
+
+	private final Log log = LogProducer.log(Log.class);
+	private final Bucket[] wheel;
+	private final int mask;
+	private final ScheduledExecutorService ticker;
+	private final ExecutorService workers;
+
+	private int tick;
+
+	public SessionTimer() {
+		this(DEFAULT_WHEEL_SIZE, DEFAULT_THREADS);
+	}
+
+	/**
+	 * @param wheelSize the number of buckets. Must be a power of two.
+	 * @param threads the number of threads calling {@link Session#next()}.
+	 */
+	public SessionTimer(int wheelSize, int threads) {
+		if (wheelSize <= 0 || Integer.bitCount(wheelSize) != 1) {
+			throw new IllegalArgumentException("Wheel size must be a power of two! [" + wheelSize + "]");
+		}
+		this.wheel = new Bucket[wheelSize];
+		for (int i = 0; i < wheelSize; i++) {
+			this.wheel[i] = new Bucket(i);
+		}
+		this.mask = wheelSize - 1;
+		this.ticker = Executors.newSingleThreadScheduledExecutor(threadFactory("fix-session-timer"));
+		this.workers = Executors.newFixedThreadPool(threads, threadFactory("fix-session-timer-"));
+		var tickNanos = REVOLUTION_NANOS / wheelSize;
+		this.ticker.scheduleAtFixedRate(this::tick, tickNanos, tickNanos, NANOSECONDS);
+	}
+
+	/**
+	 * @param session the session to drive.
+	 */
+	public void register(@Nonnull Session session) {
+		register(session, NO_OP);
+	}
+
+	/**
+	 * @param session the session to drive.
+	 * @param tick run each time the session is visited, after {@link Session#next()}. Replaces any previous one.
+	 */
+	public void register(@Nonnull Session session, @Nonnull Runnable tick) {
+		bucket(session.getSessionID()).sessions.put(session, tick);
+	}
+
+	/**
+	 * @param session the session to stop driving.
+	 */
+	public void unregister(@Nonnull Session session) {
+		bucket(session.getSessionID()).sessions.remove(session);
+	}
+
+	/**
+	 * @return the number of registered sessions.
+	 */
+	public int size() {
+		var size = 0;
+		for (var bucket : this.wheel) {
+			size += bucket.sessions.size();
+		}
+		return size;
+	}
+
+	private Bucket bucket(SessionID sessionId) {
+		var h = sessionId.hashCode();
+		return this.wheel[(h ^ (h >>> 16)) & this.mask];
+	}
+
+	private void tick() {
+		var bucket = this.wheel[this.tick++ & this.mask];
+		if (bucket.sessions.isEmpty()) {
+			return;
+		}
+		if (bucket.running.compareAndSet(false, true)) {
+			this.workers.execute(bucket);
+		} else {
+			this.log.timerOverrun(bucket.index);
+		}
+	}
+
+	@Override
+	public void close() {
+		this.ticker.shutdownNow();
+		this.workers.shutdown();
+		try {
+			this.workers.awaitTermination(1, SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+
+	// --- Static Methods ---
+
+	static ThreadFactory threadFactory(String name) {
+		var count = new AtomicInteger();
+		return r -> {
+			var thread = new Thread(r, name.endsWith("-") ? name + count.getAndIncrement() : name);
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+
+	/**
+	 * @return a timer shared by clients, and endpoints without a {@link SessionTimerProducer}, that are not given one.
+	 *         It is never closed.
+	 */
+	public static SessionTimer common() {
+		return Common.INSTANCE;
+	}
+
+
+	// --- Inner Classes ---
+
+	/**
+	 * A slot on the wheel.
+	 */
+	private static class Bucket implements Runnable {
+		private final Map<Session, Runnable> sessions = new ConcurrentHashMap<>();
+		private final AtomicBoolean running = new AtomicBoolean();
+		private final int index;
+
+		Bucket(int index) {
+			this.index = index;
+		}
+
+		@Override
+		public void run() {
+			try {
+				for (var entry : this.sessions.entrySet()) {
+					var session = entry.getKey();
+					try {
+						session.next();
+						entry.getValue().run();
+					} catch (IOException | RuntimeException e) {  // don't let one session starve the rest
+						session.getLog().onErrorEvent("Error in session timer processing: " + e);
+					}
+				}
+			} finally {
+				this.running.set(false);
+			}
+		}
+	}
+
+	/**
+	 * Lazy holder for {@link #common()}.
+	 */
+	private static class Common {
+		private static final SessionTimer INSTANCE = new SessionTimer(DEFAULT_WHEEL_SIZE, 1);
+	}
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2026 Daniel Siviter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.dansiviter.fixws;
+
+import static uk.dansiviter.fixws.SessionTimer.DEFAULT_THREADS;
+import static uk.dansiviter.fixws.SessionTimer.DEFAULT_WHEEL_SIZE;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.inject.Disposes;
+import javax.enterprise.inject.Produces;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import quickfix.ConfigError;
+import quickfix.FieldConvertError;
+import quickfix.SessionSettings;
+
+/**
+ * Produces the {@link SessionTimer} shared by all endpoints. The number of threads may be set with
+ * {@link #SESSION_TIMER_THREADS} in the default section of the session settings.
+ *
+ * @author Daniel Siviter
+ * @since v1.0 [19 Oct 2026]
+ */
+@ApplicationScoped
+public class SessionTimerProducer {
+	public static final String SESSION_TIMER_THREADS = "SessionTimerThreads";
+
+	@Inject
+	private SessionSettings sessionSettings;
+
+	@Produces @Singleton
+	public SessionTimer sessionTimer() throws ConfigError, FieldConvertError {
+		var threads = this.sessionSettings.isSetting(SESSION_TIMER_THREADS)
+				? (int) this.sessionSettings.getLong(SESSION_TIMER_THREADS)
+				: DEFAULT_THREADS;
+		return new SessionTimer(DEFAULT_WHEEL_SIZE, threads);
+	}
+
+	public void close(@Disposes SessionTimer timer) {
+		timer.close();
+	}
+}
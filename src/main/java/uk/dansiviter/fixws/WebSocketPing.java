@@ -0,0 +1,135 @@
+/*
+ * Copyright 2026 Daniel Siviter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.dansiviter.fixws;
+
+import static java.util.Objects.requireNonNull;
+import static javax.websocket.CloseReason.CloseCodes.GOING_AWAY;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+
+import javax.annotation.Nonnull;
+import javax.websocket.CloseReason;
+import javax.websocket.MessageHandler;
+import javax.websocket.PongMessage;
+import javax.websocket.Session;
+
+import quickfix.ConfigError;
+import quickfix.FieldConvertError;
+import quickfix.SessionID;
+import quickfix.SessionSettings;
+import uk.dansiviter.juli.LogProducer;
+
+/**
+ * Checks transport liveness with WebSocket ping/pong control frames. Pongs are answered by the peer's WebSocket
+ * implementation (including browsers) without reaching the application, so an idle connection costs no FIX parsing,
+ * validation, store writes or sequence numbers. This allows the FIX {@code HeartBtInt} to be negotiated much longer
+ * while a dead connection is still detected quickly.
+ * <p>
+ * Each {@link #run()} sends a ping once the interval has elapsed; if {@link #MISSED_PONGS} consecutive pings
+ * go unanswered the connection is closed, which disconnects the FIX session as usual. Intended to be
+ * run by the {@link SessionTimer}.
+ *
+ * @author Daniel Siviter
+ * @since v1.0 [19 Oct 2026]
+ */
+public class WebSocketPing implements Runnable, MessageHandler.Whole<PongMessage> {
+	/** Ping interval in seconds. Disabled if absent or zero. */
+	public static final String WEBSOCKET_PING_INTERVAL = "WebSocketPingInterval";
+	public static final int MISSED_PONGS = 2;
+
+	private final Log log = LogProducer.log(Log.class);
+	private final Session session;
+	private final long intervalNanos;
+
+	private volatile boolean pong = true;
+	private long lastPing;
+	private int missed;
+
+	/**
+	 * Registers itself as the pong handler on the session.
+	 *
+	 * @param session the WebSocket session.
+	 * @param interval the ping interval.
+	 */
+	public WebSocketPing(@Nonnull Session session, @Nonnull Duration interval) {
+		this.session = requireNonNull(session);
+		this.intervalNanos = interval.toNanos();
+		this.lastPing = System.nanoTime();
+		session.addMessageHandler(PongMessage.class, this);
+	}
+
+	@Override
+	public void run() {
+		var now = System.nanoTime();
+		if (now - this.lastPing < this.intervalNanos || !this.session.isOpen()) {
+			return;
+		}
+		try {
+			this.missed = this.pong ? 0 : this.missed + 1;
+			if (this.missed >= MISSED_PONGS) {
+				this.log.pingTimeout(this.session.getId());
+				this.session.close(new CloseReason(GOING_AWAY, "Ping timeout"));
+				return;
+			}
+			this.pong = false;
+			this.lastPing = now;
+			this.session.getBasicRemote().sendPing(ByteBuffer.allocate(0));
+		} catch (IOException | IllegalStateException e) {
+			this.log.ping(this.session.getId(), e);
+		}
+	}
+
+	@Override
+	public void onMessage(PongMessage message) {
+		this.pong = true;
+	}
+
+
+	// --- Static Methods ---
+
+	/**
+	 * @param settings the session settings.
+	 * @return the ping interval from the default section, or {@link Duration#ZERO} if disabled.
+	 * @throws ConfigError if the setting is invalid.
+	 */
+	public static Duration interval(@Nonnull SessionSettings settings) throws ConfigError {
+		try {
+			return settings.isSetting(WEBSOCKET_PING_INTERVAL)
+					? Duration.ofSeconds(settings.getLong(WEBSOCKET_PING_INTERVAL))
+					: Duration.ZERO;
+		} catch (FieldConvertError e) {
+			throw new ConfigError(e);
+		}
+	}
+
+	/**
+	 * @param settings the session settings.
+	 * @param sessionId the session, which must be defined in the settings.
+	 * @return the ping interval, or {@link Duration#ZERO} if disabled.
+	 * @throws ConfigError if the setting is invalid.
+	 */
+	public static Duration interval(@Nonnull SessionSettings settings, @Nonnull SessionID sessionId) throws ConfigError {
+		try {
+			return settings.isSetting(sessionId, WEBSOCKET_PING_INTERVAL)
+					? Duration.ofSeconds(settings.getLong(sessionId, WEBSOCKET_PING_INTERVAL))
+					: Duration.ZERO;
+		} catch (FieldConvertError e) {
+			throw new ConfigError(e);
+		}
+	}
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright 2026 Daniel Siviter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.dansiviter.fixws;
+
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Nonnull;
+
+import quickfix.SessionID;
+
+/**
+ * Records every inbound and outbound FIX message, with a monotonic nanosecond timestamp, to a memory-mapped file for
+ * offline latency analysis. Use {@link WireJournalReader} to read it back.
+ * <p>
+ * The file is a {@link #MAGIC} header followed by little-endian records, each starting with a type byte:
+ * <ul>
+ * <li>{@link #CONNECTION}/{@link #SESSION}: {@code int id, short length, byte[] ascii}; defines an id used by later
+ * message records,</li>
+ * <li>{@link #INBOUND}/{@link #OUTBOUND}: {@code long nanos, int connectionId, int sessionId, int length, byte[] utf8}.
+ * </li>
+ * </ul>
+ * The header carries the wall clock time and {@link System#nanoTime()} at creation so timestamps can be related to
+ * other logs. A record's type byte is written last and the unwritten remainder of the file is zero, so the journal of a
+ * process that is still running, or crashed, can be read up to the last complete record.
+ *
+ * @author Daniel Siviter
+ * @since v1.0 [19 Oct 2026]
+ */
+public class WireJournal implements Closeable {
+	public static final long MAGIC = 0x4649_584A_524E_4C31L;  // FIXJRNL1
+	public static final int HEADER_LENGTH = 24;
+	public static final byte CONNECTION = 1;
+	public static final byte SESSION = 2;
+	public static final byte INBOUND = 3;
+	public static final byte OUTBOUND = 4;
+	public static final int DEFAULT_REGION_SIZE = 64 * 1024 * 1024;
+
+	private static final int MESSAGE_OVERHEAD = 1 + Long.BYTES + Integer.BYTES * 3;
+
+	private final Map<String, Integer> connections = new ConcurrentHashMap<>();
+	private final Map<SessionID, Integer> sessions = new ConcurrentHashMap<>();
+	private int nextConnection;
+	private int nextSession;
+	private final FileChannel channel;
+	private final int regionSize;
+
+	private MappedByteBuffer region;
+	private long regionStart;
+	private boolean closed;
+
+	/**
+	 * @param file the journal file. Any existing content is replaced.
+	 * @throws IOException if the file cannot be opened.
+	 */
+	public WireJournal(@Nonnull Path file) throws IOException {
+		this(file, DEFAULT_REGION_SIZE);
+	}
+
+	/**
+	 * @param file the journal file. Any existing content is replaced.
+	 * @param regionSize the size of each mapped region of the file.
+	 * @throws IOException if the file cannot be opened.
+	 */
+	public WireJournal(@Nonnull Path file, int regionSize) throws IOException {
+		this.channel = FileChannel.open(file, CREATE, TRUNCATE_EXISTING, READ, WRITE);
+		this.regionSize = regionSize;
+		map(0);
+		this.region.putLong(MAGIC).putLong(System.currentTimeMillis()).putLong(System.nanoTime());
+	}
+
+	/**
+	 * @param nanos the {@link System#nanoTime()} the frame was received.
+	 * @param connectionId the WebSocket session identifier.
+	 * @param sessionId the FIX session.
+	 * @param msg the message as received.
+	 */
+	public void inbound(long nanos, @Nonnull String connectionId, @Nonnull SessionID sessionId, @Nonnull String msg) {
+		write(INBOUND, nanos, connectionId, sessionId, msg);
+	}
+
+	/**
+	 * @param nanos the {@link System#nanoTime()} the frame was handed to the WebSocket.
+	 * @param connectionId the WebSocket session identifier.
+	 * @param sessionId the FIX session.
+	 * @param msg the message as sent.
+	 */
+	public void outbound(long nanos, @Nonnull String connectionId, @Nonnull SessionID sessionId, @Nonnull String msg) {
+		write(OUTBOUND, nanos, connectionId, sessionId, msg);
+	}
+
+	private void write(byte type, long nanos, String connectionId, SessionID sessionId, String msg) {
+		var bytes = ascii(msg) ? null : msg.getBytes(UTF_8);  // only copy the rare message that isn't ASCII
+		var length = bytes != null ? bytes.length : msg.length();
+		var connection = this.connections.get(connectionId);
+		var session = this.sessions.get(sessionId);
+		synchronized (this) {
+			if (this.closed) {
+				return;
+			}
+			if (connection == null) {
+				connection = this.connections.get(connectionId);
+				if (connection == null) {
+					connection = define(CONNECTION, this.nextConnection++, connectionId);
+					this.connections.put(connectionId, connection);
+				}
+			}
+			if (session == null) {
+				session = this.sessions.get(sessionId);
+				if (session == null) {
+					session = define(SESSION, this.nextSession++, sessionId.toString());
+					this.sessions.put(sessionId, session);
+				}
+			}
+			ensure(MESSAGE_OVERHEAD + length);
+			var start = this.region.position();
+			this.region.position(start + 1)
+					.putLong(nanos)
+					.putInt(connection)
+					.putInt(session)
+					.putInt(length);
+			if (bytes != null) {
+				this.region.put(bytes);
+			} else {
+				for (int i = 0; i < length; i++) {
+					this.region.put((byte) msg.charAt(i));
+				}
+			}
+			this.region.put(start, type);  // publish
+		}
+	}
+
+	/**
+	 * Forgets the connection so the identifiers of closed connections are not retained. Any later record for it
+	 * defines it again.
+	 *
+	 * @param connectionId the WebSocket session identifier.
+	 */
+	public void closed(@Nonnull String connectionId) {
+		this.connections.remove(connectionId);
+	}
+
+	private int define(byte type, int id, String value) {
+		var bytes = value.getBytes(US_ASCII);
+		ensure(1 + Integer.BYTES + Short.BYTES + bytes.length);
+		var start = this.region.position();
+		this.region.position(start + 1);
+		this.region.putInt(id).putShort((short) bytes.length).put(bytes);
+		this.region.put(start, type);  // publish
+		return id;
+	}
+
+	private void ensure(int length) {
+		if (length > this.regionSize) {
+			throw new IllegalArgumentException("Record larger than region! [" + length + "]");
+		}
+		if (this.region.remaining() < length) {
+			map(this.regionStart + this.region.position());
+		}
+	}
+
+	private void map(long position) {
+		try {
+			this.region = this.channel.map(READ_WRITE, position, this.regionSize);
+			this.region.order(LITTLE_ENDIAN);
+			this.regionStart = position;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Forces written records to the storage device.
+	 */
+	public synchronized void force() {
+		this.region.force();
+	}
+
+	/**
+	 * Flushes and truncates the file to the records written.
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		if (this.closed) {
+			return;
+		}
+		this.closed = true;
+		this.region.force();
+		this.channel.truncate(this.regionStart + this.region.position());
+		this.channel.close();
+	}
+
+
+	// --- Static Methods ---
+
+	private static boolean ascii(String msg) {
+		for (int i = 0; i < msg.length(); i++) {
+			if (msg.charAt(i) >= 0x80) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2026 Daniel Siviter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.dansiviter.fixws;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.Dependent;
+import javax.enterprise.inject.Produces;
+import javax.inject.Inject;
+
+import quickfix.ConfigError;
+import quickfix.FieldConvertError;
+import quickfix.SessionSettings;
+
+/**
+ * Produces the {@link WireJournal}. Wire capture is only enabled if the {@link #WIRE_JOURNAL_FILE} setting is in the
+ * default section of the session settings; otherwise the journal is {@code null}.
+ *
+ * @author Daniel Siviter
+ * @since v1.0 [19 Oct 2026]
+ */
+@ApplicationScoped
+public class WireJournalProducer {
+	public static final String WIRE_JOURNAL_FILE = "WireJournalFile";
+
+	@Inject
+	private SessionSettings sessionSettings;
+
+	/** Shared by every injection point, so {@link Dependent} only to permit {@code null}. */
+	private WireJournal journal;
+
+	@Produces @Dependent
+	public synchronized WireJournal wireJournal() throws ConfigError, FieldConvertError, IOException {
+		if (this.journal == null && this.sessionSettings.isSetting(WIRE_JOURNAL_FILE)) {
+			this.journal = new WireJournal(Paths.get(this.sessionSettings.getString(WIRE_JOURNAL_FILE)));
+		}
+		return this.journal;
+	}
+
+	@PreDestroy
+	synchronized void close() throws IOException {
+		if (this.journal != null) {
+			this.journal.close();
+		}
+	}
+}
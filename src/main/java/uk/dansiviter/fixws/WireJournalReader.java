@@ -0,0 +1,334 @@
+/*
+ * Copyright 2026 Daniel Siviter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.dansiviter.fixws;
+
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.READ;
+import static uk.dansiviter.fixws.WireJournal.CONNECTION;
+import static uk.dansiviter.fixws.WireJournal.HEADER_LENGTH;
+import static uk.dansiviter.fixws.WireJournal.INBOUND;
+import static uk.dansiviter.fixws.WireJournal.MAGIC;
+import static uk.dansiviter.fixws.WireJournal.OUTBOUND;
+import static uk.dansiviter.fixws.WireJournal.SESSION;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Reads a {@link WireJournal} file and produces per-session latency and inter-arrival reports. Can be run from the
+ * command line:
+ *
+ * <pre>
+ * java -cp ... uk.dansiviter.fixws.WireJournalReader journal.bin
+ * </pre>
+ *
+ * @author Daniel Siviter
+ * @since v1.0 [19 Oct 2026]
+ */
+public class WireJournalReader {
+	private static final int WINDOW_SIZE = 256 * 1024 * 1024;
+
+	private final FileChannel channel;
+	private final long size;
+	private final long wallClockMillis;
+	private final long nanoTimeOrigin;
+	private final List<String> connections = new ArrayList<>();
+	private final List<String> sessions = new ArrayList<>();
+
+	private MappedByteBuffer window;
+	private long windowStart;
+
+	private WireJournalReader(FileChannel channel) throws IOException {
+		this.channel = channel;
+		this.size = channel.size();
+		map(0);
+		ensure(HEADER_LENGTH);
+		if (this.window.getLong() != MAGIC) {
+			throw new IOException("Not a wire journal!");
+		}
+		this.wallClockMillis = this.window.getLong();
+		this.nanoTimeOrigin = this.window.getLong();
+	}
+
+	private void read(Consumer<Record> consumer) throws IOException {
+		while (position() < this.size) {
+			ensure(1);
+			var type = this.window.get();
+			switch (type) {
+			case 0:  // unwritten remainder of a journal that wasn't closed
+				return;
+			case CONNECTION:
+				this.connections.add(readDefinition());
+				break;
+			case SESSION:
+				this.sessions.add(readDefinition());
+				break;
+			case INBOUND:
+			case OUTBOUND:
+				ensure(Long.BYTES + Integer.BYTES * 3);
+				var nanos = this.window.getLong();
+				var connection = this.connections.get(this.window.getInt());
+				var session = this.sessions.get(this.window.getInt());
+				var bytes = new byte[this.window.getInt()];
+				ensure(bytes.length);
+				this.window.get(bytes);
+				consumer.accept(new Record(type == INBOUND, nanos - this.nanoTimeOrigin, connection, session,
+						new String(bytes, UTF_8)));
+				break;
+			default:
+				throw new IOException("Unknown record type! [type=" + type + ",position=" + (position() - 1) + "]");
+			}
+		}
+	}
+
+	private String readDefinition() throws IOException {
+		ensure(Integer.BYTES + Short.BYTES);
+		this.window.getInt();  // ids are sequential
+		var bytes = new byte[this.window.getShort()];
+		ensure(bytes.length);
+		this.window.get(bytes);
+		return new String(bytes, US_ASCII);
+	}
+
+	private long position() {
+		return this.windowStart + this.window.position();
+	}
+
+	private void ensure(int length) throws IOException {
+		if (this.window.remaining() < length) {
+			if (position() + length > this.size) {
+				throw new IOException("Truncated journal! [position=" + position() + "]");
+			}
+			map(position());
+		}
+	}
+
+	private void map(long position) throws IOException {
+		this.window = this.channel.map(READ_ONLY, position, Math.min(WINDOW_SIZE, this.size - position));
+		this.window.order(LITTLE_ENDIAN);
+		this.windowStart = position;
+	}
+
+
+	// --- Static Methods ---
+
+	/**
+	 * @param file the journal file.
+	 * @param consumer receives every message record in the order written.
+	 * @return the wall clock time (epoch millis) the journal was created; record timestamps are relative to this.
+	 * @throws IOException if the file cannot be read.
+	 */
+	public static long read(@Nonnull Path file, @Nonnull Consumer<Record> consumer) throws IOException {
+		try (var channel = FileChannel.open(file, READ)) {
+			var reader = new WireJournalReader(channel);
+			reader.read(consumer);
+			return reader.wallClockMillis;
+		}
+	}
+
+	/**
+	 * @param file the journal file.
+	 * @return a report per FIX session, ordered by session.
+	 * @throws IOException if the file cannot be read.
+	 */
+	public static Map<String, Report> report(@Nonnull Path file) throws IOException {
+		var reports = new TreeMap<String, Report>();
+		read(file, r -> reports.computeIfAbsent(r.session(), Report::new).add(r));
+		return reports;
+	}
+
+	public static void main(String[] args) throws IOException {
+		if (args.length != 1) {
+			System.err.println("Usage: WireJournalReader <file>");
+			System.exit(1);
+		}
+		for (var report : report(Paths.get(args[0])).values()) {
+			report.print(System.out);
+		}
+	}
+
+
+	// --- Inner Classes ---
+
+	/**
+	 * A single message record.
+	 */
+	public static final class Record {
+		private final boolean inbound;
+		private final long nanos;
+		private final String connection;
+		private final String session;
+		private final String message;
+
+		Record(boolean inbound, long nanos, String connection, String session, String message) {
+			this.inbound = inbound;
+			this.nanos = nanos;
+			this.connection = connection;
+			this.session = session;
+			this.message = message;
+		}
+
+		public boolean inbound() {
+			return inbound;
+		}
+
+		/**
+		 * @return nanoseconds since the journal was created.
+		 */
+		public long nanos() {
+			return nanos;
+		}
+
+		public String connection() {
+			return connection;
+		}
+
+		public String session() {
+			return session;
+		}
+
+		public String message() {
+			return message;
+		}
+	}
+
+	/**
+	 * Latency statistics for a single FIX session. Inter-arrival is the time between consecutive inbound messages;
+	 * response latency is the time from an inbound message to the next outbound message on the same session.
+	 */
+	public static final class Report {
+		private final String session;
+		private final Samples interArrival = new Samples();
+		private final Samples response = new Samples();
+		private long inbound;
+		private long outbound;
+		private long lastInbound = Long.MIN_VALUE;
+		private boolean awaitingResponse;
+
+		Report(String session) {
+			this.session = session;
+		}
+
+		void add(Record r) {
+			if (r.inbound()) {
+				this.inbound++;
+				if (this.lastInbound != Long.MIN_VALUE) {
+					this.interArrival.add(r.nanos() - this.lastInbound);
+				}
+				this.lastInbound = r.nanos();
+				this.awaitingResponse = true;
+			} else {
+				this.outbound++;
+				if (this.awaitingResponse) {
+					this.response.add(r.nanos() - this.lastInbound);
+					this.awaitingResponse = false;
+				}
+			}
+		}
+
+		public String session() {
+			return session;
+		}
+
+		public long inbound() {
+			return inbound;
+		}
+
+		public long outbound() {
+			return outbound;
+		}
+
+		/**
+		 * @return sorted inter-arrival times in nanoseconds.
+		 */
+		public long[] interArrival() {
+			return this.interArrival.sorted();
+		}
+
+		/**
+		 * @return sorted response latencies in nanoseconds.
+		 */
+		public long[] response() {
+			return this.response.sorted();
+		}
+
+		public void print(PrintStream out) {
+			out.printf("%s [in=%d,out=%d]%n", this.session, this.inbound, this.outbound);
+			print(out, "inter-arrival", interArrival());
+			print(out, "response", response());
+		}
+
+		private static void print(PrintStream out, String name, long[] sorted) {
+			if (sorted.length == 0) {
+				out.printf("  %-13s n=0%n", name);
+				return;
+			}
+			out.printf("  %-13s n=%d min=%.1f p50=%.1f p99=%.1f p99.9=%.1f max=%.1f (us)%n", name, sorted.length,
+					micros(sorted[0]), micros(percentile(sorted, 50)), micros(percentile(sorted, 99)),
+					micros(percentile(sorted, 99.9)), micros(sorted[sorted.length - 1]));
+		}
+
+		private static double micros(long nanos) {
+			return nanos / 1_000d;
+		}
+
+		/**
+		 * @param sorted the sorted samples.
+		 * @param percentile the percentile, 0-100.
+		 * @return the nearest-rank percentile.
+		 */
+		public static long percentile(long[] sorted, double percentile) {
+			var rank = (int) Math.ceil(percentile / 100 * sorted.length);
+			return sorted[Math.max(0, Math.min(sorted.length, rank) - 1)];
+		}
+	}
+
+	/**
+	 * Growable primitive sample buffer.
+	 */
+	private static final class Samples {
+		private long[] values = new long[64];
+		private int size;
+
+		void add(long value) {
+			if (this.size == this.values.length) {
+				this.values = Arrays.copyOf(this.values, this.size * 2);
+			}
+			this.values[this.size++] = value;
+		}
+
+		long[] sorted() {
+			var sorted = Arrays.copyOf(this.values, this.size);
+			Arrays.sort(sorted);
+			return sorted;
+		}
+	}
+}
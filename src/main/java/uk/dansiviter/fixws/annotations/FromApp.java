@@ -28,6 +28,9 @@ import javax.enterprise.util.AnnotationLiteral;
 import javax.inject.Qualifier;
 
 /**
+ * Qualifies inbound application messages. If {@link uk.dansiviter.fixws.MessagePool#INBOUND_MESSAGE_POOL} is enabled
+ * the message is recycled once synchronous observers return, so they must clone it if it's retained.
+ *
  * @author Daniel Siviter
  * @since v1.0 [13 Nov 2019]
  */
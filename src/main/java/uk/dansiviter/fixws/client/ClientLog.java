@@ -15,17 +15,22 @@
  */
 package uk.dansiviter.fixws.client;
 
-import static uk.dansiviter.juli.annotations.Message.Level.ERROR;
 import static uk.dansiviter.juli.annotations.Message.Level.WARN;
 
-import quickfix.SessionID;
-import quickfix.SessionNotFound;
+import java.io.IOException;
+
 import uk.dansiviter.fixws.FixLog;
 import uk.dansiviter.juli.annotations.Log;
 import uk.dansiviter.juli.annotations.Message;
 
 @Log
 public interface ClientLog extends FixLog {
+	@Message(value = "Unable to send! [{0}]", level = WARN)
+	void send(String id, IOException e);
+
+	@Message(value = "Unable to close! [{0}]", level = WARN)
+	void close(String id, IOException e);
+
 	@Message("Open. [id={0}]")
 	void onOpen(String id);
 
@@ -34,7 +39,4 @@ public interface ClientLog extends FixLog {
 
 	@Message(value = "Error! [id={0}]", level = WARN)
 	void onError(String id, Throwable cause);
-
-	@Message(value = "Session not found! [id={0}]", level = ERROR)
-	void sessionNotFound(SessionID id, SessionNotFound e);
 }
@@ -18,7 +18,10 @@ package uk.dansiviter.fixws.client;
 import static java.lang.String.format;
 import static java.util.Objects.requireNonNull;
 import static quickfix.Initiator.SETTING_DYNAMIC_SESSION;
-import static quickfix.Session.sendToTarget;
+import static quickfix.SessionSettings.BEGINSTRING;
+import static quickfix.SessionSettings.SENDERCOMPID;
+import static quickfix.SessionSettings.TARGETCOMPID;
+import static uk.dansiviter.fixws.FixConfigurator.HEADER_PREFIX;
 import static uk.dansiviter.juli.LogProducer.log;
 
 import java.io.Closeable;
@@ -27,17 +30,27 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
+import javax.websocket.ClientEndpointConfig;
 import javax.websocket.CloseReason;
 import javax.websocket.DeploymentException;
 import javax.websocket.Endpoint;
 import javax.websocket.EndpointConfig;
+import javax.websocket.SendResult;
 import javax.websocket.Session;
 import javax.websocket.WebSocketContainer;
 
+import quickfix.Application;
 import quickfix.ApplicationAdapter;
+import quickfix.ApplicationExtended;
 import quickfix.ConfigError;
 import quickfix.DefaultSessionFactory;
+import quickfix.DoNotSend;
 import quickfix.FieldConvertError;
 import quickfix.FieldNotFound;
 import quickfix.FileStoreFactory;
@@ -53,12 +66,17 @@ import quickfix.Responder;
 import quickfix.RuntimeError;
 import quickfix.SessionFactory;
 import quickfix.SessionID;
-import quickfix.SessionNotFound;
 import quickfix.SessionSettings;
 import quickfix.UnsupportedMessageType;
 import quickfix.field.ApplVerID;
 import quickfix.field.DefaultApplVerID;
 import quickfix.field.MsgType;
+import uk.dansiviter.fixws.BinaryFrames;
+import uk.dansiviter.fixws.Codec;
+import uk.dansiviter.fixws.Correlator;
+import uk.dansiviter.fixws.FixUtil;
+import uk.dansiviter.fixws.SessionTimer;
+import uk.dansiviter.fixws.WebSocketPing;
 import uk.dansiviter.juli.LogProducer;
 
 /**
@@ -67,6 +85,9 @@ import uk.dansiviter.juli.LogProducer;
  * @see quickfix.mina.initiator.InitiatorIoHandler
  */
 public abstract class FixClient extends ApplicationAdapter implements Closeable {
+	/** The WebSocket subprotocol to request, e.g. {@code fix50-binary}, in the session section. */
+	public static final String WEBSOCKET_SUBPROTOCOL = "WebSocketSubprotocol";
+
 	private final ClientLog log = LogProducer.log(ClientLog.class);
 
 	private final WebSocketContainer container;
@@ -75,21 +96,97 @@ public abstract class FixClient extends ApplicationAdapter implements Closeable
 	private final MessageStoreFactory storeFactory;
 	private final LogFactory logFactory;
 	private final SessionFactory sessionFactory;
+	private final SessionTimer timer;
+	/** The initiator session to start, or {@code null} if the only one. */
+	private final SessionID sessionId;
+	private final Correlator correlator = new Correlator();
 
 	private Session session;
 	private quickfix.Session qfSession;
+	private Codec codec;
 
 	public FixClient(WebSocketContainer container, URI uri, File fixSettings) throws IOException, ConfigError {
 		this(container, uri, new FileInputStream(fixSettings));
 	}
 
 	public FixClient(WebSocketContainer container, URI uri, InputStream fixSettings) throws ConfigError {
+		this(container, uri, new SessionSettings(fixSettings));
+	}
+
+	public FixClient(WebSocketContainer container, URI uri, SessionSettings settings) {
+		this(container, uri, settings, new FileStoreFactory(requireNonNull(settings)));
+	}
+
+	/**
+	 *
+	 * @param container the WebSocket container, may be shared between clients.
+	 * @param uri the server endpoint.
+	 * @param settings the settings with a single initiator session.
+	 * @param storeFactory the message store factory.
+	 */
+	public FixClient(WebSocketContainer container, URI uri, SessionSettings settings, MessageStoreFactory storeFactory) {
+		this(container, uri, settings, storeFactory, SessionTimer.common());
+	}
+
+	/**
+	 *
+	 * @param container the WebSocket container, may be shared between clients.
+	 * @param uri the server endpoint.
+	 * @param settings the settings with a single initiator session.
+	 * @param storeFactory the message store factory.
+	 * @param timer drives heartbeats and timeouts, may be shared between clients.
+	 */
+	public FixClient(
+			WebSocketContainer container,
+			URI uri,
+			SessionSettings settings,
+			MessageStoreFactory storeFactory,
+			SessionTimer timer)
+	{
+		this(container, uri, settings, storeFactory, logFactory(), timer);
+	}
+
+	/**
+	 *
+	 * @param container the WebSocket container, may be shared between clients.
+	 * @param uri the server endpoint.
+	 * @param settings the settings with a single initiator session.
+	 * @param storeFactory the message store factory.
+	 * @param logFactory the session log factory.
+	 * @param timer drives heartbeats and timeouts, may be shared between clients.
+	 */
+	public FixClient(
+			WebSocketContainer container,
+			URI uri,
+			SessionSettings settings,
+			MessageStoreFactory storeFactory,
+			LogFactory logFactory,
+			SessionTimer timer)
+	{
+		this(container, uri, settings, storeFactory, logFactory, timer, null);
+	}
+
+	/**
+	 * @param sessionId the initiator session to start, or {@code null} if the only one.
+	 * @see FixClients
+	 */
+	FixClient(
+			WebSocketContainer container,
+			URI uri,
+			SessionSettings settings,
+			MessageStoreFactory storeFactory,
+			LogFactory logFactory,
+			SessionTimer timer,
+			SessionID sessionId)
+	{
 		this.container = requireNonNull(container);
 		this.uri = requireNonNull(uri);
-		this.settings = new SessionSettings(fixSettings);
-		this.storeFactory = new FileStoreFactory(requireNonNull(settings));
-		this.logFactory = id -> log(ClientLog.class, "client.quickfix:" + id.toString());
-		this.sessionFactory = new DefaultSessionFactory(this, requireNonNull(storeFactory), requireNonNull(logFactory));
+		this.settings = requireNonNull(settings);
+		this.storeFactory = requireNonNull(storeFactory);
+		this.logFactory = requireNonNull(logFactory);
+		this.sessionFactory = new DefaultSessionFactory(new CorrelatingApplication(), storeFactory, logFactory);
+		this.timer = requireNonNull(timer);
+		this.sessionId = sessionId;
 	}
 
 	/**
@@ -103,7 +200,8 @@ public abstract class FixClient extends ApplicationAdapter implements Closeable
 	public void start() throws RuntimeError, ConfigError, FieldConvertError, DeploymentException, IOException {
 		for (var i = settings.sectionIterator(); i.hasNext();) {
 			var sessionId = i.next();
-			if (isInitiatorSession(this.settings, sessionId)) {
+			if ((this.sessionId == null || this.sessionId.equals(sessionId))
+					&& isInitiatorSession(this.settings, sessionId)) {
 				if (this.qfSession != null) {
 					throw new ConfigError("More than one initiator session!");
 				}
@@ -118,9 +216,23 @@ public abstract class FixClient extends ApplicationAdapter implements Closeable
 			}
 		}
 
-		this.session = container.connectToServer(new EndpointImpl(), this.uri);
-		this.qfSession.setResponder(new WsResponder(this.session));
+		if (this.qfSession == null) {
+			throw new ConfigError("No initiator session! [" + this.sessionId + "]");
+		}
+		var sessionId = this.qfSession.getSessionID();
+		var subprotocol = this.settings.isSetting(sessionId, WEBSOCKET_SUBPROTOCOL)
+				? this.settings.getString(sessionId, WEBSOCKET_SUBPROTOCOL)
+				: null;
+		this.session = container.connectToServer(new EndpointImpl(), config(sessionId, subprotocol), this.uri);
+		var frames = BinaryFrames.enabled(this.settings, sessionId) ? BinaryFrames.common() : null;
+		this.qfSession.setResponder(new WsResponder(this.session, frames, this.codec));
 		this.qfSession.next();  // logon
+		var pingInterval = WebSocketPing.interval(this.settings, this.qfSession.getSessionID());
+		if (pingInterval.isZero()) {
+			this.timer.register(this.qfSession);
+		} else {
+			this.timer.register(this.qfSession, new WebSocketPing(this.session, pingInterval));
+		}
 	}
 
 	/**
@@ -128,26 +240,71 @@ public abstract class FixClient extends ApplicationAdapter implements Closeable
 	 * @param msg
 	 */
 	public void send(Message msg) {
-		var id = this.qfSession.getSessionID();
-		try {
-			sendToTarget(msg, id);
-		} catch (SessionNotFound e) {
-			this.log.sessionNotFound(id, e);
+		this.qfSession.send(msg);  // bound, so no need for the session registry
+	}
+
+	/**
+	 * Sends the request and awaits the response correlated by its ID, e.g. the {@code ExecutionReport} for a
+	 * {@code NewOrderSingle}. The response is still given to {@link #fromApp(Message, SessionID)} first. Many requests
+	 * may be outstanding without blocking a thread each.
+	 *
+	 * @param request the request.
+	 * @param timeout the maximum time to wait for the response.
+	 * @return the future response, completed on {@link Correlator}'s executor, or exceptionally with
+	 * {@link java.util.concurrent.TimeoutException} if none arrives in time or {@link IllegalStateException} if it
+	 * could not be sent now.
+	 * @throws IllegalArgumentException if the request has no correlation key.
+	 * @see Correlator
+	 */
+	public CompletableFuture<Message> sendAndAwait(Message request, Duration timeout) {
+		var future = this.correlator.register(request, timeout);
+		if (!this.qfSession.send(request)) {
+			future.completeExceptionally(new IllegalStateException("Unable to send! [" + FixUtil.msgType(request) + "]"));
 		}
+		return future;
 	}
 
+	/**
+	 * Closes the session and connection, including those of a client that failed to start.
+	 */
 	@Override
 	public void close() throws IOException {
-		this.qfSession.close();
-		this.session.close();
+		var qfSession = this.qfSession;
+		var session = this.session;
 		this.qfSession = null;
 		this.session = null;
+		if (qfSession != null) {
+			this.timer.unregister(qfSession);
+			qfSession.close();
+		}
+		if (session != null) {
+			session.close();
+		}
+	}
+
+	private void processMessage(ByteBuffer message) {
+		var codec = this.codec;
+		if (codec == null) {
+			processMessage(BinaryFrames.decode(message));
+			return;
+		}
+		try {
+			processMessage(codec.decode(message));
+		} catch (InvalidMessage e) {
+			this.qfSession.getLog().onErrorEvent("Invalid frame: " + e.getMessage());
+		}
 	}
 
 	private void processMessage(String message) {
 		var qfSession = this.qfSession;
 		var sessionLog = qfSession.getLog();
+		var codec = this.codec;
 		try {
+			var decoded = codec != null ? codec.decode(message, (id, msgType) -> qfSession) : null;
+			if (decoded != null) {
+				processMessage(decoded);
+				return;
+			}
 			processMessage(MessageUtils.parse(qfSession, message));
 		} catch (InvalidMessage e) {
 			if (qfSession.isRejectGarbledMessage()) {
@@ -182,16 +339,108 @@ public abstract class FixClient extends ApplicationAdapter implements Closeable
 		}
 	}
 
-	private static boolean isInitiatorSession(SessionSettings settings, SessionID sessionId)
+	/**
+	 * Identifies the session during the handshake so the server can prepare it before the Logon arrives.
+	 *
+	 * @see uk.dansiviter.fixws.FixConfigurator
+	 */
+	private static ClientEndpointConfig config(SessionID sessionId, String subprotocol) {
+		var builder = ClientEndpointConfig.Builder.create();
+		if (subprotocol != null) {
+			builder.preferredSubprotocols(List.of(subprotocol));
+		}
+		return builder.configurator(new ClientEndpointConfig.Configurator() {
+			@Override
+			public void beforeRequest(Map<String, List<String>> headers) {
+				headers.put(HEADER_PREFIX + BEGINSTRING, List.of(sessionId.getBeginString()));
+				headers.put(HEADER_PREFIX + SENDERCOMPID, List.of(sessionId.getSenderCompID()));
+				headers.put(HEADER_PREFIX + TARGETCOMPID, List.of(sessionId.getTargetCompID()));
+			}
+		}).build();
+	}
+
+	/**
+	 * @return the default log factory, logging via {@link ClientLog}.
+	 */
+	static LogFactory logFactory() {
+		return id -> log(ClientLog.class, "client.quickfix:" + id.toString());
+	}
+
+	static boolean isInitiatorSession(SessionSettings settings, SessionID sessionId)
 			throws ConfigError, FieldConvertError {
 		return !settings.isSetting(sessionId, SessionFactory.SETTING_CONNECTION_TYPE)
 				|| settings.getString(sessionId, SessionFactory.SETTING_CONNECTION_TYPE).equals("initiator");
 	}
 
+	/**
+	 * Completes outstanding requests once the subclass has processed the response, including those QuickFIX/J queued
+	 * until a gap was filled.
+	 */
+	private class CorrelatingApplication implements ApplicationExtended {
+		private final Application delegate = FixClient.this;
+
+		@Override
+		public void onCreate(SessionID sessionId) {
+			this.delegate.onCreate(sessionId);
+		}
+
+		@Override
+		public void onLogon(SessionID sessionId) {
+			this.delegate.onLogon(sessionId);
+		}
+
+		@Override
+		public void onLogout(SessionID sessionId) {
+			this.delegate.onLogout(sessionId);
+		}
+
+		@Override
+		public void toAdmin(Message message, SessionID sessionId) {
+			this.delegate.toAdmin(message, sessionId);
+		}
+
+		@Override
+		public void fromAdmin(Message message, SessionID sessionId)
+				throws FieldNotFound, IncorrectDataFormat, IncorrectTagValue, RejectLogon
+		{
+			this.delegate.fromAdmin(message, sessionId);
+		}
+
+		@Override
+		public void toApp(Message message, SessionID sessionId) throws DoNotSend {
+			this.delegate.toApp(message, sessionId);
+		}
+
+		@Override
+		public void fromApp(Message message, SessionID sessionId)
+				throws FieldNotFound, IncorrectDataFormat, IncorrectTagValue, UnsupportedMessageType
+		{
+			this.delegate.fromApp(message, sessionId);
+			if (!FixClient.this.correlator.isEmpty()) {
+				FixClient.this.correlator.correlate(message, false);
+			}
+		}
+
+		@Override
+		public boolean canLogon(SessionID sessionId) {
+			return !(this.delegate instanceof ApplicationExtended)
+					|| ((ApplicationExtended) this.delegate).canLogon(sessionId);
+		}
+
+		@Override
+		public void onBeforeSessionReset(SessionID sessionId) {
+			if (this.delegate instanceof ApplicationExtended) {
+				((ApplicationExtended) this.delegate).onBeforeSessionReset(sessionId);
+			}
+		}
+	}
+
 	private class EndpointImpl extends Endpoint {
 		@Override
 		public void onOpen(Session session, EndpointConfig config) {
+			FixClient.this.codec = Codec.of(session.getNegotiatedSubprotocol());
 			session.addMessageHandler(String.class, FixClient.this::processMessage);
+			session.addMessageHandler(ByteBuffer.class, FixClient.this::processMessage);
 		}
 
 		@Override
@@ -207,30 +456,65 @@ public abstract class FixClient extends ApplicationAdapter implements Closeable
 
 	private class WsResponder implements Responder {
 		private final Session session;
+		private final BinaryFrames.Sender sender;
+		private final Codec codec;
 
-		WsResponder(Session session) {
+		WsResponder(Session session, BinaryFrames frames, Codec codec) {
 			this.session = requireNonNull(session);
+			this.sender = frames != null ? frames.sender(session.getAsyncRemote()) : null;
+			this.codec = codec;
 		}
 
 		@Override
 		public boolean send(String data) {
 			try {
-				this.session.getBasicRemote().sendText(data);
+				if (this.codec != null) {
+					this.codec.send(this.session.getBasicRemote(), data, FixClient.this.qfSession);
+				} else if (this.sender != null) {
+					this.sender.send(data, this::written);
+				} else {
+					this.session.getBasicRemote().sendText(data);
+				}
 				return true;
 			} catch (IOException e) {
-				e.printStackTrace();
-				// log.send(session.getId(), e);
+				log.send(this.session.getId(), e);
+				if (this.sender != null && this.sender.stalled()) {
+					abort("Write timed out");
+				}
 				return false;
 			}
 		}
 
+		private void written(SendResult result) {
+			if (result.isOK()) {
+				return;
+			}
+			var e = result.getException();
+			log.send(this.session.getId(), e instanceof IOException ? (IOException) e : new IOException(e));
+			abort("Write failed");  // already reported as sent, so the session must not carry on
+		}
+
+		private void abort(String reason) {
+			var qfSession = FixClient.this.qfSession;
+			if (qfSession == null) {
+				return;
+			}
+			try {
+				qfSession.disconnect(reason, true);
+			} catch (IOException e) {
+				log.close(this.session.getId(), e);
+			}
+		}
+
 		@Override
 		public void disconnect() {
 			try {
+				if (this.sender != null) {
+					this.sender.flush();  // gives up if stalled, closing regardless
+				}
 				this.session.close();
 			} catch (IOException e) {
-				e.printStackTrace();
-				// log.close(session.getId(), e);
+				log.close(this.session.getId(), e);
 			}
 		}
 
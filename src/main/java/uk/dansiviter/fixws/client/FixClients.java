@@ -0,0 +1,364 @@
+/*
+ * Copyright 2026 Daniel Siviter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.dansiviter.fixws.client;
+
+import static java.util.Collections.unmodifiableCollection;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.MINUTES;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.websocket.DeploymentException;
+import javax.websocket.WebSocketContainer;
+
+import quickfix.Application;
+import quickfix.ApplicationExtended;
+import quickfix.ConfigError;
+import quickfix.DoNotSend;
+import quickfix.FieldConvertError;
+import quickfix.FieldNotFound;
+import quickfix.FileStoreFactory;
+import quickfix.IncorrectDataFormat;
+import quickfix.IncorrectTagValue;
+import quickfix.LogFactory;
+import quickfix.Message;
+import quickfix.MessageStoreFactory;
+import quickfix.RejectLogon;
+import quickfix.RuntimeError;
+import quickfix.SessionID;
+import quickfix.SessionSettings;
+import quickfix.UnsupportedMessageType;
+import uk.dansiviter.fixws.SessionTimer;
+
+/**
+ * Runs every initiator session in the settings, one connection each, in the manner of a QuickFIX/J
+ * {@link quickfix.Initiator}. The connections share the {@link WebSocketContainer}, and so its I/O threads if it
+ * shares them between connections, e.g. Tyrus with {@code ClientProperties.SHARED_CONTAINER}. They also share the
+ * message store, log factory and {@link SessionTimer}, and all call back to a single {@link Application}.
+ *
+ * <pre>
+ * var clients = new FixClients(container, uri, settings, application);
+ * clients.start();
+ * ...
+ * clients.client(sessionId).sendAndAwait(order, Duration.ofSeconds(5));
+ * </pre>
+ *
+ * @author Daniel Siviter
+ * @since v1.0 [19 Oct 2026]
+ */
+public class FixClients implements Closeable {
+	/** The most sessions connecting and logging on at once. */
+	private static final int MAX_STARTING = 16;
+
+	private final Map<SessionID, FixClient> clients = new ConcurrentHashMap<>();
+
+	private final WebSocketContainer container;
+	private final URI uri;
+	private final SessionSettings settings;
+	private final Application application;
+	private final MessageStoreFactory storeFactory;
+	private final LogFactory logFactory;
+	private final SessionTimer timer;
+
+	/**
+	 * @param container the WebSocket container.
+	 * @param uri the server endpoint.
+	 * @param settings the settings with any number of initiator sessions.
+	 * @param application called back for every session.
+	 */
+	public FixClients(WebSocketContainer container, URI uri, SessionSettings settings, Application application) {
+		this(container, uri, settings, application, new FileStoreFactory(requireNonNull(settings)),
+				FixClient.logFactory(), SessionTimer.common());
+	}
+
+	/**
+	 * @param container the WebSocket container.
+	 * @param uri the server endpoint.
+	 * @param settings the settings with any number of initiator sessions.
+	 * @param application called back for every session.
+	 * @param storeFactory the message store factory.
+	 * @param logFactory the session log factory.
+	 * @param timer drives heartbeats and timeouts.
+	 */
+	public FixClients(
+			WebSocketContainer container,
+			URI uri,
+			SessionSettings settings,
+			Application application,
+			MessageStoreFactory storeFactory,
+			LogFactory logFactory,
+			SessionTimer timer)
+	{
+		this.container = requireNonNull(container);
+		this.uri = requireNonNull(uri);
+		this.settings = requireNonNull(settings);
+		this.application = requireNonNull(application);
+		this.storeFactory = requireNonNull(storeFactory);
+		this.logFactory = requireNonNull(logFactory);
+		this.timer = requireNonNull(timer);
+	}
+
+	/**
+	 * Connects and logs on the initiator sessions not already started concurrently, up to {@value #MAX_STARTING} at
+	 * once. If any fails, or the calling thread is interrupted, the sessions this call started are closed once the rest
+	 * have finished; those started by earlier calls are left open.
+	 *
+	 * @throws RuntimeError
+	 * @throws ConfigError
+	 * @throws FieldConvertError
+	 * @throws DeploymentException
+	 * @throws IOException
+	 */
+	public void start() throws RuntimeError, ConfigError, FieldConvertError, DeploymentException, IOException {
+		var starting = new ArrayList<SessionID>();
+		for (var i = this.settings.sectionIterator(); i.hasNext();) {
+			var sessionId = i.next();
+			if (FixClient.isInitiatorSession(this.settings, sessionId) && !this.clients.containsKey(sessionId)) {
+				starting.add(sessionId);
+			}
+		}
+		if (starting.isEmpty()) {
+			return;
+		}
+
+		var executor = Executors.newFixedThreadPool(Math.min(starting.size(), MAX_STARTING), r -> {
+			var thread = new Thread(r, "fix-clients-start");
+			thread.setDaemon(true);
+			return thread;
+		});
+		Throwable failure = null;
+		var interrupted = false;
+		try {
+			var futures = new ArrayList<Future<?>>(starting.size());
+			for (var sessionId : starting) {
+				futures.add(executor.submit(() -> start(sessionId)));
+			}
+			for (var future : futures) {
+				try {
+					future.get();
+				} catch (ExecutionException e) {
+					failure = suppress(failure, e.getCause());
+				} catch (InterruptedException e) {
+					interrupted = true;
+					failure = suppress(failure, new InterruptedIOException("Interrupted starting clients!"));
+					futures.forEach(f -> f.cancel(true));
+					break;
+				}
+			}
+		} finally {
+			executor.shutdown();
+		}
+		if (interrupted) {
+			// a task already connecting may still finish and add its client, so wait for it to be closed too
+			awaitTermination(executor);
+			Thread.currentThread().interrupt();
+		}
+		if (failure != null) {
+			close(failure, starting);
+			rethrow(failure);
+		}
+	}
+
+	/**
+	 * Starts a client for the session, closing it if that fails.
+	 */
+	private Void start(SessionID sessionId) throws Exception {
+		var client = new Client(sessionId);
+		try {
+			client.start();
+		} catch (Exception e) {
+			try {
+				client.close();
+			} catch (IOException | RuntimeException ce) {
+				e.addSuppressed(ce);
+			}
+			throw e;
+		}
+		this.clients.put(sessionId, client);
+		return null;
+	}
+
+	/**
+	 * @param sessionId the session.
+	 * @return the client, or {@code null} if not started.
+	 */
+	public FixClient client(SessionID sessionId) {
+		return this.clients.get(sessionId);
+	}
+
+	/**
+	 * @return the started clients.
+	 */
+	public Collection<FixClient> clients() {
+		return unmodifiableCollection(this.clients.values());
+	}
+
+	@Override
+	public void close() throws IOException {
+		var e = close(null, this.clients.keySet());
+		if (e != null) {
+			throw e;
+		}
+	}
+
+	/**
+	 * Closes the sessions' clients, collecting any failures.
+	 *
+	 * @param cause the cause of closing, to which failures are added as suppressed, or {@code null}.
+	 * @param sessionIds the sessions to close, any not started are ignored.
+	 * @return the first failure if there is no cause.
+	 */
+	private IOException close(Throwable cause, Collection<SessionID> sessionIds) {
+		IOException first = null;
+		for (var sessionId : new ArrayList<>(sessionIds)) {
+			var client = this.clients.remove(sessionId);
+			if (client == null) {
+				continue;
+			}
+			try {
+				client.close();
+			} catch (IOException | RuntimeException e) {
+				if (cause != null) {
+					cause.addSuppressed(e);
+				} else if (first == null) {
+					first = e instanceof IOException ? (IOException) e : new IOException(e);
+				} else {
+					first.addSuppressed(e);
+				}
+			}
+		}
+		return first;
+	}
+
+
+	// --- Static Methods ---
+
+	/**
+	 * Waits for the executor to terminate, ignoring interrupts.
+	 */
+	private static void awaitTermination(ExecutorService executor) {
+		while (!executor.isTerminated()) {
+			try {
+				executor.awaitTermination(1, MINUTES);
+			} catch (InterruptedException e) {
+				// restored by the caller
+			}
+		}
+	}
+
+	private static Throwable suppress(Throwable first, Throwable e) {
+		if (first == null) {
+			return e;
+		}
+		first.addSuppressed(e);
+		return first;
+	}
+
+	private static void rethrow(Throwable e) throws ConfigError, FieldConvertError, DeploymentException, IOException {
+		if (e instanceof ConfigError) {
+			throw (ConfigError) e;
+		} else if (e instanceof FieldConvertError) {
+			throw (FieldConvertError) e;
+		} else if (e instanceof DeploymentException) {
+			throw (DeploymentException) e;
+		} else if (e instanceof IOException) {
+			throw (IOException) e;
+		} else if (e instanceof RuntimeException) {
+			throw (RuntimeException) e;
+		} else if (e instanceof Error) {
+			throw (Error) e;
+		}
+		throw new IllegalStateException(e);
+	}
+
+
+	// --- Inner Classes ---
+
+	/**
+	 * A single session calling back to the shared application.
+	 */
+	private class Client extends FixClient implements ApplicationExtended {
+		Client(SessionID sessionId) {
+			super(FixClients.this.container, FixClients.this.uri, FixClients.this.settings, FixClients.this.storeFactory,
+					FixClients.this.logFactory, FixClients.this.timer, sessionId);
+		}
+
+		@Override
+		public void onCreate(SessionID sessionId) {
+			FixClients.this.application.onCreate(sessionId);
+		}
+
+		@Override
+		public void onLogon(SessionID sessionId) {
+			FixClients.this.application.onLogon(sessionId);
+		}
+
+		@Override
+		public void onLogout(SessionID sessionId) {
+			FixClients.this.application.onLogout(sessionId);
+		}
+
+		@Override
+		public void toAdmin(Message message, SessionID sessionId) {
+			FixClients.this.application.toAdmin(message, sessionId);
+		}
+
+		@Override
+		public void fromAdmin(Message message, SessionID sessionId)
+				throws FieldNotFound, IncorrectDataFormat, IncorrectTagValue, RejectLogon
+		{
+			FixClients.this.application.fromAdmin(message, sessionId);
+		}
+
+		@Override
+		public void toApp(Message message, SessionID sessionId) throws DoNotSend {
+			FixClients.this.application.toApp(message, sessionId);
+		}
+
+		@Override
+		public void fromApp(Message message, SessionID sessionId)
+				throws FieldNotFound, IncorrectDataFormat, IncorrectTagValue, UnsupportedMessageType
+		{
+			FixClients.this.application.fromApp(message, sessionId);
+		}
+
+		@Override
+		public boolean canLogon(SessionID sessionId) {
+			var application = FixClients.this.application;
+			return !(application instanceof ApplicationExtended)
+					|| ((ApplicationExtended) application).canLogon(sessionId);
+		}
+
+		@Override
+		public void onBeforeSessionReset(SessionID sessionId) {
+			var application = FixClients.this.application;
+			if (application instanceof ApplicationExtended) {
+				((ApplicationExtended) application).onBeforeSessionReset(sessionId);
+			}
+		}
+	}
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2026 Daniel Siviter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.dansiviter.fixws.inmemory;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Serialises delivery of frames over both directions of a connection. Whichever thread finds the connection idle
+ * delivers every pending frame, including those queued by handlers while it does so, so handlers never re-enter and
+ * frames arrive in the order sent.
+ *
+ * @author Daniel Siviter
+ * @since v1.0 [19 Oct 2026]
+ */
+class Connection {
+	private final Queue<Runnable> pending = new ConcurrentLinkedQueue<>();
+	private final AtomicBoolean delivering = new AtomicBoolean();
+
+	/**
+	 * @param delivery the delivery of a frame to the receiving endpoint.
+	 */
+	void deliver(Runnable delivery) {
+		this.pending.add(delivery);
+		while (!this.pending.isEmpty() && this.delivering.compareAndSet(false, true)) {
+			try {
+				Runnable next;
+				while ((next = this.pending.poll()) != null) {
+					next.run();
+				}
+			} finally {
+				this.delivering.set(false);
+			}
+		}
+	}
+}
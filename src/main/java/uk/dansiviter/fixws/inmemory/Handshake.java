@@ -0,0 +1,91 @@
+/*
+ * Copyright 2026 Daniel Siviter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.dansiviter.fixws.inmemory;
+
+import static java.lang.String.CASE_INSENSITIVE_ORDER;
+
+import java.net.URI;
+import java.security.Principal;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.websocket.HandshakeResponse;
+import javax.websocket.server.HandshakeRequest;
+
+/**
+ * The request and response of a simulated upgrade, so client and server configurators can exchange headers. Header
+ * names are case-insensitive as in HTTP.
+ *
+ * @author Daniel Siviter
+ * @since v1.0 [19 Oct 2026]
+ */
+class Handshake implements HandshakeRequest {
+	private final Map<String, List<String>> requestHeaders = new TreeMap<>(CASE_INSENSITIVE_ORDER);
+	private final Map<String, List<String>> responseHeaders = new TreeMap<>(CASE_INSENSITIVE_ORDER);
+	private final URI uri;
+
+	Handshake(URI uri) {
+		this.uri = uri;
+	}
+
+	@Override
+	public Map<String, List<String>> getHeaders() {
+		return this.requestHeaders;
+	}
+
+	@Override
+	public Principal getUserPrincipal() {
+		return null;
+	}
+
+	@Override
+	public URI getRequestURI() {
+		return this.uri;
+	}
+
+	@Override
+	public boolean isUserInRole(String role) {
+		return false;
+	}
+
+	@Override
+	public Object getHttpSession() {
+		return null;
+	}
+
+	@Override
+	public Map<String, List<String>> getParameterMap() {
+		return InMemorySession.parameters(this.uri);
+	}
+
+	@Override
+	public String getQueryString() {
+		return this.uri.getQuery();
+	}
+
+	/**
+	 * @return the response, whose headers are shared with this handshake.
+	 */
+	HandshakeResponse response() {
+		return new HandshakeResponse() {
+			@Override
+			public Map<String, List<String>> getHeaders() {
+				return responseHeaders;
+			}
+		};
+	}
+}
@@ -0,0 +1,270 @@
+/*
+ * Copyright 2026 Daniel Siviter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.dansiviter.fixws.inmemory;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.Nonnull;
+import javax.websocket.ClientEndpointConfig;
+import javax.websocket.DeploymentException;
+import javax.websocket.Endpoint;
+import javax.websocket.Extension;
+import javax.websocket.HandshakeResponse;
+import javax.websocket.Session;
+import javax.websocket.WebSocketContainer;
+import javax.websocket.server.HandshakeRequest;
+import javax.websocket.server.ServerEndpointConfig;
+import javax.websocket.server.ServerEndpointConfig.Configurator;
+
+/**
+ * A {@link WebSocketContainer} that connects client endpoints directly to server endpoints in the same JVM without a
+ * socket, e.g. a {@link uk.dansiviter.fixws.client.FixClient} to a {@link uk.dansiviter.fixws.FixEndpoint}. This
+ * removes kernel and network noise so the cost of the endpoints themselves can be measured, and tests can run at high
+ * rates deterministically without ports.
+ * <p>
+ * Frames are delivered on the sending thread. Frames sent while a connection is already delivering, e.g. a response
+ * sent from within a message handler, are queued and delivered in order once the current frame completes so handlers
+ * never re-enter.
+ * <p>
+ * Only programmatic {@link Endpoint}s with {@link String}, {@link java.nio.ByteBuffer} and
+ * {@link javax.websocket.PongMessage} whole message handlers are supported. Endpoints are matched on the exact path.
+ * The handshake carries only headers added by the client and server configurators, and the query string.
+ *
+ * @author Daniel Siviter
+ * @since v1.0 [19 Oct 2026]
+ */
+public class InMemoryContainer implements WebSocketContainer {
+	private static final Set<Class<?>> PLATFORM_CONFIGURATORS = platformConfigurators();
+
+	private final Map<String, ServerEndpointConfig> endpoints = new ConcurrentHashMap<>();
+	private final AtomicLong ids = new AtomicLong();
+	private final Set<Session> clientSessions = ConcurrentHashMap.newKeySet();
+	private final Set<Session> serverSessions = ConcurrentHashMap.newKeySet();
+
+	private volatile long asyncSendTimeout;
+	private volatile long maxSessionIdleTimeout;
+	private volatile int maxBinaryMessageBufferSize = 8 * 1024;
+	private volatile int maxTextMessageBufferSize = 8 * 1024;
+
+	/**
+	 * @param configs the server endpoints to deploy.
+	 */
+	public InMemoryContainer(@Nonnull ServerEndpointConfig... configs) {
+		this(Arrays.asList(configs));
+	}
+
+	/**
+	 * @param configs the server endpoints to deploy.
+	 */
+	public InMemoryContainer(@Nonnull Collection<ServerEndpointConfig> configs) {
+		configs.forEach(this::deploy);
+	}
+
+	/**
+	 * @param config the server endpoint to deploy.
+	 */
+	public void deploy(@Nonnull ServerEndpointConfig config) {
+		this.endpoints.put(config.getPath(), config);
+	}
+
+	@Override
+	public Session connectToServer(Object annotatedEndpointInstance, URI path)
+			throws DeploymentException, IOException
+	{
+		if (annotatedEndpointInstance instanceof Endpoint) {
+			return connectToServer((Endpoint) annotatedEndpointInstance, ClientEndpointConfig.Builder.create().build(), path);
+		}
+		throw new DeploymentException("Annotated endpoints not supported! [" + annotatedEndpointInstance + "]");
+	}
+
+	@Override
+	public Session connectToServer(Class<?> annotatedEndpointClass, URI path) throws DeploymentException, IOException {
+		if (Endpoint.class.isAssignableFrom(annotatedEndpointClass)) {
+			return connectToServer(newInstance(annotatedEndpointClass), path);
+		}
+		throw new DeploymentException("Annotated endpoints not supported! [" + annotatedEndpointClass + "]");
+	}
+
+	@Override
+	public Session connectToServer(Class<? extends Endpoint> endpointClass, ClientEndpointConfig cec, URI path)
+			throws DeploymentException, IOException
+	{
+		return connectToServer(newInstance(endpointClass), cec, path);
+	}
+
+	@Override
+	public Session connectToServer(Endpoint endpointInstance, ClientEndpointConfig cec, URI path)
+			throws DeploymentException, IOException
+	{
+		var config = this.endpoints.get(path.getPath());
+		if (config == null) {
+			throw new DeploymentException("No endpoint deployed! [" + path.getPath() + "]");
+		}
+		handshake(config, cec, path);
+		var serverEndpoint = endpointInstance(config);
+		var subprotocol = subprotocol(config, cec);
+
+		var connection = new Connection();
+		var server = new InMemorySession(this, connection, serverEndpoint, config, path, subprotocol,
+				"server-" + this.ids.incrementAndGet(), this.serverSessions);
+		var client = new InMemorySession(this, connection, requireNonNull(endpointInstance), cec, path, subprotocol,
+				"client-" + this.ids.incrementAndGet(), this.clientSessions);
+		server.connect(client);
+		client.connect(server);
+		server.open();
+		client.open();
+		return client;
+	}
+
+	@Override
+	public long getDefaultAsyncSendTimeout() {
+		return this.asyncSendTimeout;
+	}
+
+	@Override
+	public void setAsyncSendTimeout(long timeoutmillis) {
+		this.asyncSendTimeout = timeoutmillis;
+	}
+
+	@Override
+	public long getDefaultMaxSessionIdleTimeout() {
+		return this.maxSessionIdleTimeout;
+	}
+
+	@Override
+	public void setDefaultMaxSessionIdleTimeout(long timeout) {
+		this.maxSessionIdleTimeout = timeout;
+	}
+
+	@Override
+	public int getDefaultMaxBinaryMessageBufferSize() {
+		return this.maxBinaryMessageBufferSize;
+	}
+
+	@Override
+	public void setDefaultMaxBinaryMessageBufferSize(int max) {
+		this.maxBinaryMessageBufferSize = max;
+	}
+
+	@Override
+	public int getDefaultMaxTextMessageBufferSize() {
+		return this.maxTextMessageBufferSize;
+	}
+
+	@Override
+	public void setDefaultMaxTextMessageBufferSize(int max) {
+		this.maxTextMessageBufferSize = max;
+	}
+
+	@Override
+	public Set<Extension> getInstalledExtensions() {
+		return Set.of();
+	}
+
+
+	// --- Static Methods ---
+
+	/**
+	 * The default {@link Configurator} methods delegate to the platform's, which may not be present or may expect to be
+	 * running in its own container, so they are never called; only methods an application configurator overrides are.
+	 */
+	private static boolean overrides(Configurator configurator, String name, Class<?>... parameterTypes) {
+		if (configurator == null) {
+			return false;
+		}
+		try {
+			var declaringClass = configurator.getClass().getMethod(name, parameterTypes).getDeclaringClass();
+			return !PLATFORM_CONFIGURATORS.contains(declaringClass);
+		} catch (NoSuchMethodException e) {
+			return false;
+		}
+	}
+
+	private static Set<Class<?>> platformConfigurators() {
+		var types = new HashSet<Class<?>>();
+		types.add(Configurator.class);
+		try {
+			ServiceLoader.load(Configurator.class).stream().forEach(p -> types.add(p.type()));
+		} catch (ServiceConfigurationError e) {
+			// no usable platform
+		}
+		return types;
+	}
+
+	private static void handshake(ServerEndpointConfig config, ClientEndpointConfig cec, URI path) {
+		var handshake = new Handshake(path);
+		var clientConfigurator = cec.getConfigurator();
+		if (clientConfigurator != null) {
+			clientConfigurator.beforeRequest(handshake.getHeaders());
+		}
+		var configurator = config.getConfigurator();
+		if (overrides(configurator, "modifyHandshake",
+				ServerEndpointConfig.class, HandshakeRequest.class, HandshakeResponse.class))
+		{
+			configurator.modifyHandshake(config, handshake, handshake.response());
+		}
+		if (clientConfigurator != null) {
+			clientConfigurator.afterResponse(handshake.response());
+		}
+	}
+
+	private static Endpoint endpointInstance(ServerEndpointConfig config) throws DeploymentException {
+		var configurator = config.getConfigurator();
+		if (!overrides(configurator, "getEndpointInstance", Class.class)) {
+			return newInstance(config.getEndpointClass());
+		}
+		try {
+			return (Endpoint) configurator.getEndpointInstance(config.getEndpointClass());
+		} catch (InstantiationException e) {
+			throw new DeploymentException("Unable to create endpoint!", e);
+		}
+	}
+
+	private static String subprotocol(ServerEndpointConfig config, ClientEndpointConfig cec) {
+		var configurator = config.getConfigurator();
+		if (overrides(configurator, "getNegotiatedSubprotocol", List.class, List.class)) {
+			return configurator.getNegotiatedSubprotocol(config.getSubprotocols(), cec.getPreferredSubprotocols());
+		}
+		for (var requested : cec.getPreferredSubprotocols()) {
+			if (config.getSubprotocols().contains(requested)) {
+				return requested;
+			}
+		}
+		return "";
+	}
+
+	private static Endpoint newInstance(Class<?> endpointClass) throws DeploymentException {
+		try {
+			return (Endpoint) endpointClass.getDeclaredConstructor().newInstance();
+		} catch (InstantiationException | IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
+			throw new DeploymentException("Unable to create endpoint! [" + endpointClass + "]", e);
+		}
+	}
+}
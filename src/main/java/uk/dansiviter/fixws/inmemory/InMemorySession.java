@@ -0,0 +1,587 @@
+/*
+ * Copyright 2026 Daniel Siviter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.dansiviter.fixws.inmemory;
+
+import static java.util.Collections.unmodifiableList;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.CompletableFuture.failedFuture;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.lang.reflect.ParameterizedType;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.websocket.CloseReason;
+import javax.websocket.CloseReason.CloseCodes;
+import javax.websocket.EncodeException;
+import javax.websocket.Endpoint;
+import javax.websocket.EndpointConfig;
+import javax.websocket.Extension;
+import javax.websocket.MessageHandler;
+import javax.websocket.MessageHandler.Partial;
+import javax.websocket.MessageHandler.Whole;
+import javax.websocket.PongMessage;
+import javax.websocket.RemoteEndpoint;
+import javax.websocket.SendHandler;
+import javax.websocket.SendResult;
+import javax.websocket.Session;
+import javax.websocket.WebSocketContainer;
+
+/**
+ * One side of an in-memory connection created by {@link InMemoryContainer}.
+ *
+ * @author Daniel Siviter
+ * @since v1.0 [19 Oct 2026]
+ */
+public class InMemorySession implements Session {
+	private static final CloseReason NORMAL = new CloseReason(CloseCodes.NORMAL_CLOSURE, "");
+
+	private final Map<String, Object> userProperties = new ConcurrentHashMap<>();
+	private final AtomicBoolean open = new AtomicBoolean();
+	private final InMemoryContainer container;
+	private final Connection connection;
+	private final Endpoint endpoint;
+	private final EndpointConfig config;
+	private final URI uri;
+	private final String subprotocol;
+	private final String id;
+	private final Set<Session> openSessions;
+	private final Basic basic = new Basic();
+	private final Async async = new Async();
+
+	private InMemorySession peer;
+	private volatile Whole<String> textHandler;
+	private volatile Whole<ByteBuffer> binaryHandler;
+	private volatile Whole<PongMessage> pongHandler;
+	private volatile long maxIdleTimeout;
+	private volatile int maxBinaryMessageBufferSize;
+	private volatile int maxTextMessageBufferSize;
+
+	InMemorySession(
+			InMemoryContainer container,
+			Connection connection,
+			Endpoint endpoint,
+			EndpointConfig config,
+			URI uri,
+			String subprotocol,
+			String id,
+			Set<Session> openSessions)
+	{
+		this.container = container;
+		this.connection = connection;
+		this.endpoint = endpoint;
+		this.config = config;
+		this.uri = uri;
+		this.subprotocol = subprotocol;
+		this.id = id;
+		this.openSessions = openSessions;
+		this.maxIdleTimeout = container.getDefaultMaxSessionIdleTimeout();
+		this.maxBinaryMessageBufferSize = container.getDefaultMaxBinaryMessageBufferSize();
+		this.maxTextMessageBufferSize = container.getDefaultMaxTextMessageBufferSize();
+	}
+
+	void connect(InMemorySession peer) {
+		this.peer = peer;
+	}
+
+	void open() {
+		this.open.set(true);
+		this.openSessions.add(this);
+		this.config.getUserProperties().forEach(this.userProperties::putIfAbsent);
+		this.endpoint.onOpen(this, this.config);
+	}
+
+	/**
+	 * @return the other side of the connection.
+	 */
+	public InMemorySession peer() {
+		return this.peer;
+	}
+
+	@Override
+	public WebSocketContainer getContainer() {
+		return this.container;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public void addMessageHandler(MessageHandler handler) {
+		for (var type : handler.getClass().getGenericInterfaces()) {
+			if (type instanceof ParameterizedType && ((ParameterizedType) type).getRawType() == Whole.class) {
+				var arg = ((ParameterizedType) type).getActualTypeArguments()[0];
+				if (arg instanceof Class) {
+					addMessageHandler((Class<Object>) arg, (Whole<Object>) handler);
+					return;
+				}
+			}
+		}
+		throw new IllegalStateException("Unable to determine message type, use addMessageHandler(Class, Whole)!");
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> void addMessageHandler(Class<T> clazz, Whole<T> handler) {
+		if (clazz == String.class) {
+			this.textHandler = (Whole<String>) handler;
+		} else if (clazz == ByteBuffer.class) {
+			this.binaryHandler = (Whole<ByteBuffer>) handler;
+		} else if (clazz == PongMessage.class) {
+			this.pongHandler = (Whole<PongMessage>) handler;
+		} else {
+			throw new IllegalStateException("Unsupported message type! [" + clazz + "]");
+		}
+	}
+
+	@Override
+	public <T> void addMessageHandler(Class<T> clazz, Partial<T> handler) {
+		throw new IllegalStateException("Partial messages not supported!");
+	}
+
+	@Override
+	public Set<MessageHandler> getMessageHandlers() {
+		var handlers = new HashSet<MessageHandler>();
+		for (var handler : new MessageHandler[] { this.textHandler, this.binaryHandler, this.pongHandler }) {
+			if (handler != null) {
+				handlers.add(handler);
+			}
+		}
+		return handlers;
+	}
+
+	@Override
+	public void removeMessageHandler(MessageHandler handler) {
+		if (this.textHandler == handler) {
+			this.textHandler = null;
+		}
+		if (this.binaryHandler == handler) {
+			this.binaryHandler = null;
+		}
+		if (this.pongHandler == handler) {
+			this.pongHandler = null;
+		}
+	}
+
+	@Override
+	public String getProtocolVersion() {
+		return "13";
+	}
+
+	@Override
+	public String getNegotiatedSubprotocol() {
+		return this.subprotocol;
+	}
+
+	@Override
+	public List<Extension> getNegotiatedExtensions() {
+		return List.of();
+	}
+
+	@Override
+	public boolean isSecure() {
+		return false;
+	}
+
+	@Override
+	public boolean isOpen() {
+		return this.open.get();
+	}
+
+	@Override
+	public long getMaxIdleTimeout() {
+		return this.maxIdleTimeout;
+	}
+
+	@Override
+	public void setMaxIdleTimeout(long milliseconds) {
+		this.maxIdleTimeout = milliseconds;
+	}
+
+	@Override
+	public void setMaxBinaryMessageBufferSize(int length) {
+		this.maxBinaryMessageBufferSize = length;
+	}
+
+	@Override
+	public int getMaxBinaryMessageBufferSize() {
+		return this.maxBinaryMessageBufferSize;
+	}
+
+	@Override
+	public void setMaxTextMessageBufferSize(int length) {
+		this.maxTextMessageBufferSize = length;
+	}
+
+	@Override
+	public int getMaxTextMessageBufferSize() {
+		return this.maxTextMessageBufferSize;
+	}
+
+	@Override
+	public RemoteEndpoint.Async getAsyncRemote() {
+		return this.async;
+	}
+
+	@Override
+	public RemoteEndpoint.Basic getBasicRemote() {
+		return this.basic;
+	}
+
+	@Override
+	public String getId() {
+		return this.id;
+	}
+
+	@Override
+	public void close() {
+		close(NORMAL);
+	}
+
+	@Override
+	public void close(CloseReason closeReason) {
+		if (closed(closeReason)) {
+			var peer = this.peer;
+			this.connection.deliver(() -> peer.closed(closeReason));
+		}
+	}
+
+	private boolean closed(CloseReason closeReason) {
+		if (!this.open.compareAndSet(true, false)) {
+			return false;
+		}
+		this.openSessions.remove(this);
+		this.connection.deliver(() -> this.endpoint.onClose(this, closeReason));
+		return true;
+	}
+
+	@Override
+	public URI getRequestURI() {
+		return this.uri;
+	}
+
+	@Override
+	public Map<String, List<String>> getRequestParameterMap() {
+		return parameters(this.uri);
+	}
+
+	@Override
+	public String getQueryString() {
+		return this.uri.getQuery();
+	}
+
+	@Override
+	public Map<String, String> getPathParameters() {
+		return Map.of();
+	}
+
+	@Override
+	public Map<String, Object> getUserProperties() {
+		return this.userProperties;
+	}
+
+	@Override
+	public Principal getUserPrincipal() {
+		return null;
+	}
+
+	@Override
+	public Set<Session> getOpenSessions() {
+		return Set.copyOf(this.openSessions);
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "[" + this.id + "]";
+	}
+
+	private void send(Runnable delivery) throws IOException {
+		if (!isOpen()) {
+			throw new IOException("Session closed! [" + this.id + "]");
+		}
+		this.connection.deliver(delivery);
+	}
+
+	private <T> void receive(Whole<T> handler, T message) {
+		if (handler == null || !isOpen()) {
+			return;
+		}
+		try {
+			handler.onMessage(message);
+		} catch (RuntimeException e) {
+			this.endpoint.onError(this, e);
+		}
+	}
+
+	private void receiveText(String text) {
+		receive(this.textHandler, text);
+	}
+
+	private void receiveBinary(ByteBuffer data) {
+		receive(this.binaryHandler, data);
+	}
+
+	private void receivePong(ByteBuffer data) {
+		receive(this.pongHandler, () -> data);
+	}
+
+
+	// --- Static Methods ---
+
+	/**
+	 * @param uri the request URI.
+	 * @return the decoded query parameters.
+	 */
+	static Map<String, List<String>> parameters(URI uri) {
+		var params = new HashMap<String, List<String>>();
+		var query = uri.getRawQuery();
+		if (query != null) {
+			for (var pair : query.split("&")) {
+				var i = pair.indexOf('=');
+				var key = decode(i < 0 ? pair : pair.substring(0, i));
+				var value = i < 0 ? "" : decode(pair.substring(i + 1));
+				params.computeIfAbsent(key, k -> new ArrayList<>()).add(value);
+			}
+		}
+		params.replaceAll((k, v) -> unmodifiableList(v));
+		return params;
+	}
+
+	private static String decode(String s) {
+		return URLDecoder.decode(s, StandardCharsets.UTF_8);
+	}
+
+	private static ByteBuffer copy(ByteBuffer data) {
+		var copy = ByteBuffer.allocate(data.remaining()).put(data.duplicate());
+		return copy.flip();
+	}
+
+
+	// --- Inner Classes ---
+
+	/**
+	 * Delivers to the peer on the calling thread.
+	 */
+	private class Basic implements RemoteEndpoint.Basic {
+		private final StringBuilder partialText = new StringBuilder();
+		private final ByteArrayOutputStream partialBinary = new ByteArrayOutputStream();
+		private boolean batching;
+
+		@Override
+		public void sendText(String text) throws IOException {
+			var peer = InMemorySession.this.peer;
+			send(() -> peer.receiveText(text));
+		}
+
+		@Override
+		public void sendBinary(ByteBuffer data) throws IOException {
+			var peer = InMemorySession.this.peer;
+			var copy = copy(data);
+			send(() -> peer.receiveBinary(copy));
+		}
+
+		@Override
+		public synchronized void sendText(String partialMessage, boolean isLast) throws IOException {
+			this.partialText.append(partialMessage);
+			if (isLast) {
+				var text = this.partialText.toString();
+				this.partialText.setLength(0);
+				sendText(text);
+			}
+		}
+
+		@Override
+		public synchronized void sendBinary(ByteBuffer partialByte, boolean isLast) throws IOException {
+			var copy = copy(partialByte);
+			this.partialBinary.write(copy.array(), 0, copy.remaining());
+			if (isLast) {
+				var data = ByteBuffer.wrap(this.partialBinary.toByteArray());
+				this.partialBinary.reset();
+				sendBinary(data);
+			}
+		}
+
+		@Override
+		public OutputStream getSendStream() {
+			return new ByteArrayOutputStream() {
+				@Override
+				public void close() throws IOException {
+					sendBinary(ByteBuffer.wrap(toByteArray()));
+				}
+			};
+		}
+
+		@Override
+		public Writer getSendWriter() {
+			return new StringWriter() {
+				@Override
+				public void close() throws IOException {
+					sendText(toString());
+				}
+			};
+		}
+
+		@Override
+		public void sendObject(Object data) throws IOException, EncodeException {
+			if (data instanceof String) {
+				sendText((String) data);
+			} else if (data instanceof ByteBuffer) {
+				sendBinary((ByteBuffer) data);
+			} else {
+				throw new EncodeException(data, "Encoders not supported!");
+			}
+		}
+
+		@Override
+		public void setBatchingAllowed(boolean allowed) {
+			this.batching = allowed;
+		}
+
+		@Override
+		public boolean getBatchingAllowed() {
+			return this.batching;
+		}
+
+		@Override
+		public void flushBatch() {
+			// nothing is batched
+		}
+
+		@Override
+		public void sendPing(ByteBuffer applicationData) throws IOException {
+			// the peer's container answers with a pong
+			var copy = copy(applicationData);
+			send(() -> receivePong(copy));
+		}
+
+		@Override
+		public void sendPong(ByteBuffer applicationData) throws IOException {
+			var peer = InMemorySession.this.peer;
+			var copy = copy(applicationData);
+			send(() -> peer.receivePong(copy));
+		}
+	}
+
+	/**
+	 * Completes once the frame has been delivered or queued.
+	 */
+	private class Async implements RemoteEndpoint.Async {
+		private volatile long sendTimeout;
+
+		@Override
+		public long getSendTimeout() {
+			return this.sendTimeout;
+		}
+
+		@Override
+		public void setSendTimeout(long timeoutmillis) {
+			this.sendTimeout = timeoutmillis;
+		}
+
+		@Override
+		public void sendText(String text, SendHandler handler) {
+			handler.onResult(result(sendText(text)));
+		}
+
+		@Override
+		public Future<Void> sendText(String text) {
+			try {
+				basic.sendText(text);
+				return completedFuture(null);
+			} catch (IOException e) {
+				return failedFuture(e);
+			}
+		}
+
+		@Override
+		public Future<Void> sendBinary(ByteBuffer data) {
+			try {
+				basic.sendBinary(data);
+				return completedFuture(null);
+			} catch (IOException e) {
+				return failedFuture(e);
+			}
+		}
+
+		@Override
+		public void sendBinary(ByteBuffer data, SendHandler handler) {
+			handler.onResult(result(sendBinary(data)));
+		}
+
+		@Override
+		public Future<Void> sendObject(Object data) {
+			try {
+				basic.sendObject(data);
+				return completedFuture(null);
+			} catch (IOException | EncodeException e) {
+				return failedFuture(e);
+			}
+		}
+
+		@Override
+		public void sendObject(Object data, SendHandler handler) {
+			handler.onResult(result(sendObject(data)));
+		}
+
+		@Override
+		public void setBatchingAllowed(boolean allowed) throws IOException {
+			basic.setBatchingAllowed(allowed);
+		}
+
+		@Override
+		public boolean getBatchingAllowed() {
+			return basic.getBatchingAllowed();
+		}
+
+		@Override
+		public void flushBatch() throws IOException {
+			basic.flushBatch();
+		}
+
+		@Override
+		public void sendPing(ByteBuffer applicationData) throws IOException {
+			basic.sendPing(applicationData);
+		}
+
+		@Override
+		public void sendPong(ByteBuffer applicationData) throws IOException {
+			basic.sendPong(applicationData);
+		}
+
+		private SendResult result(Future<Void> future) {
+			try {
+				future.get();
+				return new SendResult();
+			} catch (Exception e) {
+				return new SendResult(e.getCause() != null ? e.getCause() : e);
+			}
+		}
+	}
+}
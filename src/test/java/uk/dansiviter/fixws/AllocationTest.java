@@ -0,0 +1,201 @@
+/*
+ * Copyright 2026 Daniel Siviter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.dansiviter.fixws;
+
+import static javax.enterprise.inject.spi.CDI.current;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static uk.dansiviter.fixws.annotations.ToApp.Literal.toApp;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.util.List;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.inject.Produces;
+import javax.websocket.DeploymentException;
+import javax.websocket.Endpoint;
+import javax.websocket.EndpointConfig;
+import javax.websocket.Session;
+
+import org.jboss.weld.junit5.EnableWeld;
+import org.jboss.weld.junit5.WeldInitiator;
+import org.jboss.weld.junit5.WeldSetup;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sun.management.ThreadMXBean;
+
+import quickfix.FixVersions;
+import quickfix.MemoryStoreFactory;
+import quickfix.Message;
+import quickfix.MessageStoreFactory;
+import quickfix.SessionID;
+import uk.dansiviter.fixws.inmemory.InMemoryContainer;
+import uk.dansiviter.juli.cdi.LogExtension;
+
+/**
+ * Guards the steady-state allocation rate of the inbound ({@link FixEndpoint} to
+ * {@link FixApplication#fromApp(Message, SessionID)}) and outbound ({@code @ToApp} to the responder) paths. The client
+ * is connected in-memory so delivery happens on the calling thread. Allocation is summed across all live threads so
+ * work handed off, e.g. to the {@link AsyncLogFactory} writer, is included.
+ * <p>
+ * Budgets are in bytes per message, given by the {@code fixws.allocation.inbound} and
+ * {@code fixws.allocation.outbound} system properties which the build sets from the POM; they have no default here so
+ * the budget is only defined in one place.
+ *
+ * @author Daniel Siviter
+ * @since v1.0 [19 Oct 2026]
+ */
+@EnableWeld
+public class AllocationTest {
+	private static final String PATH = "/fix";
+	private static final int WARMUP = 20_000;
+	private static final int MESSAGES = 10_000;
+
+	@WeldSetup
+	public WeldInitiator weld = WeldInitiator.of(
+		LogExtension.class,
+		LogFactoryProducer.class,
+		SessionProviderProducer.class,
+		SessionFactoryProducer.class,
+		FixApplication.class,
+		SessionSettingsProducer.class,
+		MemoryStoreProducer.class,
+		SessionTimerProducer.class,
+		Metrics.class);
+
+	private final ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+	private Session client;
+	private int seqNum;
+
+	@BeforeEach
+	public void before() throws DeploymentException, IOException {
+		assumeTrue(this.threads.isThreadAllocatedMemorySupported(), "Thread allocation not supported!");
+		this.threads.setThreadAllocatedMemoryEnabled(true);
+
+		var container = new InMemoryContainer(FixEndpoint.config(PATH, List.of(FixVersions.FIX50)));
+		this.client = container.connectToServer(new Endpoint() {
+			@Override
+			public void onOpen(Session session, EndpointConfig config) {
+				session.addMessageHandler(String.class, m -> { });  // discard
+			}
+		}, URI.create("ws://localhost" + PATH));
+		this.client.getBasicRemote().sendText(Fixtures.inbound(Fixtures.logon(), ++this.seqNum).toString());
+	}
+
+	@AfterEach
+	public void after() throws IOException {
+		if (this.client != null) {
+			this.client.close();
+		}
+	}
+
+	@Test
+	public void inbound() throws IOException {
+		var budget = budget("fixws.allocation.inbound");
+
+		for (var msg : inbound(WARMUP)) {
+			this.client.getBasicRemote().sendText(msg);
+		}
+		var messages = inbound(MESSAGES);
+
+		var before = allocatedBytes();
+		for (var msg : messages) {
+			this.client.getBasicRemote().sendText(msg);
+		}
+		var perMessage = (allocatedBytes() - before) / MESSAGES;
+
+		assertThat("Inbound bytes/message", perMessage, lessThanOrEqualTo(budget));
+	}
+
+	@Test
+	public void outbound() {
+		var budget = budget("fixws.allocation.outbound");
+		var event = current().getBeanManager().getEvent().select(Message.class, toApp());
+
+		for (var msg : outbound(WARMUP)) {
+			event.fire(msg);
+		}
+		var messages = outbound(MESSAGES);
+
+		var before = allocatedBytes();
+		for (var msg : messages) {
+			event.fire(msg);
+		}
+		var perMessage = (allocatedBytes() - before) / MESSAGES;
+
+		assertThat("Outbound bytes/message", perMessage, lessThanOrEqualTo(budget));
+	}
+
+	private long allocatedBytes() {
+		var total = 0L;
+		for (var bytes : this.threads.getThreadAllocatedBytes(this.threads.getAllThreadIds())) {
+			if (bytes > 0) {  // -1 if the thread has since died
+				total += bytes;
+			}
+		}
+		return total;
+	}
+
+	/**
+	 * Pre-encodes so only the cost of the gateway is measured.
+	 */
+	private String[] inbound(int count) {
+		var messages = new String[count];
+		for (int i = 0; i < count; i++) {
+			messages[i] = Fixtures.inbound(Fixtures.newOrderSingle(), ++this.seqNum).toString();
+		}
+		return messages;
+	}
+
+	/**
+	 * @param property the system property holding the budget.
+	 * @return the budget in bytes per message.
+	 */
+	private static long budget(String property) {
+		var budget = Long.getLong(property);
+		assertNotNull(budget, "Allocation budget not set! [" + property + "]");
+		return budget;
+	}
+
+	private static Message[] outbound(int count) {
+		var messages = new Message[count];
+		for (int i = 0; i < count; i++) {
+			messages[i] = FixUtil.set(Fixtures.SESSION_ID, Fixtures.newOrderSingle());
+		}
+		return messages;
+	}
+
+
+	// --- Inner Classes ---
+
+	/**
+	 * Avoids disk I/O skewing the measurement.
+	 */
+	@ApplicationScoped
+	public static class MemoryStoreProducer {
+		@Produces @ApplicationScoped
+		public MessageStoreFactory messageStoreFactory() {
+			return new MemoryStoreFactory();
+		}
+	}
+}
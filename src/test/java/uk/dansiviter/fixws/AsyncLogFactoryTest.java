@@ -0,0 +1,175 @@
+/*
+ * Copyright 2026 Daniel Siviter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.dansiviter.fixws;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import quickfix.FixVersions;
+import quickfix.Log;
+import quickfix.SessionID;
+
+/**
+ * @author Daniel Siviter
+ * @since v1.0 [19 Oct 2026]
+ */
+public class AsyncLogFactoryTest {
+	private static final SessionID SESSION_ID = new SessionID(FixVersions.BEGINSTRING_FIXT11, "client", "server");
+
+	private final List<String> entries = Collections.synchronizedList(new ArrayList<>());
+
+	@Test
+	public void order() {
+		var factory = new AsyncLogFactory(id -> new RecordingLog(), 4, 8);
+		var log = factory.create(SESSION_ID);
+
+		log.onIncoming("in");
+		log.onOutgoing("out");
+		log.onEvent("an event longer than a slot");
+		log.onErrorEvent("error");
+		factory.close();
+
+		assertThat(this.entries, contains(
+				"incoming:in", "outgoing:out", "event:an event longer than a slot", "errorEvent:error"));
+	}
+
+	@Test
+	public void wrap() throws InterruptedException {
+		var factory = new AsyncLogFactory(id -> new RecordingLog(), 8, 16);
+		var log = factory.create(SESSION_ID);
+
+		var threads = new ArrayList<Thread>();
+		for (int t = 0; t < 4; t++) {
+			var thread = new Thread(() -> {
+				for (int i = 0; i < 1_000; i++) {
+					log.onIncoming("msg" + i);
+				}
+			});
+			thread.start();
+			threads.add(thread);
+		}
+		for (var thread : threads) {
+			thread.join();
+		}
+		factory.close();
+
+		assertThat(this.entries, hasSize(4_000));
+	}
+
+	@Test
+	public void close_concurrent() throws InterruptedException {
+		var factory = new AsyncLogFactory(id -> new RecordingLog(), 4, 16);
+		var log = factory.create(SESSION_ID);
+
+		var threads = new ArrayList<Thread>();
+		for (int t = 0; t < 4; t++) {
+			var thread = new Thread(() -> {
+				for (int i = 0; i < 10_000; i++) {
+					log.onIncoming("msg" + i);
+				}
+			});
+			thread.start();
+			threads.add(thread);
+		}
+		factory.close();  // while producers are mid-publish
+		for (var thread : threads) {
+			thread.join();
+		}
+
+		assertThat(this.entries, hasSize(40_000));
+	}
+
+	@Test
+	public void full() throws InterruptedException {
+		var factory = new AsyncLogFactory(id -> new RecordingLog() {
+			@Override
+			public void onIncoming(String message) {
+				try {
+					Thread.sleep(1);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				super.onIncoming(message);
+			}
+		}, 2, 16);
+		var log = factory.create(SESSION_ID);
+
+		for (int i = 0; i < 20; i++) {
+			log.onIncoming("msg" + i);
+		}
+		factory.close();
+
+		assertThat(this.entries, hasSize(20));
+		assertThat(factory.stalls(), greaterThan(0L));
+	}
+
+	@Test
+	public void clear() {
+		var factory = new AsyncLogFactory(id -> new RecordingLog(), 4, 8);
+		var log = factory.create(SESSION_ID);
+
+		log.onIncoming("in");
+		log.clear();
+		log.onOutgoing("out");
+		factory.close();
+
+		assertThat(this.entries, contains("incoming:in", "clear", "outgoing:out"));
+	}
+
+	@Test
+	public void capacity() {
+		assertThrows(IllegalArgumentException.class, () -> new AsyncLogFactory(id -> new RecordingLog(), 3, 8));
+	}
+
+
+	// --- Inner Classes ---
+
+	private class RecordingLog implements Log {
+		@Override
+		public void clear() {
+			entries.add("clear");
+		}
+
+		@Override
+		public void onIncoming(String message) {
+			entries.add("incoming:" + message);
+		}
+
+		@Override
+		public void onOutgoing(String message) {
+			entries.add("outgoing:" + message);
+		}
+
+		@Override
+		public void onEvent(String text) {
+			entries.add("event:" + text);
+		}
+
+		@Override
+		public void onErrorEvent(String text) {
+			entries.add("errorEvent:" + text);
+		}
+	}
+}
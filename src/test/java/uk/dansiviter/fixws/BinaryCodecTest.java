@@ -0,0 +1,167 @@
+/*
+ * Copyright 2026 Daniel Siviter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.dansiviter.fixws;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.UnmappableCharacterException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.jboss.weld.junit5.EnableWeld;
+import org.jboss.weld.junit5.WeldInitiator;
+import org.jboss.weld.junit5.WeldSetup;
+import org.junit.jupiter.api.Test;
+
+import quickfix.FixVersions;
+import quickfix.InvalidMessage;
+import quickfix.MemoryStoreFactory;
+import quickfix.Message;
+import quickfix.SessionID;
+import quickfix.field.ClOrdID;
+import quickfix.field.Symbol;
+import quickfix.field.Text;
+import uk.dansiviter.fixws.client.FixClient;
+import uk.dansiviter.fixws.inmemory.InMemoryContainer;
+import uk.dansiviter.juli.cdi.LogExtension;
+
+/**
+ * @author Daniel Siviter
+ * @since v1.0 [19 Oct 2026]
+ */
+@EnableWeld
+public class BinaryCodecTest {
+	private static final String SUBPROTOCOL = FixVersions.FIX50 + Codec.SEPARATOR + BinaryCodec.NAME;
+
+	@WeldSetup
+	public WeldInitiator weld = WeldInitiator.of(
+		LogExtension.class,
+		LogFactoryProducer.class,
+		SessionProviderProducer.class,
+		SessionFactoryProducer.class,
+		FixApplication.class,
+		SessionSettingsProducer.class,
+		AllocationTest.MemoryStoreProducer.class,
+		SessionTimerProducer.class,
+		Metrics.class);
+
+	private final BinaryCodec codec = new BinaryCodec();
+
+	@Test
+	public void roundTrip() throws InvalidMessage, CharacterCodingException {
+		var data = order().toString();
+		var frame = ByteBuffer.allocate(data.length());
+
+		BinaryCodec.encode(data, frame);
+
+		assertThat(frame.position(), lessThan(data.length()));
+		assertEquals(data, this.codec.decode(frame.flip()));
+		assertEquals(0, frame.position());
+	}
+
+	@Test
+	public void roundTrip_leadingZero() throws InvalidMessage, CharacterCodingException {
+		var order = order();
+		order.setString(ClOrdID.FIELD, "007");
+		order.setString(Symbol.FIELD, "0");
+		var data = order.toString();
+		var frame = ByteBuffer.allocate(data.length());
+
+		BinaryCodec.encode(data, frame);
+
+		assertEquals(data, this.codec.decode(frame.flip()));
+	}
+
+	@Test
+	public void roundTrip_large() throws InvalidMessage, CharacterCodingException {
+		var order = order();
+		order.setString(Text.FIELD, "\u00e9".repeat(20_000));
+		order.setString(Symbol.FIELD, "123456789012345678");
+		var data = order.toString();
+		var frame = ByteBuffer.allocate(data.length() + 8);
+
+		BinaryCodec.encode(data, frame);
+
+		assertEquals(data, this.codec.decode(frame.flip()));
+	}
+
+	@Test
+	public void encode_unmappable() {
+		var order = order();
+		order.setString(Text.FIELD, "\u20ac100");
+		var data = order.toString();
+		var frame = ByteBuffer.allocate(data.length());
+
+		// rejected rather than truncated to a different character
+		assertThrows(UnmappableCharacterException.class, () -> BinaryCodec.encode(data, frame));
+	}
+
+	@Test
+	public void decode_invalid() throws CharacterCodingException {
+		var data = order().toString();
+		var frame = ByteBuffer.allocate(data.length());
+		BinaryCodec.encode(data, frame);
+		frame.flip();
+
+		assertThrows(InvalidMessage.class, () -> this.codec.decode(frame.duplicate().limit(frame.limit() - 1)));
+		assertThrows(InvalidMessage.class, () -> this.codec.decode(ByteBuffer.allocate(0)));
+		assertThrows(InvalidMessage.class, () -> this.codec.decode(ByteBuffer.wrap(new byte[] { 71, 0 })));  // 35 first
+	}
+
+	@Test
+	public void of() {
+		assertNull(Codec.of(null));
+		assertNull(Codec.of(FixVersions.FIX50));
+		assertThat(Codec.of(FixEndpoint.subprotocols(SUBPROTOCOL).get(0)), instanceOf(BinaryCodec.class));
+		assertThrows(IllegalStateException.class, () -> Codec.of("fix50-unknown"));
+	}
+
+	@Test
+	public void logon() throws Exception {
+		var settings = Fixtures.clientSettings("CodecClient");
+		var sessionId = new SessionID(FixVersions.BEGINSTRING_FIXT11, "CodecClient", "WsServer");
+		settings.setString(sessionId, FixClient.WEBSOCKET_SUBPROTOCOL, FixEndpoint.subprotocols(SUBPROTOCOL).get(0));
+		var container = new InMemoryContainer(FixEndpoint.config("/fix", List.of(FixVersions.FIX50, SUBPROTOCOL)));
+		var loggedOn = new AtomicBoolean();
+		var client = new FixClient(container, URI.create("ws://localhost/fix"), settings, new MemoryStoreFactory()) {
+			@Override
+			public void onLogon(SessionID sessionId) {
+				loggedOn.set(true);
+			}
+		};
+
+		client.start();
+
+		assertTrue(loggedOn.get());
+		client.close();
+	}
+
+
+	// --- Static Methods ---
+
+	private static Message order() {
+		return Fixtures.order(Fixtures.SESSION_ID, 12_345);
+	}
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2026 Daniel Siviter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.dansiviter.fixws;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.UnmappableCharacterException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.websocket.RemoteEndpoint;
+
+import org.jboss.weld.junit5.EnableWeld;
+import org.jboss.weld.junit5.WeldInitiator;
+import org.jboss.weld.junit5.WeldSetup;
+import org.junit.jupiter.api.Test;
+
+import quickfix.FixVersions;
+import quickfix.MemoryStoreFactory;
+import quickfix.SessionID;
+import uk.dansiviter.fixws.client.FixClient;
+import uk.dansiviter.fixws.inmemory.InMemoryContainer;
+import uk.dansiviter.juli.cdi.LogExtension;
+
+/**
+ * @author Daniel Siviter
+ * @since v1.0 [19 Oct 2026]
+ */
+@EnableWeld
+public class BinaryFramesTest {
+	private static final String MESSAGE = "8=FIXT.1.1\u00019=5\u000135=0\u000110=161\u0001";
+
+	@WeldSetup
+	public WeldInitiator weld = WeldInitiator.of(
+		LogExtension.class,
+		LogFactoryProducer.class,
+		SessionProviderProducer.class,
+		SessionFactoryProducer.class,
+		FixApplication.class,
+		SessionSettingsProducer.class,
+		AllocationTest.MemoryStoreProducer.class,
+		SessionTimerProducer.class,
+		Metrics.class);
+
+	@Test
+	public void decode_heap() {
+		var data = ByteBuffer.wrap(("xx" + MESSAGE).getBytes(ISO_8859_1));
+		data.position(2);
+
+		assertEquals(MESSAGE, BinaryFrames.decode(data.slice()));
+		assertEquals(MESSAGE, BinaryFrames.decode(data));
+	}
+
+	@Test
+	public void decode_direct() {
+		var data = ByteBuffer.allocateDirect(64).put(MESSAGE.getBytes(ISO_8859_1)).flip();
+
+		assertEquals(MESSAGE, BinaryFrames.decode(data));
+		assertEquals(0, data.position());
+	}
+
+	@Test
+	public void encode() throws Exception {
+		var frames = new BinaryFrames(64, 1);
+		var buffer = frames.encode(MESSAGE);
+
+		assertEquals(MESSAGE, BinaryFrames.decode(buffer));
+		frames.release(buffer);
+	}
+
+	@Test
+	public void encode_unmappable() {
+		var frames = new BinaryFrames(64, 1);
+
+		// rejected rather than truncated to a different character
+		assertThrows(UnmappableCharacterException.class, () -> frames.encode("58=\u20ac\u0001"));
+	}
+
+	@Test
+	public void sender_stalled() throws Exception {
+		var writes = new AtomicInteger();
+		var remote = (RemoteEndpoint.Async) Proxy.newProxyInstance(
+				getClass().getClassLoader(),
+				new Class<?>[] { RemoteEndpoint.Async.class },
+				(proxy, method, args) -> {
+					writes.incrementAndGet();  // never completes a write
+					return null;
+				});
+		var sender = new BinaryFrames(64, 1).sender(remote, 50);
+
+		sender.send(MESSAGE, r -> { });
+
+		// the first write never completes so the next send gives up, as does every later one
+		assertThrows(SocketTimeoutException.class, () -> sender.send(MESSAGE, r -> { }));
+		assertTrue(sender.stalled());
+		assertThrows(SocketTimeoutException.class, () -> sender.send(MESSAGE, r -> { }));
+		assertFalse(sender.flush());
+		assertEquals(1, writes.get());
+	}
+
+	@Test
+	public void logon() throws Exception {
+		var settings = Fixtures.clientSettings("BinaryClient");
+		var sessionId = new SessionID(FixVersions.BEGINSTRING_FIXT11, "BinaryClient", "WsServer");
+		settings.setBool(sessionId, BinaryFrames.WEBSOCKET_BINARY, true);
+		var container = new InMemoryContainer(FixEndpoint.config("/fix", List.of(FixVersions.FIX50)));
+		var loggedOn = new AtomicBoolean();
+		var client = new FixClient(container, URI.create("ws://localhost/fix"), settings, new MemoryStoreFactory()) {
+			@Override
+			public void onLogon(SessionID sessionId) {
+				loggedOn.set(true);
+			}
+		};
+
+		client.start();
+
+		// the gateway only decodes the Logon if it accepts binary frames
+		assertTrue(loggedOn.get());
+		client.close();
+	}
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2026 Daniel Siviter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.dansiviter.fixws;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.Test;
+
+import quickfix.Message;
+import quickfix.field.BusinessRejectRefID;
+import quickfix.field.ClOrdID;
+import quickfix.field.MDReqID;
+import quickfix.field.MsgType;
+
+/**
+ * @author Daniel Siviter
+ * @since v1.0 [19 Oct 2026]
+ */
+public class CorrelatorTest {
+	private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+	/** Completes on the calling thread so the tests needn't wait. */
+	private final Correlator correlator = new Correlator(Runnable::run);
+
+	@Test
+	public void correlate() throws Exception {
+		var a = this.correlator.register(message(MsgType.ORDER_SINGLE, ClOrdID.FIELD, "A"), TIMEOUT);
+		var b = this.correlator.register(message(MsgType.ORDER_SINGLE, ClOrdID.FIELD, "B"), TIMEOUT);
+		assertFalse(this.correlator.isEmpty());
+
+		var report = message(MsgType.EXECUTION_REPORT, ClOrdID.FIELD, "B");
+		this.correlator.correlate(report, false);
+		assertSame(report, b.getNow(null));
+		assertFalse(a.isDone());
+
+		this.correlator.correlate(message(MsgType.EXECUTION_REPORT, ClOrdID.FIELD, "C"), false);
+		assertFalse(a.isDone());
+
+		var copy = message(MsgType.EXECUTION_REPORT, ClOrdID.FIELD, "A");
+		this.correlator.correlate(copy, true);
+		assertNotSame(copy, a.getNow(null));
+		assertTrue(this.correlator.isEmpty());
+	}
+
+	@Test
+	public void correlate_async() throws Exception {
+		var correlator = new Correlator();
+		var future = correlator.register(message(MsgType.ORDER_SINGLE, ClOrdID.FIELD, "A"), TIMEOUT);
+		var thread = future.thenApply(m -> Thread.currentThread());
+
+		correlator.correlate(message(MsgType.EXECUTION_REPORT, ClOrdID.FIELD, "A"), false);
+
+		assertNotSame(Thread.currentThread(), thread.get(5, SECONDS));
+		assertTrue(correlator.isEmpty());
+	}
+
+	@Test
+	public void correlate_precedence() {
+		var request = message(MsgType.MARKET_DATA_REQUEST, MDReqID.FIELD, "1");
+		request.setString(ClOrdID.FIELD, "2");
+		var future = this.correlator.register(request, TIMEOUT);
+
+		this.correlator.correlate(message(MsgType.EXECUTION_REPORT, ClOrdID.FIELD, "2"), false);
+		assertFalse(future.isDone());
+		this.correlator.correlate(message(MsgType.MARKET_DATA_SNAPSHOT_FULL_REFRESH, MDReqID.FIELD, "1"), false);
+		assertTrue(future.isDone());
+	}
+
+	@Test
+	public void correlate_businessReject() {
+		var future = this.correlator.register(message(MsgType.ORDER_SINGLE, ClOrdID.FIELD, "A"), TIMEOUT);
+
+		var reject = message(MsgType.BUSINESS_MESSAGE_REJECT, BusinessRejectRefID.FIELD, "A");
+		this.correlator.correlate(reject, false);
+		assertSame(reject, future.getNow(null));
+	}
+
+	@Test
+	public void register_timeout() {
+		var future = this.correlator.register(message(MsgType.ORDER_SINGLE, ClOrdID.FIELD, "A"), Duration.ofMillis(10));
+
+		var e = assertThrows(ExecutionException.class, future::get);
+		assertThat(e.getCause(), instanceOf(TimeoutException.class));
+		await().atMost(5, SECONDS).until(this.correlator::isEmpty);
+	}
+
+	@Test
+	public void register_duplicate() {
+		this.correlator.register(message(MsgType.ORDER_SINGLE, ClOrdID.FIELD, "A"), TIMEOUT);
+
+		assertThrows(IllegalStateException.class,
+				() -> this.correlator.register(message(MsgType.ORDER_SINGLE, ClOrdID.FIELD, "A"), TIMEOUT));
+	}
+
+	@Test
+	public void register_noKey() {
+		var news = new Message();
+		news.getHeader().setString(MsgType.FIELD, MsgType.NEWS);
+
+		assertThrows(IllegalArgumentException.class, () -> this.correlator.register(news, TIMEOUT));
+	}
+
+	@Test
+	public void register_cancel() {
+		var future = this.correlator.register(message(MsgType.ORDER_SINGLE, ClOrdID.FIELD, "A"), TIMEOUT);
+		future.cancel(false);
+
+		assertTrue(this.correlator.isEmpty());
+	}
+
+
+	// --- Static Methods ---
+
+	private static Message message(String msgType, int tag, String value) {
+		var message = new Message();
+		message.getHeader().setString(MsgType.FIELD, msgType);
+		message.setString(tag, value);
+		return message;
+	}
+}
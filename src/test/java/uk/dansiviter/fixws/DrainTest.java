@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 Daniel Siviter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.dansiviter.fixws;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.inject.Produces;
+import javax.inject.Inject;
+
+import org.jboss.weld.junit5.EnableWeld;
+import org.jboss.weld.junit5.WeldInitiator;
+import org.jboss.weld.junit5.WeldSetup;
+import org.junit.jupiter.api.Test;
+
+import quickfix.ConfigError;
+import quickfix.FixVersions;
+import quickfix.MemoryStoreFactory;
+import quickfix.SessionID;
+import quickfix.SessionSettings;
+import uk.dansiviter.fixws.client.FixClient;
+import uk.dansiviter.fixws.inmemory.InMemoryContainer;
+import uk.dansiviter.juli.cdi.LogExtension;
+
+/**
+ * @author Daniel Siviter
+ * @since v1.0 [19 Oct 2026]
+ */
+@EnableWeld
+public class DrainTest {
+	private static final URI URI = java.net.URI.create("ws://localhost/fix");
+
+	@WeldSetup
+	public WeldInitiator weld = WeldInitiator.of(
+		LogExtension.class,
+		LogFactoryProducer.class,
+		SessionProviderProducer.class,
+		SessionFactoryProducer.class,
+		FixApplication.class,
+		Producer.class,
+		AllocationTest.MemoryStoreProducer.class,
+		SessionTimerProducer.class,
+		Drain.class,
+		Metrics.class);
+
+	@Inject
+	private Drain drain;
+
+	@Test
+	void drain() throws Exception {
+		var container = new InMemoryContainer(FixEndpoint.config("/fix", List.of(FixVersions.FIX50)));
+		var loggedOut = new AtomicBoolean();
+		var client = new FixClient(container, URI, Fixtures.clientSettings("DrainClient"), new MemoryStoreFactory()) {
+			@Override
+			public void onLogout(SessionID sessionId) {
+				loggedOut.set(true);
+			}
+		};
+		client.start();
+		assertEquals(1, this.drain.size());
+
+		// the Logout is sent on the next timer tick
+		assertTrue(this.drain.drain());
+		assertTrue(loggedOut.get());
+		assertEquals(0, this.drain.size());
+
+		var loggedOn = new AtomicBoolean();
+		var late = new FixClient(container, URI, Fixtures.clientSettings("DrainLate"), new MemoryStoreFactory()) {
+			@Override
+			public void onLogon(SessionID sessionId) {
+				loggedOn.set(true);
+			}
+		};
+		late.start();
+		assertFalse(loggedOn.get());
+		assertEquals(0, this.drain.size());
+
+		client.close();
+		late.close();
+	}
+
+
+	// --- Inner Classes ---
+
+	public static class Producer {
+		@Produces @ApplicationScoped
+		public SessionSettings sessionSettings() throws IOException, ConfigError {
+			var settings = new SessionSettingsProducer().sessionSettings();
+			settings.setLong(Drain.DRAIN_TIMEOUT, 5);
+			return settings;
+		}
+	}
+}
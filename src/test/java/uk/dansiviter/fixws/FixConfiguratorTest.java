@@ -0,0 +1,170 @@
+/*
+ * Copyright 2026 Daniel Siviter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.dansiviter.fixws;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.net.URI;
+import java.security.Principal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.websocket.server.HandshakeRequest;
+
+import org.jboss.weld.junit5.EnableWeld;
+import org.jboss.weld.junit5.WeldInitiator;
+import org.jboss.weld.junit5.WeldSetup;
+import org.junit.jupiter.api.Test;
+
+import quickfix.Acceptor;
+import quickfix.ConfigError;
+import quickfix.FixVersions;
+import quickfix.Session;
+import quickfix.SessionFactory;
+import quickfix.SessionID;
+import quickfix.SessionSettings;
+import uk.dansiviter.juli.cdi.LogExtension;
+
+/**
+ * @author Daniel Siviter
+ * @since v1.0 [19 Oct 2026]
+ */
+@EnableWeld
+public class FixConfiguratorTest {
+	@WeldSetup
+	public WeldInitiator weld = WeldInitiator.of(
+		LogExtension.class,
+		LogFactoryProducer.class,
+		SessionProviderProducer.class,
+		SessionFactoryProducer.class,
+		FixApplication.class,
+		SessionSettingsProducer.class,
+		AllocationTest.MemoryStoreProducer.class,
+		Metrics.class);
+
+	@Test
+	public void sessionId_query() {
+		var request = new Request(
+				Map.of("SenderCompID", List.of("client"), "TargetCompID", List.of("server")),
+				Map.of());
+
+		assertEquals(
+				new SessionID(FixVersions.BEGINSTRING_FIXT11, "server", "client"),
+				FixConfigurator.sessionId(request));
+	}
+
+	@Test
+	public void sessionId_headers() {
+		var request = new Request(
+				Map.of(),
+				Map.of("FIX-BeginString", List.of(FixVersions.BEGINSTRING_FIX44),
+						"FIX-SenderCompID", List.of("client"),
+						"FIX-TargetCompID", List.of("server")));
+
+		assertEquals(
+				new SessionID(FixVersions.BEGINSTRING_FIX44, "server", "client"),
+				FixConfigurator.sessionId(request));
+	}
+
+	@Test
+	public void sessionId_absent() {
+		var request = new Request(Map.of("SenderCompID", List.of("client")), Map.of());
+
+		assertNull(FixConfigurator.sessionId(request));
+	}
+
+	@Test
+	public void defined() throws ConfigError {
+		var settings = new SessionSettings();
+		var template = new SessionID(FixVersions.BEGINSTRING_FIXT11, "*", "*");
+		settings.setBool(template, Acceptor.SETTING_ACCEPTOR_TEMPLATE, true);
+		var named = new SessionID(FixVersions.BEGINSTRING_FIXT11, "server", "named");
+		settings.setString(named, SessionFactory.SETTING_CONNECTION_TYPE, SessionFactory.ACCEPTOR_CONNECTION_TYPE);
+
+		assertEquals(Set.of(named), FixConfigurator.defined(settings));
+	}
+
+	@Test
+	public void modifyHandshake_undefined() {
+		var request = new Request(
+				Map.of("SenderCompID", List.of("handshake"), "TargetCompID", List.of("server")),
+				Map.of());
+
+		new FixConfigurator().modifyHandshake(FixEndpoint.config("/fix", List.of(FixVersions.FIX50)), request, null);
+
+		// only matches the acceptor template, so left until the logon is admitted
+		assertNull(Session.lookupSession(new SessionID(FixVersions.BEGINSTRING_FIXT11, "server", "handshake")));
+	}
+
+	@Test
+	public void resolve_noTimer() {
+		var configurator = new FixConfigurator();
+		configurator.resolve();
+
+		assertSame(SessionTimer.common(), configurator.timer());
+	}
+
+
+	// --- Inner Classes ---
+
+	private static class Request implements HandshakeRequest {
+		private final Map<String, List<String>> parameters;
+		private final Map<String, List<String>> headers;
+
+		Request(Map<String, List<String>> parameters, Map<String, List<String>> headers) {
+			this.parameters = parameters;
+			this.headers = headers;
+		}
+
+		@Override
+		public Map<String, List<String>> getHeaders() {
+			return this.headers;
+		}
+
+		@Override
+		public Principal getUserPrincipal() {
+			return null;
+		}
+
+		@Override
+		public URI getRequestURI() {
+			return URI.create("ws://localhost/fix");
+		}
+
+		@Override
+		public boolean isUserInRole(String role) {
+			return false;
+		}
+
+		@Override
+		public Object getHttpSession() {
+			return null;
+		}
+
+		@Override
+		public Map<String, List<String>> getParameterMap() {
+			return this.parameters;
+		}
+
+		@Override
+		public String getQueryString() {
+			return null;
+		}
+	}
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2026 Daniel Siviter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.dansiviter.fixws;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.util.List;
+
+import org.jboss.weld.junit5.EnableWeld;
+import org.jboss.weld.junit5.WeldInitiator;
+import org.jboss.weld.junit5.WeldSetup;
+import org.junit.jupiter.api.Test;
+
+import quickfix.FixVersions;
+import quickfix.MemoryStoreFactory;
+import quickfix.Session;
+import quickfix.SessionID;
+import uk.dansiviter.fixws.client.FixClient;
+import uk.dansiviter.fixws.inmemory.InMemoryContainer;
+import uk.dansiviter.juli.cdi.LogExtension;
+
+/**
+ * @author Daniel Siviter
+ * @since v1.0 [19 Oct 2026]
+ */
+@EnableWeld
+public class FixEndpointTest {
+	@WeldSetup
+	public WeldInitiator weld = WeldInitiator.of(
+		LogExtension.class,
+		LogFactoryProducer.class,
+		SessionProviderProducer.class,
+		SessionFactoryProducer.class,
+		FixApplication.class,
+		SessionSettingsProducer.class,
+		AllocationTest.MemoryStoreProducer.class,
+		SessionTimerProducer.class,
+		Metrics.class);
+
+	@Test
+	void close_disconnects() throws Exception {
+		var clientId = new SessionID(FixVersions.BEGINSTRING_FIXT11, "ClosingClient", "WsServer");
+		var container = new InMemoryContainer(FixEndpoint.config("/fix", List.of(FixVersions.FIX50)));
+		var client = new FixClient(
+				container,
+				URI.create("ws://localhost/fix"),
+				Fixtures.clientSettings(clientId.getSenderCompID()),
+				new MemoryStoreFactory()) { };
+		client.start();
+		var qfSession = Session.lookupSession(FixUtil.reverse(clientId));
+		assertTrue(qfSession.isLoggedOn());
+
+		// closes the WebSocket without a Logout
+		Session.lookupSession(clientId).getResponder().disconnect();
+
+		// unbound so a reconnecting client can bind to it
+		assertFalse(qfSession.hasResponder());
+		assertFalse(qfSession.isLoggedOn());
+		client.close();
+	}
+}
@@ -0,0 +1,243 @@
+/*
+ * Copyright 2026 Daniel Siviter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.dansiviter.fixws;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.inject.Produces;
+import javax.inject.Inject;
+
+import org.jboss.weld.junit5.EnableWeld;
+import org.jboss.weld.junit5.WeldInitiator;
+import org.jboss.weld.junit5.WeldSetup;
+import org.junit.jupiter.api.Test;
+
+import quickfix.FieldNotFound;
+import quickfix.FixVersions;
+import quickfix.Message;
+import quickfix.SessionID;
+import quickfix.SessionSettings;
+import quickfix.field.ClOrdID;
+import quickfix.field.MsgType;
+import uk.dansiviter.juli.cdi.LogExtension;
+
+/**
+ * @author Daniel Siviter
+ * @since v1.0 [19 Oct 2026]
+ */
+@EnableWeld
+public class FixPublishersTest {
+	private static final SessionID SESSION_ID = new SessionID(FixVersions.BEGINSTRING_FIXT11, "server", "client");
+	private static final SessionID OTHER_ID = new SessionID(FixVersions.BEGINSTRING_FIXT11, "server", "other");
+
+	@WeldSetup
+	public WeldInitiator weld = WeldInitiator.of(
+		LogExtension.class,
+		FixApplication.class,
+		FixPublishers.class,
+		Metrics.class,
+		Producer.class);
+
+	@Inject
+	private FixApplication application;
+	@Inject
+	private FixPublishers publishers;
+
+	@Test
+	public void publisher() throws Exception {
+		var orders = new Recorder(Long.MAX_VALUE);
+		this.publishers.publisher(SESSION_ID, MsgType.ORDER_SINGLE).subscribe(orders);
+		var all = new Recorder(Long.MAX_VALUE);
+		this.publishers.publisher(SESSION_ID).subscribe(all);
+		var other = new Recorder(Long.MAX_VALUE);
+		this.publishers.publisher(OTHER_ID).subscribe(other);
+
+		this.application.fromApp(message(SESSION_ID, MsgType.ORDER_SINGLE, "1"), SESSION_ID);
+		this.application.fromApp(message(SESSION_ID, MsgType.ORDER_CANCEL_REQUEST, "2"), SESSION_ID);
+		this.application.fromApp(message(SESSION_ID, MsgType.ORDER_SINGLE, "3"), SESSION_ID);
+
+		await().atMost(5, SECONDS).until(() -> all.received.size() == 3);
+		await().atMost(5, SECONDS).until(() -> orders.received.size() == 2);
+		assertThat(orders.received, contains("1", "3"));
+		assertThat(all.received, contains("1", "2", "3"));
+		assertThat(other.received, empty());
+	}
+
+	@Test
+	public void publisher_noSubscribers() {
+		this.publishers.publisher(SESSION_ID, MsgType.ORDER_SINGLE);
+
+		assertFalse(this.publishers.subscribed(SESSION_ID, MsgType.ORDER_SINGLE));
+		assertFalse(this.publishers.subscribed(OTHER_ID, MsgType.ORDER_SINGLE));
+	}
+
+	@Test
+	public void backpressure() throws Exception {
+		var subscriber = new Recorder(0);
+		this.publishers.publisher(SESSION_ID, MsgType.ORDER_SINGLE).subscribe(subscriber);
+		await().atMost(5, SECONDS).until(() -> subscriber.subscription != null);
+		assertTrue(this.publishers.subscribed(SESSION_ID, MsgType.ORDER_SINGLE));
+
+		var total = Flow.defaultBufferSize() * 2;
+		var sent = new AtomicInteger();
+		var inbound = new Thread(() -> {
+			for (int i = 0; i < total; i++) {
+				try {
+					this.application.fromApp(message(SESSION_ID, MsgType.ORDER_SINGLE, Integer.toString(i)), SESSION_ID);
+				} catch (Exception e) {
+					throw new IllegalStateException(e);
+				}
+				sent.incrementAndGet();
+			}
+		});
+		inbound.start();
+
+		await().atMost(5, SECONDS).until(() -> inbound.getState() == Thread.State.TIMED_WAITING);
+		assertThat(sent.get(), lessThan(total));
+
+		subscriber.subscription.request(Long.MAX_VALUE);
+		inbound.join(SECONDS.toMillis(5));
+		await().atMost(5, SECONDS).until(() -> subscriber.received.size() == total);
+	}
+
+
+	@Test
+	public void slowSubscriber() throws Exception {
+		var slow = new Recorder(0);
+		this.publishers.publisher(SESSION_ID, MsgType.ORDER_SINGLE).subscribe(slow);
+		var fast = new Recorder(Long.MAX_VALUE);
+		this.publishers.publisher(SESSION_ID, MsgType.ORDER_SINGLE).subscribe(fast);
+		await().atMost(5, SECONDS).until(() -> slow.subscription != null);
+
+		var total = Flow.defaultBufferSize() + 1;
+		for (int i = 0; i < total; i++) {
+			this.application.fromApp(message(SESSION_ID, MsgType.ORDER_SINGLE, Integer.toString(i)), SESSION_ID);
+		}
+
+		// the slow subscriber is dropped after the timeout, the fast one gets everything
+		await().atMost(5, SECONDS).until(() -> slow.error != null);
+		assertThat(slow.error, instanceOf(TimeoutException.class));
+		await().atMost(5, SECONDS).until(() -> fast.received.size() == total);
+		assertTrue(this.publishers.subscribed(SESSION_ID, MsgType.ORDER_SINGLE));
+	}
+
+	@Test
+	public void subscribe_whilePublishing() throws Exception {
+		var running = new AtomicBoolean(true);
+		var message = message(SESSION_ID, MsgType.ORDER_SINGLE, "1");
+		var inbound = new Thread(() -> {
+			while (running.get()) {  // publish directly to widen any window between subscribing and offering
+				this.publishers.publish(message, MsgType.ORDER_SINGLE, SESSION_ID);
+			}
+		});
+		inbound.start();
+
+		var subscribers = new ArrayList<Recorder>();
+		try {
+			for (int i = 0; i < 1_000; i++) {
+				var subscriber = new Recorder(Long.MAX_VALUE);
+				this.publishers.publisher(SESSION_ID, MsgType.ORDER_SINGLE).subscribe(subscriber);
+				subscribers.add(subscriber);
+			}
+
+			// none are mistaken for cancelled and completed before receiving anything
+			await().atMost(5, SECONDS).until(() -> subscribers.stream().allMatch(s -> !s.received.isEmpty()));
+			assertTrue(subscribers.stream().noneMatch(s -> s.completed));
+		} finally {
+			running.set(false);
+			inbound.join(SECONDS.toMillis(5));
+		}
+	}
+
+
+	// --- Static Methods ---
+
+	private static Message message(SessionID sessionId, String msgType, String clOrdId) {
+		var message = new Message();
+		message.getHeader().setString(MsgType.FIELD, msgType);
+		FixUtil.setReverse(sessionId, message);
+		message.setString(ClOrdID.FIELD, clOrdId);
+		return message;
+	}
+
+
+	// --- Inner Classes ---
+
+	public static class Producer {
+		@Produces @ApplicationScoped
+		public SessionSettings sessionSettings() {
+			var settings = new SessionSettings();
+			settings.setLong(FixPublishers.PUBLISHER_TIMEOUT, 2);
+			return settings;
+		}
+	}
+
+	private static class Recorder implements Flow.Subscriber<Message> {
+		private final List<String> received = new CopyOnWriteArrayList<>();
+		private final long initial;
+		private volatile Flow.Subscription subscription;
+		private volatile Throwable error;
+		private volatile boolean completed;
+
+		Recorder(long initial) {
+			this.initial = initial;
+		}
+
+		@Override
+		public void onSubscribe(Flow.Subscription subscription) {
+			this.subscription = subscription;
+			if (this.initial > 0) {
+				subscription.request(this.initial);
+			}
+		}
+
+		@Override
+		public void onNext(Message item) {
+			try {
+				this.received.add(item.getString(ClOrdID.FIELD));
+			} catch (FieldNotFound e) {
+				throw new IllegalStateException(e);
+			}
+		}
+
+		@Override
+		public void onError(Throwable throwable) {
+			this.error = throwable;
+		}
+
+		@Override
+		public void onComplete() {
+			this.completed = true;
+		}
+	}
+}
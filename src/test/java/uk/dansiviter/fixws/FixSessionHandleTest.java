@@ -0,0 +1,216 @@
+/*
+ * Copyright 2026 Daniel Siviter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.dansiviter.fixws;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedTransferQueue;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+
+import org.jboss.weld.junit5.EnableWeld;
+import org.jboss.weld.junit5.WeldInitiator;
+import org.jboss.weld.junit5.WeldSetup;
+import org.junit.jupiter.api.Test;
+
+import quickfix.FieldException;
+import quickfix.FieldNotFound;
+import quickfix.FixVersions;
+import quickfix.Group;
+import quickfix.MemoryStoreFactory;
+import quickfix.Message;
+import quickfix.SessionID;
+import quickfix.field.Headline;
+import quickfix.field.LinesOfText;
+import quickfix.field.MsgType;
+import quickfix.field.Text;
+import quickfix.field.UserRequestID;
+import quickfix.field.UserRequestType;
+import quickfix.field.Username;
+import uk.dansiviter.fixws.annotations.FromApp;
+import uk.dansiviter.fixws.annotations.OnLogon;
+import uk.dansiviter.fixws.annotations.OnLogout;
+import uk.dansiviter.fixws.client.FixClient;
+import uk.dansiviter.fixws.inmemory.InMemoryContainer;
+import uk.dansiviter.juli.cdi.LogExtension;
+
+/**
+ * @author Daniel Siviter
+ * @since v1.0 [19 Oct 2026]
+ */
+@EnableWeld
+public class FixSessionHandleTest {
+	@WeldSetup
+	public WeldInitiator weld = WeldInitiator.of(
+		LogExtension.class,
+		LogFactoryProducer.class,
+		SessionProviderProducer.class,
+		SessionFactoryProducer.class,
+		FixApplication.class,
+		SessionSettingsProducer.class,
+		AllocationTest.MemoryStoreProducer.class,
+		SessionTimerProducer.class,
+		Handles.class,
+		Metrics.class);
+
+	@Inject
+	private Handles handles;
+
+	@Test
+	void send() throws Exception {
+		var queue = new LinkedTransferQueue<Message>();
+		var container = new InMemoryContainer(FixEndpoint.config("/fix", List.of(FixVersions.FIX50)));
+		var client = new FixClient(
+				container,
+				URI.create("ws://localhost/fix"),
+				Fixtures.clientSettings("HandleClient"),
+				new MemoryStoreFactory())
+		{
+			@Override
+			public void fromApp(Message message, SessionID sessionId) {
+				queue.add(message);
+			}
+		};
+		client.start();
+
+		var handle = this.handles.logon();
+		assertNotNull(handle);
+		assertEquals(new SessionID(FixVersions.BEGINSTRING_FIXT11, "WsServer", "HandleClient"), handle.getSessionID());
+		assertTrue(handle.isLoggedOn());
+
+		// no header populated; the handle is already bound to the session
+		assertTrue(handle.send(news("Hello")));
+		assertEquals("Hello", queue.poll().getString(Headline.FIELD));
+
+		client.close();
+		assertSame(handle, this.handles.logout());
+		assertFalse(handle.isLoggedOn());
+	}
+
+	@Test
+	void sendAndAwait() throws Exception {
+		var container = new InMemoryContainer(FixEndpoint.config("/fix", List.of(FixVersions.FIX50)));
+		var client = new FixClient(
+				container,
+				URI.create("ws://localhost/fix"),
+				Fixtures.clientSettings("AwaitClient"),
+				new MemoryStoreFactory())
+		{
+			@Override
+			public void fromApp(Message message, SessionID sessionId) throws FieldNotFound {
+				if (MsgType.USER_REQUEST.equals(FixUtil.msgType(message))) {
+					send(userResponse(message));
+				}
+			}
+		};
+		client.start();
+		var handle = this.handles.logon();
+
+		// server to client
+		var response = handle.sendAndAwait(userRequest("server-1"), Duration.ofSeconds(5)).get(5, SECONDS);
+		assertEquals(MsgType.USER_RESPONSE, FixUtil.msgType(response));
+		assertEquals("server-1", response.getString(UserRequestID.FIELD));
+
+		// missing Username
+		var invalid = userRequest("server-2");
+		invalid.removeField(Username.FIELD);
+		var e = assertThrows(ExecutionException.class,
+				() -> handle.sendAndAwait(invalid, Duration.ofSeconds(5)).get(5, SECONDS));
+		assertThat(e.getCause(), instanceOf(FieldException.class));
+
+		// client to server
+		response = client.sendAndAwait(userRequest("client-1"), Duration.ofSeconds(5)).get(5, SECONDS);
+		assertEquals(MsgType.USER_RESPONSE, FixUtil.msgType(response));
+		assertEquals("client-1", response.getString(UserRequestID.FIELD));
+
+		client.close();
+	}
+
+
+	// --- Static Methods ---
+
+	private static Message news(String headline) {
+		var news = new Message();
+		news.getHeader().setString(MsgType.FIELD, MsgType.NEWS);
+		news.setString(Headline.FIELD, headline);
+		var text = new Group(LinesOfText.FIELD, Text.FIELD);
+		text.setString(Text.FIELD, "World");
+		news.addGroup(text);
+		return news;
+	}
+
+	private static Message userRequest(String id) {
+		var request = new Message();
+		request.getHeader().setString(MsgType.FIELD, MsgType.USER_REQUEST);
+		request.setString(UserRequestID.FIELD, id);
+		request.setInt(UserRequestType.FIELD, UserRequestType.REQUEST_INDIVIDUAL_USER_STATUS);
+		request.setString(Username.FIELD, "jdoe");
+		return request;
+	}
+
+	private static Message userResponse(Message request) throws FieldNotFound {
+		var response = new Message();
+		response.getHeader().setString(MsgType.FIELD, MsgType.USER_RESPONSE);
+		response.setString(UserRequestID.FIELD, request.getString(UserRequestID.FIELD));
+		response.setString(Username.FIELD, request.getString(Username.FIELD));
+		return response;
+	}
+
+
+	// --- Inner Classes ---
+
+	@ApplicationScoped
+	public static class Handles {
+		private volatile FixSessionHandle logon;
+		private volatile FixSessionHandle logout;
+
+		public void onLogon(@Observes @OnLogon FixSessionHandle handle) {
+			this.logon = handle;
+		}
+
+		public void onLogout(@Observes @OnLogout FixSessionHandle handle) {
+			this.logout = handle;
+		}
+
+		public void on(@Observes @FromApp Message message) throws FieldNotFound {
+			if (MsgType.USER_REQUEST.equals(FixUtil.msgType(message))) {
+				this.logon.send(userResponse(message));
+			}
+		}
+
+		FixSessionHandle logon() {
+			return this.logon;
+		}
+
+		FixSessionHandle logout() {
+			return this.logout;
+		}
+	}
+}
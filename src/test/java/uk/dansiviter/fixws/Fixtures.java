@@ -0,0 +1,180 @@
+/*
+ * Copyright 2026 Daniel Siviter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.dansiviter.fixws;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import quickfix.ApplicationAdapter;
+import quickfix.ConfigError;
+import quickfix.DefaultSessionFactory;
+import quickfix.FixVersions;
+import quickfix.MemoryStoreFactory;
+import quickfix.Message;
+import quickfix.Session;
+import quickfix.SessionFactory;
+import quickfix.SessionID;
+import quickfix.SessionSettings;
+import quickfix.field.ApplVerID;
+import quickfix.field.BeginString;
+import quickfix.field.ClOrdID;
+import quickfix.field.DefaultApplVerID;
+import quickfix.field.EncryptMethod;
+import quickfix.field.HandlInst;
+import quickfix.field.HeartBtInt;
+import quickfix.field.MsgSeqNum;
+import quickfix.field.MsgType;
+import quickfix.field.OrdType;
+import quickfix.field.OrderQty;
+import quickfix.field.Price;
+import quickfix.field.ResetSeqNumFlag;
+import quickfix.field.SenderCompID;
+import quickfix.field.SendingTime;
+import quickfix.field.Side;
+import quickfix.field.Symbol;
+import quickfix.field.TargetCompID;
+import quickfix.field.TimeInForce;
+import quickfix.field.TransactTime;
+import uk.dansiviter.juli.LogProducer;
+
+/**
+ * Messages and settings shared by the tests and benchmarks.
+ *
+ * @author Daniel Siviter
+ * @since v1.0 [19 Oct 2026]
+ */
+public enum Fixtures { ;
+	/** A session as seen by the gateway. */
+	public static final SessionID SESSION_ID = new SessionID(FixVersions.BEGINSTRING_FIXT11, "server", "client");
+
+	/**
+	 * @return a typical limit order.
+	 */
+	public static Message newOrderSingle() {
+		var order = new Message();
+		order.getHeader().setString(MsgType.FIELD, MsgType.ORDER_SINGLE);
+		order.setString(ClOrdID.FIELD, "ORD-0000012345");
+		order.setChar(HandlInst.FIELD, HandlInst.AUTOMATED_EXECUTION_ORDER_PRIVATE_NO_BROKER_INTERVENTION);
+		order.setString(Symbol.FIELD, "VOD.L");
+		order.setChar(Side.FIELD, Side.BUY);
+		order.setUtcTimeStamp(TransactTime.FIELD, LocalDateTime.now());
+		order.setDecimal(OrderQty.FIELD, new BigDecimal("1000"));
+		order.setChar(OrdType.FIELD, OrdType.LIMIT);
+		order.setDecimal(Price.FIELD, new BigDecimal("162.25"));
+		order.setChar(TimeInForce.FIELD, TimeInForce.DAY);
+		return order;
+	}
+
+	/**
+	 * @param sessionId the session sending the order.
+	 * @param seqNum the sequence number.
+	 * @return a small order with its header populated, to which tests add the fields they exercise.
+	 */
+	public static Message order(SessionID sessionId, int seqNum) {
+		var order = new Message();
+		var header = order.getHeader();
+		header.setString(MsgType.FIELD, MsgType.ORDER_SINGLE);
+		FixUtil.set(sessionId, order);
+		header.setInt(MsgSeqNum.FIELD, seqNum);
+		header.setField(new SendingTime());
+		order.setString(ClOrdID.FIELD, "ORD-1");
+		order.setString(Symbol.FIELD, "VOD.L");
+		order.setChar(Side.FIELD, Side.BUY);
+		order.setInt(OrderQty.FIELD, 1_000);
+		order.setDecimal(Price.FIELD, new BigDecimal("162.25"));
+		return order;
+	}
+
+	/**
+	 * @return a logon that resets sequence numbers, without a header.
+	 */
+	public static Message logon() {
+		var logon = new Message();
+		logon.getHeader().setString(MsgType.FIELD, MsgType.LOGON);
+		logon.setInt(EncryptMethod.FIELD, EncryptMethod.NONE_OTHER);
+		logon.setInt(HeartBtInt.FIELD, 30);
+		logon.setBoolean(ResetSeqNumFlag.FIELD, true);
+		logon.setString(DefaultApplVerID.FIELD, ApplVerID.FIX50);
+		return logon;
+	}
+
+	/**
+	 * Populates the header as if sent by the counterparty of {@link #SESSION_ID}.
+	 *
+	 * @param message the message.
+	 * @param seqNum the sequence number.
+	 * @return the message.
+	 */
+	public static Message inbound(Message message, int seqNum) {
+		var header = message.getHeader();
+		header.setString(BeginString.FIELD, FixVersions.BEGINSTRING_FIXT11);
+		header.setString(SenderCompID.FIELD, SESSION_ID.getTargetCompID());
+		header.setString(TargetCompID.FIELD, SESSION_ID.getSenderCompID());
+		header.setInt(MsgSeqNum.FIELD, seqNum);
+		header.setField(new SendingTime());
+		return message;
+	}
+
+	/**
+	 * @param senderCompId the client's {@code SenderCompID}, unique per test so sessions don't collide.
+	 * @return the {@code /client.qfxj} settings for the client.
+	 */
+	public static SessionSettings clientSettings(String senderCompId) throws IOException, ConfigError {
+		try (var is = Fixtures.class.getResourceAsStream("/client.qfxj")) {
+			var settings = new String(is.readAllBytes(), StandardCharsets.UTF_8).replace("WsClient", senderCompId);
+			return new SessionSettings(new ByteArrayInputStream(settings.getBytes(StandardCharsets.UTF_8)));
+		}
+	}
+
+	/**
+	 * @param useDataDictionary {@code true} to validate against the default dictionaries of the FIX version.
+	 * @return the settings of an acceptor session that is always in session.
+	 */
+	public static SessionSettings sessionSettings(boolean useDataDictionary) {
+		var settings = new SessionSettings();
+		settings.setString(SessionFactory.SETTING_CONNECTION_TYPE, SessionFactory.ACCEPTOR_CONNECTION_TYPE);
+		settings.setString(Session.SETTING_START_TIME, "00:00:00");
+		settings.setString(Session.SETTING_END_TIME, "00:00:00");
+		settings.setString(Session.SETTING_DEFAULT_APPL_VER_ID, FixVersions.FIX50);
+		settings.setBool(Session.SETTING_USE_DATA_DICTIONARY, useDataDictionary);
+		return settings;
+	}
+
+	/**
+	 * @param sessionId the session.
+	 * @param useDataDictionary {@code true} to validate against the default dictionaries of the FIX version.
+	 * @return an acceptor session, not connected, which must be closed.
+	 */
+	public static Session session(SessionID sessionId, boolean useDataDictionary) throws ConfigError {
+		return session(sessionId, sessionSettings(useDataDictionary));
+	}
+
+	/**
+	 * @param sessionId the session.
+	 * @param settings the session's settings.
+	 * @return the session, not connected, which must be closed.
+	 */
+	public static Session session(SessionID sessionId, SessionSettings settings) throws ConfigError {
+		var factory = new DefaultSessionFactory(
+				new ApplicationAdapter(),
+				new MemoryStoreFactory(),
+				id -> LogProducer.log(Log.class, "test:" + id));
+		return factory.create(sessionId, settings);
+	}
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2026 Daniel Siviter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.dansiviter.fixws;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+import quickfix.FieldNotFound;
+import quickfix.FixVersions;
+import quickfix.Message;
+import quickfix.MessageUtils;
+import quickfix.SessionID;
+import quickfix.field.BeginString;
+import quickfix.field.MsgType;
+import quickfix.field.SenderCompID;
+import quickfix.field.SenderSubID;
+import quickfix.field.TargetCompID;
+import quickfix.field.TargetSubID;
+
+/**
+ * @author Daniel Siviter
+ * @since v1.0 [19 Oct 2026]
+ */
+public class HeaderTemplateTest {
+	private static final SessionID SESSION_ID = new SessionID(FixVersions.BEGINSTRING_FIXT11, "server", "client");
+
+	@Test
+	public void apply() throws FieldNotFound {
+		var expected = message();
+		expected.getHeader().setString(BeginString.FIELD, SESSION_ID.getBeginString());
+		expected.getHeader().setString(SenderCompID.FIELD, SESSION_ID.getSenderCompID());
+		expected.getHeader().setString(TargetCompID.FIELD, SESSION_ID.getTargetCompID());
+
+		var actual = HeaderTemplate.of(SESSION_ID).apply(message());
+
+		assertEquals(SESSION_ID, MessageUtils.getSessionID(actual));
+		assertEquals(expected.toString(), actual.toString());
+		assertFalse(actual.getHeader().isSetField(SenderSubID.FIELD));
+	}
+
+	@Test
+	public void apply_subIds() throws FieldNotFound {
+		var sessionId = new SessionID(FixVersions.BEGINSTRING_FIX44, "server", "desk", "client", "trader");
+
+		var message = HeaderTemplate.of(sessionId).apply(message());
+
+		assertEquals("desk", message.getHeader().getString(SenderSubID.FIELD));
+		assertEquals("trader", message.getHeader().getString(TargetSubID.FIELD));
+	}
+
+	@Test
+	public void reverse() {
+		var template = HeaderTemplate.reverse(SESSION_ID);
+
+		assertEquals(FixUtil.reverse(SESSION_ID), template.getSessionID());
+		assertEquals(FixUtil.reverse(SESSION_ID), MessageUtils.getSessionID(template.apply(message())));
+	}
+
+	@Test
+	public void cached() {
+		assertSame(HeaderTemplate.of(SESSION_ID), HeaderTemplate.of(new SessionID(SESSION_ID.toString())));
+		assertSame(HeaderTemplate.reverse(SESSION_ID), HeaderTemplate.reverse(SESSION_ID));
+	}
+
+	@Test
+	public void replace() throws FieldNotFound {
+		var template = HeaderTemplate.of(SESSION_ID);
+		var first = template.apply(message());
+		var second = template.apply(message());
+
+		second.getHeader().setString(TargetCompID.FIELD, "other");
+
+		assertEquals("client", first.getHeader().getString(TargetCompID.FIELD));
+		assertEquals("client", template.apply(message()).getHeader().getString(TargetCompID.FIELD));
+	}
+
+
+	// --- Static Methods ---
+
+	private static Message message() {
+		var message = new Message();
+		message.getHeader().setString(MsgType.FIELD, MsgType.NEWS);
+		return message;
+	}
+}
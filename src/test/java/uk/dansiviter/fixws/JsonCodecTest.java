@@ -0,0 +1,215 @@
+/*
+ * Copyright 2026 Daniel Siviter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.dansiviter.fixws;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.websocket.ClientEndpointConfig;
+import javax.websocket.Endpoint;
+import javax.websocket.EndpointConfig;
+
+import org.jboss.weld.junit5.EnableWeld;
+import org.jboss.weld.junit5.WeldInitiator;
+import org.jboss.weld.junit5.WeldSetup;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import quickfix.ConfigError;
+import quickfix.FieldNotFound;
+import quickfix.FixVersions;
+import quickfix.Group;
+import quickfix.InvalidMessage;
+import quickfix.MemoryStoreFactory;
+import quickfix.Message;
+import quickfix.Session;
+import quickfix.SessionID;
+import quickfix.field.ApplVerID;
+import quickfix.field.BodyLength;
+import quickfix.field.CheckSum;
+import quickfix.field.ClOrdID;
+import quickfix.field.MsgSeqNum;
+import quickfix.field.MsgType;
+import quickfix.field.NoPartyIDs;
+import quickfix.field.OrderQty;
+import quickfix.field.PartyID;
+import quickfix.field.PartyIDSource;
+import quickfix.field.PartyRole;
+import quickfix.field.Text;
+import uk.dansiviter.fixws.client.FixClient;
+import uk.dansiviter.fixws.inmemory.InMemoryContainer;
+import uk.dansiviter.juli.cdi.LogExtension;
+
+/**
+ * @author Daniel Siviter
+ * @since v1.0 [19 Oct 2026]
+ */
+@EnableWeld
+public class JsonCodecTest {
+	private static final String SUBPROTOCOL = FixVersions.FIX50 + Codec.SEPARATOR + JsonCodec.NAME;
+
+	@WeldSetup
+	public WeldInitiator weld = WeldInitiator.of(
+		LogExtension.class,
+		LogFactoryProducer.class,
+		SessionProviderProducer.class,
+		SessionFactoryProducer.class,
+		FixApplication.class,
+		SessionSettingsProducer.class,
+		AllocationTest.MemoryStoreProducer.class,
+		SessionTimerProducer.class,
+		Metrics.class);
+
+	private final JsonCodec codec = new JsonCodec();
+
+	private Session session;
+
+	@BeforeEach
+	public void before() throws ConfigError {
+		this.session = Fixtures.session(Fixtures.SESSION_ID, true);
+	}
+
+	@AfterEach
+	public void after() throws IOException {
+		this.session.close();
+	}
+
+	@Test
+	public void encode() throws IOException {
+		var json = JsonCodec.encode(order().toString(), this.session);
+
+		assertThat(json, startsWith("{\"Header\":{\"BeginString\":\"FIXT.1.1\",\"MsgType\":\"D\","));
+		assertThat(json, containsString(
+				"\"NoPartyIDs\":[{\"PartyID\":\"ABC\",\"PartyIDSource\":\"D\",\"PartyRole\":\"1\"},"
+				+ "{\"PartyID\":\"XYZ\",\"PartyIDSource\":\"D\",\"PartyRole\":\"3\"}]"));
+		assertThat(json, containsString("\"Text\":\"say \\\"hi\\\"\\u0009\""));
+		assertThat(json, not(containsString("BodyLength")));
+		assertThat(json, not(containsString("CheckSum")));
+	}
+
+	@Test
+	public void roundTrip() throws IOException, InvalidMessage, FieldNotFound {
+		var order = order();
+		var data = order.toString();
+
+		var decoded = this.codec.decode(JsonCodec.encode(data, this.session), (id, msgType) -> this.session);
+
+		// required for validation, so set without rendering to tag=value
+		assertThat(data, containsString("\u00019=" + decoded.getHeader().getInt(BodyLength.FIELD) + "\u0001"));
+		assertThat(data, endsWith("\u000110=" + decoded.getTrailer().getString(CheckSum.FIELD) + "\u0001"));
+		assertEquals(data, decoded.toString());
+	}
+
+	@Test
+	public void decode_lenient() throws InvalidMessage, FieldNotFound {
+		var json = "{ \"Header\": { \"MsgType\": \"D\", \"BeginString\": \"FIXT.1.1\", \"SenderCompID\": \"client\", "
+				+ "\"TargetCompID\": \"server\", \"ApplVerID\": \"7\", \"MsgSeqNum\": 2, \"PossDupFlag\": false },\n"
+				+ "\"Body\": { \"ClOrdID\": \"a\\\\b\\u0041\", \"OrderQty\": 100, \"NoPartyIDs\": [] } }";
+
+		var decoded = this.codec.decode(json, (id, msgType) -> this.session);
+
+		assertEquals(2, decoded.getHeader().getInt(MsgSeqNum.FIELD));
+		assertEquals("N", decoded.getHeader().getString(43));
+		assertEquals("a\\bA", decoded.getString(ClOrdID.FIELD));
+		assertEquals("100", decoded.getString(OrderQty.FIELD));
+		assertEquals(0, decoded.getInt(NoPartyIDs.FIELD));
+	}
+
+	@Test
+	public void decode_invalid() {
+		assertThrows(InvalidMessage.class, () -> this.codec.decode("{\"Body\":{}}", (id, msgType) -> this.session));
+		assertThrows(InvalidMessage.class, () -> this.codec.decode("{\"Header\":{\"MsgType\":\"D\"}}", (id, msgType) -> this.session));
+		assertThrows(InvalidMessage.class, () -> this.codec.decode(
+				"{\"Header\":{\"BeginString\":\"FIXT.1.1\",\"MsgType\":\"D\",\"SenderCompID\":\"client\","
+				+ "\"TargetCompID\":\"server\"},\"Body\":{\"Nonsense\":\"1\"}}", (id, msgType) -> this.session));
+		assertThrows(InvalidMessage.class, () -> this.codec.decode(
+				"{\"Header\":{\"BeginString\":\"FIXT.1.1\",\"MsgType\":\"D\",\"SenderCompID\":\"client\","
+				+ "\"TargetCompID\":\"server\"},\"Body\":{\"ClOrdID\":\"1", (id, msgType) -> this.session));
+	}
+
+	@Test
+	public void invalid_beforeLogon() throws Exception {
+		var container = new InMemoryContainer(FixEndpoint.config("/fix", List.of(FixVersions.FIX50, SUBPROTOCOL)));
+		var config = ClientEndpointConfig.Builder.create()
+				.preferredSubprotocols(FixEndpoint.subprotocols(SUBPROTOCOL))
+				.build();
+		var client = container.connectToServer(new Endpoint() {
+			@Override
+			public void onOpen(javax.websocket.Session session, EndpointConfig config) { }
+		}, config, URI.create("ws://localhost/fix"));
+
+		// a session is only created for a logon, so this can't be decoded
+		client.getBasicRemote().sendText("{\"Header\":{\"BeginString\":\"FIXT.1.1\",\"MsgType\":\"D\","
+				+ "\"SenderCompID\":\"JsonUnknown\",\"TargetCompID\":\"WsServer\"},\"Body\":{}}");
+
+		assertFalse(client.isOpen());
+		assertNull(Session.lookupSession(new SessionID(FixVersions.BEGINSTRING_FIXT11, "WsServer", "JsonUnknown")));
+	}
+
+	@Test
+	public void logon() throws Exception {
+		var settings = Fixtures.clientSettings("JsonClient");
+		var sessionId = new SessionID(FixVersions.BEGINSTRING_FIXT11, "JsonClient", "WsServer");
+		settings.setString(sessionId, FixClient.WEBSOCKET_SUBPROTOCOL, FixEndpoint.subprotocols(SUBPROTOCOL).get(0));
+		var container = new InMemoryContainer(FixEndpoint.config("/fix", List.of(FixVersions.FIX50, SUBPROTOCOL)));
+		var loggedOn = new AtomicBoolean();
+		var client = new FixClient(container, URI.create("ws://localhost/fix"), settings, new MemoryStoreFactory()) {
+			@Override
+			public void onLogon(SessionID sessionId) {
+				loggedOn.set(true);
+			}
+		};
+
+		client.start();
+
+		assertTrue(loggedOn.get());
+		client.close();
+	}
+
+
+	// --- Static Methods ---
+
+	private static Message order() {
+		var order = Fixtures.order(Fixtures.SESSION_ID, 2);
+		order.getHeader().setString(ApplVerID.FIELD, ApplVerID.FIX50);
+		order.setString(Text.FIELD, "say \"hi\"\t");
+		order.addGroup(party("ABC", PartyRole.EXECUTING_FIRM));
+		order.addGroup(party("XYZ", PartyRole.CLIENT_ID));
+		return order;
+	}
+
+	private static Group party(String id, int role) {
+		var party = new Group(NoPartyIDs.FIELD, PartyID.FIELD);
+		party.setString(PartyID.FIELD, id);
+		party.setChar(PartyIDSource.FIELD, PartyIDSource.PROPRIETARY_CUSTOM_CODE);
+		party.setInt(PartyRole.FIELD, role);
+		return party;
+	}
+}
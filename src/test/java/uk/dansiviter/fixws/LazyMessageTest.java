@@ -0,0 +1,192 @@
+/*
+ * Copyright 2026 Daniel Siviter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.dansiviter.fixws;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import quickfix.ConfigError;
+import quickfix.DataDictionary;
+import quickfix.FieldConvertError;
+import quickfix.FieldNotFound;
+import quickfix.FixVersions;
+import quickfix.Group;
+import quickfix.InvalidMessage;
+import quickfix.Message;
+import quickfix.MessageUtils;
+import quickfix.Session;
+import quickfix.SessionID;
+import quickfix.field.ClOrdID;
+import quickfix.field.HopCompID;
+import quickfix.field.LastMsgSeqNumProcessed;
+import quickfix.field.MsgSeqNum;
+import quickfix.field.MsgType;
+import quickfix.field.NoHops;
+import quickfix.field.NoPartyIDs;
+import quickfix.field.OrdType;
+import quickfix.field.OrderQty;
+import quickfix.field.Price;
+import quickfix.field.SenderCompID;
+import quickfix.field.Side;
+import quickfix.field.TransactTime;
+
+/**
+ * @author Daniel Siviter
+ * @since v1.0 [19 Oct 2026]
+ */
+public class LazyMessageTest {
+	private static final SessionID SESSION_ID = new SessionID(FixVersions.BEGINSTRING_FIX44, "server", "lazy");
+
+	private Session session;
+
+	@BeforeEach
+	public void before() throws ConfigError {
+		this.session = Fixtures.session(SESSION_ID, false);
+	}
+
+	@AfterEach
+	public void after() throws IOException {
+		this.session.close();
+	}
+
+	@Test
+	public void fields() throws InvalidMessage, FieldNotFound, FieldConvertError {
+		var lazy = new LazyMessage(this.session, order().toString());
+
+		assertEquals(MsgType.ORDER_SINGLE, lazy.getMsgType());
+		assertEquals("ORD-1", lazy.getString(ClOrdID.FIELD));
+		assertEquals(Side.BUY, lazy.getChar(Side.FIELD));
+		assertEquals(1_000, lazy.getInt(OrderQty.FIELD));
+		assertEquals(new BigDecimal("162.25"), lazy.getDecimal(Price.FIELD));
+		assertEquals(7, lazy.getInt(MsgSeqNum.FIELD));
+		assertFalse(lazy.isSetField(9_999));
+		assertFalse(lazy.isAdmin());
+		assertThrows(FieldNotFound.class, () -> lazy.getString(9_999));
+		assertThrows(FieldConvertError.class, () -> lazy.getInt(ClOrdID.FIELD));
+	}
+
+	@Test
+	public void header() throws InvalidMessage, FieldNotFound {
+		var lazy = new LazyMessage(this.session, order().toString());
+
+		var header = lazy.carrier();
+
+		assertSame(lazy, LazyMessage.from(header));
+		assertEquals("lazy", header.getHeader().getString(SenderCompID.FIELD));
+		assertEquals(7, header.getHeader().getInt(MsgSeqNum.FIELD));
+		assertFalse(header.isSetField(ClOrdID.FIELD));
+		assertNull(LazyMessage.from(new Message()));
+	}
+
+	@Test
+	public void carrier_dictionary() throws Exception {
+		var order = order();
+		order.setUtcTimeStamp(TransactTime.FIELD, LocalDateTime.now());
+		order.setChar(OrdType.FIELD, OrdType.LIMIT);
+
+		try (var session = Fixtures.session(SESSION_ID, true)) {
+			var carrier = new LazyMessage(session, order.toString()).carrier();
+
+			// the body's fields are given to QuickFIX/J so it can validate them
+			assertEquals("ORD-1", carrier.getString(ClOrdID.FIELD));
+			assertEquals("lazy", carrier.getHeader().getString(SenderCompID.FIELD));
+			new DataDictionary("FIX44.xml").validate(carrier);
+		}
+	}
+
+	@Test
+	public void carrier_dictionary_fallback() throws Exception {
+		var group = order();
+		group.setInt(NoPartyIDs.FIELD, 0);
+		var outOfOrder = order();
+		outOfOrder.setInt(LastMsgSeqNumProcessed.FIELD, 1);  // a header field in the body
+
+		try (var session = Fixtures.session(SESSION_ID, true)) {
+			assertNull(new LazyMessage(session, group.toString()).carrier());
+			assertNull(new LazyMessage(session, outOfOrder.toString()).carrier());
+		}
+	}
+
+	@Test
+	public void carrier_headerGroup() throws Exception {
+		var sessionId = new SessionID(FixVersions.BEGINSTRING_FIXT11, "server", "lazy");
+		var order = Fixtures.order(FixUtil.reverse(sessionId), 7);
+		var hops = new Group(NoHops.FIELD, HopCompID.FIELD);
+		hops.setString(HopCompID.FIELD, "hop");
+		order.getHeader().addGroup(hops);
+
+		// a transport header group, which the FIX 5.0 application dictionary doesn't define
+		try (var session = Fixtures.session(sessionId, true)) {
+			assertNull(new LazyMessage(session, order.toString()).carrier());
+		}
+		try (var session = Fixtures.session(sessionId, false)) {
+			assertNull(new LazyMessage(session, order.toString()).carrier());
+		}
+	}
+
+	@Test
+	public void view() throws FieldNotFound, FieldConvertError, InvalidMessage {
+		var order = order();
+
+		var view = LazyMessage.of(order);
+
+		assertEquals(MsgType.ORDER_SINGLE, view.getMsgType());
+		assertEquals("ORD-1", view.getString(ClOrdID.FIELD));
+		assertEquals(Side.BUY, view.getChar(Side.FIELD));
+		assertEquals(7, view.getInt(MsgSeqNum.FIELD));
+		assertEquals(new BigDecimal("162.25"), view.getDecimal(Price.FIELD));
+		assertFalse(view.isSetField(9_999));
+		assertSame(order, view.toMessage());
+	}
+
+	@Test
+	public void toMessage() throws InvalidMessage {
+		var msgStr = order().toString();
+		var lazy = new LazyMessage(this.session, msgStr);
+
+		assertEquals(MessageUtils.parse(this.session, msgStr).toString(), lazy.toMessage().toString());
+		assertSame(lazy.toMessage(), lazy.toMessage());
+	}
+
+	@Test
+	public void invalid() {
+		var msgStr = order().toString();
+		var badChecksum = msgStr.substring(0, msgStr.length() - 4) + "000\u0001";
+
+		assertThrows(InvalidMessage.class, () -> new LazyMessage(this.session, badChecksum));
+		assertThrows(InvalidMessage.class, () -> new LazyMessage(this.session, msgStr.substring(0, 30)));
+		assertThrows(InvalidMessage.class, () -> new LazyMessage(this.session, "35=D\u00018=FIX.4.4\u0001"));
+	}
+
+
+	// --- Static Methods ---
+
+	private static Message order() {
+		return Fixtures.order(FixUtil.reverse(SESSION_ID), 7);
+	}
+}
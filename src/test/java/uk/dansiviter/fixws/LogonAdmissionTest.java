@@ -0,0 +1,88 @@
+/*
+ * Copyright 2026 Daniel Siviter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.dansiviter.fixws;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.Test;
+
+import quickfix.SessionSettings;
+
+/**
+ * @author Daniel Siviter
+ * @since v1.0 [19 Oct 2026]
+ */
+public class LogonAdmissionTest {
+	@Test
+	public void admit() {
+		var admission = new LogonAdmission(1, 2);
+		var caller = Thread.currentThread();
+		var ran = new CopyOnWriteArrayList<Thread>();
+
+		assertTrue(admission.admit(() -> ran.add(Thread.currentThread())));
+
+		// run straight away on the calling thread and released
+		assertEquals(List.of(caller), ran);
+		assertTrue(admission.tryAcquire());
+		admission.release();
+	}
+
+	@Test
+	public void admit_queued() {
+		var admission = new LogonAdmission(1, 2);
+		var order = new CopyOnWriteArrayList<String>();
+		var threads = new CopyOnWriteArrayList<Thread>();
+		assertTrue(admission.tryAcquire());
+
+		assertTrue(admission.admit(() -> {
+			order.add("first");
+			threads.add(Thread.currentThread());
+		}));
+		assertTrue(admission.admit(() -> order.add("second")));
+		assertFalse(admission.admit(() -> order.add("third")));  // queue full
+		assertFalse(admission.tryAcquire());  // mustn't overtake those queued
+		assertEquals(2, admission.queued());
+
+		admission.release();
+
+		// run in arrival order on a worker, rather than the thread that received them
+		await().atMost(5, SECONDS).until(() -> order.size() == 2);
+		assertThat(order, contains("first", "second"));
+		assertNotEquals(Thread.currentThread(), threads.get(0));
+		await().atMost(5, SECONDS).until(admission::tryAcquire);
+		assertEquals(0, admission.queued());
+		admission.destroy();
+	}
+
+	@Test
+	public void enabled() {
+		var settings = new SessionSettings();
+		assertFalse(LogonAdmission.enabled(settings));
+
+		settings.setLong(LogonAdmission.LOGON_CONCURRENCY, 4);
+		assertTrue(LogonAdmission.enabled(settings));
+	}
+}
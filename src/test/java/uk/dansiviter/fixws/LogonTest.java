@@ -72,6 +72,7 @@ public class LogonTest extends AbstractTest {
 		SessionSettingsProducer.class,
 		MessageStoreFactoryProducer.class,
 		TestHandler.class,
+		SessionTimerProducer.class,
 		Metrics.class);
 
 	private final TransferQueue<Message> queue = new LinkedTransferQueue<Message>();
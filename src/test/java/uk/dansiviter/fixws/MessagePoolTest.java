@@ -0,0 +1,146 @@
+/*
+ * Copyright 2026 Daniel Siviter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.dansiviter.fixws;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import quickfix.ConfigError;
+import quickfix.FieldNotFound;
+import quickfix.FixVersions;
+import quickfix.InvalidMessage;
+import quickfix.Message;
+import quickfix.MessageUtils;
+import quickfix.Session;
+import quickfix.SessionID;
+import quickfix.field.Headline;
+import quickfix.field.LastMsgSeqNumProcessed;
+import quickfix.field.MsgSeqNum;
+import quickfix.field.MsgType;
+import quickfix.field.SendingTime;
+import quickfix.field.Text;
+
+/**
+ * @author Daniel Siviter
+ * @since v1.0 [19 Oct 2026]
+ */
+public class MessagePoolTest {
+	private static final SessionID SESSION_ID = new SessionID(FixVersions.BEGINSTRING_FIX44, "server", "pool");
+
+	private Session session;
+
+	@BeforeEach
+	public void before() throws ConfigError {
+		this.session = Fixtures.session(SESSION_ID, false);
+	}
+
+	@AfterEach
+	public void after() throws IOException {
+		this.session.close();
+	}
+
+	@Test
+	public void parse() throws InvalidMessage {
+		var msgStr = news(1, "Hello");
+
+		var actual = new MessagePool().parse(this.session, msgStr);
+
+		assertEquals(MessageUtils.parse(this.session, msgStr).toString(), actual.toString());
+	}
+
+	@Test
+	public void recycle() throws InvalidMessage, FieldNotFound {
+		var pool = new MessagePool();
+
+		var first = pool.parse(this.session, news(1, "Hello"));
+		pool.release(first, 1);
+		var second = pool.parse(this.session, news(2, "World"));
+
+		assertSame(first, second);
+		assertEquals("World", second.getString(Headline.FIELD));
+		assertFalse(second.isSetField(Text.FIELD));
+	}
+
+	@Test
+	public void recycle_notReleased() throws InvalidMessage {
+		var pool = new MessagePool();
+
+		var first = pool.parse(this.session, news(1, "Hello"));
+		var second = pool.parse(this.session, news(2, "World"));  // e.g. received while dispatching the first
+
+		assertNotSame(first, second);
+	}
+
+	@Test
+	public void recycle_ahead() throws InvalidMessage {
+		var pool = new MessagePool();
+
+		var first = pool.parse(this.session, news(5, "Hello"));
+		pool.release(first, 1);  // may have been queued
+		var second = pool.parse(this.session, news(6, "World"));
+		pool.release(second, 6);
+
+		assertNotSame(first, second);
+		assertSame(second, pool.parse(this.session, news(7, "!")));
+	}
+
+	@Test
+	public void recycle_exception() throws ConfigError, InvalidMessage, IOException {
+		var pool = new MessagePool();
+		var news = message(1, "Hello");
+		news.setInt(LastMsgSeqNumProcessed.FIELD, 1);  // a header field in the body
+
+		try (var session = Fixtures.session(SESSION_ID, true)) {
+			var first = pool.parse(session, news.toString());
+			assertNotNull(first.getException());
+			pool.release(first, 1);
+			var second = pool.parse(session, news(2, "World"));
+
+			assertNotSame(first, second);
+			assertNull(second.getException());
+		}
+	}
+
+	// --- Static Methods ---
+
+	private static String news(int seqNum, String headline) {
+		return message(seqNum, headline).toString();
+	}
+
+	private static Message message(int seqNum, String headline) {
+		var news = new Message();
+		var header = news.getHeader();
+		header.setString(MsgType.FIELD, MsgType.NEWS);
+		FixUtil.setReverse(SESSION_ID, news);
+		header.setInt(MsgSeqNum.FIELD, seqNum);
+		header.setField(new SendingTime());
+		news.setString(Headline.FIELD, headline);
+		if (seqNum == 1) {
+			news.setString(Text.FIELD, "first");
+		}
+		return news;
+	}
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright 2026 Daniel Siviter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.dansiviter.fixws;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+
+import javax.enterprise.inject.Produces;
+import javax.inject.Inject;
+
+import org.eclipse.microprofile.metrics.MetricID;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.eclipse.microprofile.metrics.Tag;
+import org.eclipse.microprofile.metrics.Timer;
+import org.jboss.weld.junit5.EnableWeld;
+import org.jboss.weld.junit5.WeldInitiator;
+import org.jboss.weld.junit5.WeldSetup;
+import org.junit.jupiter.api.Test;
+
+import io.smallrye.metrics.MetricRegistries;
+import quickfix.ConfigError;
+import quickfix.FixVersions;
+import quickfix.Message;
+import quickfix.Responder;
+import quickfix.Session;
+import quickfix.SessionID;
+import quickfix.field.MsgSeqNum;
+import quickfix.field.MsgType;
+
+/**
+ * @author Daniel Siviter
+ * @since v1.0 [19 Oct 2026]
+ */
+@EnableWeld
+public class MetricsTest {
+	@WeldSetup
+	public WeldInitiator weld = WeldInitiator.of(Metrics.class, Producer.class);
+
+	@Inject
+	private Metrics metrics;
+	@Inject
+	private MetricRegistry registry;
+
+	@Test
+	public void evicted() {
+		var sessionId = new SessionID(FixVersions.BEGINSTRING_FIX44, "metrics", "evicted");
+		this.metrics.on(heartbeat(), sessionId, true);
+		this.metrics.evicted(sessionId, "/fix");
+		assertFalse(this.metrics.cached(sessionId));
+
+		// reconnecting resolves the same counter rather than registering another
+		this.metrics.on(heartbeat(), sessionId, true);
+		assertTrue(this.metrics.cached(sessionId));
+		assertEquals(2, count(sessionId));
+	}
+
+	@Test
+	public void evictClosed() throws ConfigError, IOException {
+		var open = new SessionID(FixVersions.BEGINSTRING_FIX44, "metrics", "open");
+		var closed = new SessionID(FixVersions.BEGINSTRING_FIX44, "metrics", "closed");
+		try (var session = session(open)) {
+			this.metrics.on(heartbeat(), open, true);
+			this.metrics.on(heartbeat(), closed, true);
+
+			this.metrics.evictClosed();
+			assertTrue(this.metrics.cached(open));
+			assertFalse(this.metrics.cached(closed));
+
+			this.metrics.on(heartbeat(), closed, true);
+			assertEquals(2, count(closed));
+		}
+	}
+
+	@Test
+	public void dispatched() throws InterruptedException {
+		var sessionId = new SessionID(FixVersions.BEGINSTRING_FIX44, "metrics", "dispatched");
+		var received = System.nanoTime();
+		this.metrics.parsed(heartbeat(2), sessionId, received);
+		this.metrics.parsed(heartbeat(3), sessionId, received);
+
+		// 2 is queued awaiting a resend so 3 is dispatched first, and 2 on another thread
+		this.metrics.dispatched(heartbeat(3), sessionId);
+		var thread = new Thread(() -> this.metrics.dispatched(heartbeat(2), sessionId));
+		thread.start();
+		thread.join();
+		assertEquals(2, timer(sessionId, "dispatch").getCount());
+
+		// dispatching again, e.g. a duplicate, is not timed
+		this.metrics.dispatched(heartbeat(2), sessionId);
+		this.metrics.dispatched(heartbeat(4), sessionId);
+		assertEquals(2, timer(sessionId, "dispatch").getCount());
+	}
+
+	@Test
+	public void written() {
+		var sessionId = new SessionID(FixVersions.BEGINSTRING_FIX44, "metrics", "written");
+		var transport = this.metrics.transport(sessionId, "/fix");
+		transport.written(0);
+		transport.written(System.nanoTime());
+
+		var id = new MetricID("fix/message.latency",
+				new Tag("sessionId", sessionId.toString()),
+				new Tag("path", "/fix"),
+				new Tag("stage", "write"));
+		assertEquals(1, this.registry.getTimers().get(id).getCount());
+	}
+
+	@Test
+	public void transport() {
+		var sessionId = new SessionID(FixVersions.BEGINSTRING_FIX44, "metrics", "transport");
+		var transport = this.metrics.transport(sessionId, "/fix");
+		transport.received(10);
+		transport.sending(20);
+		transport.sending(30);
+		this.metrics.evicted(sessionId, "/fix");
+		var registered = this.registry.getMetricIDs().size();
+
+		// a reconnect resolves the same handles, registering nothing new
+		transport = this.metrics.transport(sessionId, "/fix");
+		transport.received(40);
+		assertEquals(registered, this.registry.getMetricIDs().size());
+
+		assertEquals(50, transport(sessionId, "fix/transport.bytes", "in"));
+		assertEquals(50, transport(sessionId, "fix/transport.bytes", "out"));
+		assertEquals(2, transport(sessionId, "fix/transport.frames", "in"));
+		assertEquals(2, transport(sessionId, "fix/transport.frames", "out"));
+	}
+
+	@Test
+	public void sampled() {
+		var sampled = 0;
+		for (int i = 0; i < 10_000; i++) {
+			if (this.metrics.sampled()) {
+				sampled++;
+			}
+		}
+		// roughly one in every DEFAULT_SAMPLE_INTERVAL
+		assertThat(sampled, allOf(greaterThan(50), lessThan(200)));
+	}
+
+	private Timer timer(SessionID sessionId, String stage) {
+		var id = new MetricID("fix/message.latency",
+				new Tag("sessionId", sessionId.toString()),
+				new Tag("msgType", MsgType.HEARTBEAT),
+				new Tag("stage", stage));
+		return this.registry.getTimers().get(id);
+	}
+
+	private long transport(SessionID sessionId, String name, String direction) {
+		var id = new MetricID(name,
+				new Tag("sessionId", sessionId.toString()),
+				new Tag("path", "/fix"),
+				new Tag("direction", direction));
+		return this.registry.getCounters().get(id).getCount();
+	}
+
+	private long count(SessionID sessionId) {
+		var id = new MetricID("fix/message.count",
+				new Tag("sessionId", sessionId.toString()),
+				new Tag("kind", "client"),
+				new Tag("msgType", MsgType.HEARTBEAT));
+		return this.registry.getCounters().get(id).getCount();
+	}
+
+
+	// --- Static Methods ---
+
+	private static Message heartbeat() {
+		var msg = new Message();
+		msg.getHeader().setString(MsgType.FIELD, MsgType.HEARTBEAT);
+		return msg;
+	}
+
+	private static Message heartbeat(int seqNum) {
+		var msg = heartbeat();
+		msg.getHeader().setInt(MsgSeqNum.FIELD, seqNum);
+		return msg;
+	}
+
+	private static Session session(SessionID sessionId) throws ConfigError {
+		var session = Fixtures.session(sessionId, false);
+		session.setResponder(new Responder() {
+			@Override
+			public boolean send(String data) {
+				return true;
+			}
+
+			@Override
+			public void disconnect() { }
+
+			@Override
+			public String getRemoteAddress() {
+				return null;
+			}
+		});
+		return session;
+	}
+
+
+	// --- Inner Classes ---
+
+	public static class Producer {
+		@Produces
+		public MetricRegistry metricRegistry() {
+			return MetricRegistries.get(MetricRegistry.Type.APPLICATION);
+		}
+	}
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright 2026 Daniel Siviter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.dansiviter.fixws;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.ObservesAsync;
+import javax.enterprise.inject.Disposes;
+import javax.enterprise.inject.Produces;
+import javax.inject.Inject;
+
+import org.jboss.weld.junit5.EnableWeld;
+import org.jboss.weld.junit5.WeldInitiator;
+import org.jboss.weld.junit5.WeldSetup;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import quickfix.ConfigError;
+import quickfix.FieldNotFound;
+import quickfix.FixVersions;
+import quickfix.Message;
+import quickfix.SessionID;
+import quickfix.SessionSettings;
+import quickfix.field.Account;
+import quickfix.field.ClOrdID;
+import quickfix.field.MsgType;
+import quickfix.field.Symbol;
+import uk.dansiviter.fixws.annotations.FromApp;
+import uk.dansiviter.juli.cdi.LogExtension;
+
+/**
+ * @author Daniel Siviter
+ * @since v1.0 [19 Oct 2026]
+ */
+@EnableWeld
+public class PartitionedExecutorTest {
+	private static final SessionID SESSION_ID = new SessionID(FixVersions.BEGINSTRING_FIXT11, "server", "client");
+
+	@WeldSetup
+	public WeldInitiator weld = WeldInitiator.of(
+		LogExtension.class,
+		FixApplication.class,
+		Metrics.class,
+		Producer.class,
+		Observer.class);
+
+	@Inject
+	private FixApplication application;
+	@Inject
+	private Observer observer;
+
+	private final PartitionedExecutor executor = new PartitionedExecutor(8, Symbol.FIELD);
+
+	@AfterEach
+	public void after() {
+		this.executor.close();
+	}
+
+	@Test
+	public void options() {
+		assertSame(
+				this.executor.options(order("VOD.L", 1), SESSION_ID).getExecutor(),
+				this.executor.options(order("VOD.L", 2), SESSION_ID).getExecutor());
+
+		var lanes = new HashSet<>();
+		for (int i = 0; i < 100; i++) {
+			lanes.add(this.executor.options(order("SYM" + i, i), SESSION_ID).getExecutor());
+		}
+		assertThat(lanes.size(), greaterThan(1));
+	}
+
+	@Test
+	public void options_noKey() {
+		var order = order("VOD.L", 1);
+		order.removeField(Symbol.FIELD);
+
+		assertSame(
+				this.executor.options(new Message(), SESSION_ID).getExecutor(),
+				this.executor.options(order, SESSION_ID).getExecutor());
+	}
+
+	@Test
+	public void options_extractor() {
+		var executor = new PartitionedExecutor(8, m -> m.getOptionalString(Account.FIELD).orElse(null));
+		try {
+			var a = order("VOD.L", 1);
+			a.setString(Account.FIELD, "ACC-1");
+			var b = order("BARC.L", 2);
+			b.setString(Account.FIELD, "ACC-1");
+
+			assertSame(executor.options(a, SESSION_ID).getExecutor(), executor.options(b, SESSION_ID).getExecutor());
+		} finally {
+			executor.close();
+		}
+	}
+
+	@Test
+	public void of() throws ConfigError {
+		var settings = new SessionSettings();
+		assertNull(PartitionedExecutor.of(settings));
+
+		settings.setLong(PartitionedExecutor.PARTITION_KEY, Account.FIELD);
+		settings.setLong(PartitionedExecutor.PARTITION_LANES, 2);
+		PartitionedExecutor.of(settings).close();
+	}
+
+	@Test
+	public void fromApp() throws Exception {
+		var symbols = List.of("VOD.L", "BARC.L", "LLOY.L", "HSBA.L");
+		for (int i = 0; i < 1_000; i++) {
+			this.application.fromApp(order(symbols.get(i % symbols.size()), i), SESSION_ID);
+		}
+
+		await().atMost(10, SECONDS).until(() -> this.observer.count() == 1_000);
+		for (var symbol : symbols) {
+			var seqs = this.observer.received(symbol);
+			for (int i = 1; i < seqs.size(); i++) {
+				assertThat(seqs.get(i), greaterThan(seqs.get(i - 1)));
+			}
+		}
+		assertThat(this.observer.threads(), everyItem(startsWith("fix-partition-")));
+	}
+
+
+	// --- Static Methods ---
+
+	private static Message order(String symbol, int id) {
+		var order = new Message();
+		order.getHeader().setString(MsgType.FIELD, MsgType.ORDER_SINGLE);
+		FixUtil.setReverse(SESSION_ID, order);
+		order.setInt(ClOrdID.FIELD, id);
+		order.setString(Symbol.FIELD, symbol);
+		return order;
+	}
+
+
+	// --- Inner Classes ---
+
+	@ApplicationScoped
+	public static class Producer {
+		@Produces @ApplicationScoped
+		public PartitionedExecutor partitionedExecutor() {
+			return new PartitionedExecutor(4, Symbol.FIELD);
+		}
+
+		public void close(@Disposes PartitionedExecutor executor) {
+			executor.close();
+		}
+	}
+
+	@ApplicationScoped
+	public static class Observer {
+		private final Map<String, List<Integer>> received = new ConcurrentHashMap<>();
+		private final Set<String> threads = ConcurrentHashMap.newKeySet();
+
+		public void on(@ObservesAsync @FromApp Message message) throws FieldNotFound {
+			var seqs = this.received.computeIfAbsent(message.getString(Symbol.FIELD), k -> new ArrayList<>());
+			synchronized (seqs) {
+				seqs.add(message.getInt(ClOrdID.FIELD));
+			}
+			this.threads.add(Thread.currentThread().getName());
+		}
+
+		public int count() {
+			return this.received.values().stream().mapToInt(l -> {
+				synchronized (l) {
+					return l.size();
+				}
+			}).sum();
+		}
+
+		public List<Integer> received(String symbol) {
+			var seqs = this.received.get(symbol);
+			synchronized (seqs) {
+				return new ArrayList<>(seqs);
+			}
+		}
+
+		public Set<String> threads() {
+			return this.threads;
+		}
+	}
+}
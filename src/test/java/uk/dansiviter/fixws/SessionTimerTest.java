@@ -0,0 +1,107 @@
+/*
+ * Copyright 2026 Daniel Siviter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.dansiviter.fixws;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.Test;
+
+import quickfix.ConfigError;
+import quickfix.FixVersions;
+import quickfix.Responder;
+import quickfix.Session;
+import quickfix.SessionFactory;
+import quickfix.SessionID;
+
+/**
+ * @author Daniel Siviter
+ * @since v1.0 [19 Oct 2026]
+ */
+public class SessionTimerTest {
+	private static final int SESSIONS = 100;
+
+	@Test
+	public void next() throws ConfigError, IOException {
+		var settings = Fixtures.sessionSettings(false);
+		settings.setString(SessionFactory.SETTING_CONNECTION_TYPE, SessionFactory.INITIATOR_CONNECTION_TYPE);
+		settings.setLong(Session.SETTING_HEARTBTINT, 30);
+
+		var sent = new ConcurrentHashMap<SessionID, String>();
+		var sessions = new ArrayList<Session>();
+		try (var timer = new SessionTimer(16, 2)) {
+			for (int i = 0; i < SESSIONS; i++) {
+				var sessionId = new SessionID(FixVersions.BEGINSTRING_FIX44, "client" + i, "server");
+				var session = Fixtures.session(sessionId, settings);
+				session.setResponder(new CapturingResponder(sessionId, sent));
+				sessions.add(session);
+				timer.register(session);
+			}
+			assertEquals(SESSIONS, timer.size());
+
+			// the first call to next() on an initiator sends the logon
+			await().atMost(5, SECONDS).until(() -> sent.size() == SESSIONS);
+			assertTrue(sent.values().stream().allMatch(m -> m.contains("\u000135=A\u0001")));
+
+			sessions.forEach(timer::unregister);
+			assertEquals(0, timer.size());
+		} finally {
+			for (var session : sessions) {
+				session.close();
+			}
+		}
+	}
+
+	@Test
+	public void wheelSize() {
+		assertThrows(IllegalArgumentException.class, () -> new SessionTimer(10, 1));
+	}
+
+
+	// --- Inner Classes ---
+
+	private static class CapturingResponder implements Responder {
+		private final SessionID sessionId;
+		private final Map<SessionID, String> sent;
+
+		CapturingResponder(SessionID sessionId, Map<SessionID, String> sent) {
+			this.sessionId = sessionId;
+			this.sent = sent;
+		}
+
+		@Override
+		public boolean send(String data) {
+			this.sent.put(this.sessionId, data);
+			return true;
+		}
+
+		@Override
+		public void disconnect() { }
+
+		@Override
+		public String getRemoteAddress() {
+			return null;
+		}
+	}
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2026 Daniel Siviter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.dansiviter.fixws;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+
+import javax.websocket.DeploymentException;
+import javax.websocket.Endpoint;
+import javax.websocket.EndpointConfig;
+import javax.websocket.Session;
+import javax.websocket.server.ServerEndpointConfig;
+
+import org.junit.jupiter.api.Test;
+
+import quickfix.ConfigError;
+import quickfix.SessionSettings;
+import uk.dansiviter.fixws.inmemory.InMemoryContainer;
+
+/**
+ * @author Daniel Siviter
+ * @since v1.0 [19 Oct 2026]
+ */
+public class WebSocketPingTest {
+	private static final Duration INTERVAL = Duration.ofMillis(10);
+
+	private final InMemoryContainer container = new InMemoryContainer(
+			ServerEndpointConfig.Builder.create(IdleEndpoint.class, "/test").build());
+
+	@Test
+	public void pong() throws DeploymentException, IOException, InterruptedException {
+		var session = connect();
+		var ping = new WebSocketPing(session, INTERVAL);
+
+		for (int i = 0; i < 5; i++) {
+			Thread.sleep(INTERVAL.toMillis() * 2);
+			ping.run();
+		}
+
+		assertTrue(session.isOpen());
+	}
+
+	@Test
+	public void timeout() throws DeploymentException, IOException, InterruptedException {
+		var session = connect();
+		var ping = new WebSocketPing(session, INTERVAL);
+		session.removeMessageHandler(ping);  // pongs are now lost
+
+		for (int i = 0; i < WebSocketPing.MISSED_PONGS; i++) {
+			Thread.sleep(INTERVAL.toMillis() * 2);
+			ping.run();
+			assertTrue(session.isOpen());
+		}
+		Thread.sleep(INTERVAL.toMillis() * 2);
+		ping.run();  // give up
+
+		assertFalse(session.isOpen());
+	}
+
+	@Test
+	public void interval() throws ConfigError {
+		var settings = new SessionSettings();
+		assertEquals(Duration.ZERO, WebSocketPing.interval(settings));
+		settings.setLong(WebSocketPing.WEBSOCKET_PING_INTERVAL, 15);
+		assertEquals(Duration.ofSeconds(15), WebSocketPing.interval(settings));
+	}
+
+	private Session connect() throws DeploymentException, IOException {
+		return this.container.connectToServer(new IdleEndpoint(), URI.create("ws://localhost/test"));
+	}
+
+
+	// --- Inner Classes ---
+
+	public static class IdleEndpoint extends Endpoint {
+		@Override
+		public void onOpen(Session session, EndpointConfig config) { }
+	}
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2026 Daniel Siviter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.dansiviter.fixws;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+
+import javax.enterprise.inject.Instance;
+import javax.inject.Inject;
+
+import org.jboss.weld.junit5.EnableWeld;
+import org.jboss.weld.junit5.WeldInitiator;
+import org.jboss.weld.junit5.WeldSetup;
+import org.junit.jupiter.api.Test;
+
+import quickfix.FixVersions;
+import quickfix.SessionID;
+import uk.dansiviter.fixws.WireJournalReader.Record;
+
+/**
+ * @author Daniel Siviter
+ * @since v1.0 [19 Oct 2026]
+ */
+@EnableWeld
+public class WireJournalTest {
+	private static final SessionID A = new SessionID(FixVersions.BEGINSTRING_FIXT11, "server", "a");
+	private static final SessionID B = new SessionID(FixVersions.BEGINSTRING_FIXT11, "server", "b");
+
+	@WeldSetup
+	public WeldInitiator weld = WeldInitiator.of(WireJournalProducer.class, SessionSettingsProducer.class);
+
+	@Inject
+	private Instance<WireJournal> journal;
+
+	@Test
+	public void roundTrip() throws IOException {
+		var file = Files.createTempFile("journal", ".bin");
+		try (var journal = new WireJournal(file, 128)) {  // small region to force remapping
+			for (int i = 0; i < 10; i++) {
+				journal.inbound(1_000 * i, "conn-a", A, "8=FIXT.1.1\u00019=5\u000135=0\u0001");
+				journal.outbound(1_000 * i + 100, "conn-a", A, "8=FIXT.1.1\u00019=5\u000135=0\u0001");
+			}
+			journal.inbound(50_000, "conn-b", B, "8=FIXT.1.1\u00019=5\u000135=A\u0001");
+		}
+
+		var records = new ArrayList<Record>();
+		WireJournalReader.read(file, records::add);
+		assertEquals(21, records.size());
+		assertTrue(records.get(0).inbound());
+		assertFalse(records.get(1).inbound());
+		assertEquals("conn-a", records.get(0).connection());
+		assertEquals(A.toString(), records.get(0).session());
+		assertEquals("8=FIXT.1.1\u00019=5\u000135=A\u0001", records.get(20).message());
+		assertEquals(records.get(0).nanos() + 100, records.get(1).nanos());
+
+		var reports = WireJournalReader.report(file);
+		var a = reports.get(A.toString());
+		assertEquals(10, a.inbound());
+		assertEquals(10, a.outbound());
+		assertArrayEquals(new long[] { 100, 100, 100, 100, 100, 100, 100, 100, 100, 100 }, a.response());
+		assertEquals(9, a.interArrival().length);
+		assertEquals(1_000, a.interArrival()[0]);
+		assertEquals(1, reports.get(B.toString()).inbound());
+
+		Files.delete(file);
+	}
+
+	@Test
+	public void unclosed() throws IOException {
+		var file = Files.createTempFile("journal", ".bin");
+		try (var journal = new WireJournal(file, 4_096)) {
+			journal.inbound(1_000, "conn-a", A, "8=FIXT.1.1\u00019=5\u000135=0\u0001");
+			journal.closed("conn-a");
+			journal.outbound(2_000, "conn-a", A, "8=FIXT.1.1\u00019=5\u000135=0\u0001");
+			journal.force();
+
+			// as if the process were still running, or had crashed: the rest of the region is zero
+			var records = new ArrayList<Record>();
+			WireJournalReader.read(file, records::add);
+			assertEquals(2, records.size());
+			assertEquals("conn-a", records.get(1).connection());
+			assertFalse(records.get(1).inbound());
+		}
+		Files.delete(file);
+	}
+
+	@Test
+	public void nonAscii() throws IOException {
+		var file = Files.createTempFile("journal", ".bin");
+		var msg = "8=FIXT.1.1\u00019=16\u000135=B\u000158=caf\u00e9 \u20ac\u0001";
+		try (var journal = new WireJournal(file, 4_096)) {
+			journal.inbound(1_000, "conn-a", A, msg);
+		}
+
+		var records = new ArrayList<Record>();
+		WireJournalReader.read(file, records::add);
+		assertEquals(msg, records.get(0).message());
+		Files.delete(file);
+	}
+
+	@Test
+	public void producer_disabled() {
+		assertNull(this.journal.get());  // no WireJournalFile in the default settings
+	}
+}
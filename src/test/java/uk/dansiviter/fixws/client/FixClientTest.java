@@ -20,6 +20,8 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static uk.dansiviter.fixws.FixUtil.sessionId;
 import static uk.dansiviter.fixws.FixUtil.setReverse;
 
+import java.net.URI;
+import java.util.List;
 import java.util.concurrent.LinkedTransferQueue;
 
 import javax.enterprise.context.ApplicationScoped;
@@ -34,6 +36,7 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
 import quickfix.FieldNotFound;
+import quickfix.FixVersions;
 import quickfix.IncorrectDataFormat;
 import quickfix.IncorrectTagValue;
 import quickfix.Message;
@@ -45,14 +48,17 @@ import quickfix.fix50.News;
 import quickfix.fix50.News.NoLinesOfText;
 import uk.dansiviter.fixws.AbstractTest;
 import uk.dansiviter.fixws.FixApplication;
+import uk.dansiviter.fixws.FixEndpoint;
 import uk.dansiviter.fixws.LogFactoryProducer;
 import uk.dansiviter.fixws.MessageStoreFactoryProducer;
 import uk.dansiviter.fixws.Metrics;
 import uk.dansiviter.fixws.SessionFactoryProducer;
 import uk.dansiviter.fixws.SessionProviderProducer;
 import uk.dansiviter.fixws.SessionSettingsProducer;
+import uk.dansiviter.fixws.SessionTimerProducer;
 import uk.dansiviter.fixws.annotations.FromApp;
 import uk.dansiviter.fixws.annotations.ToApp;
+import uk.dansiviter.fixws.inmemory.InMemoryContainer;
 import uk.dansiviter.juli.cdi.LogExtension;
 
 public class FixClientTest extends AbstractTest {
@@ -66,6 +72,7 @@ public class FixClientTest extends AbstractTest {
 		SessionSettingsProducer.class,
 		MessageStoreFactoryProducer.class,
 		TestHandler.class,
+		SessionTimerProducer.class,
 		Metrics.class);
 
 	@BeforeAll
@@ -99,6 +106,32 @@ public class FixClientTest extends AbstractTest {
 		client.close();
 	}
 
+	@Test
+	void inMemory() throws Exception {
+		var queue = new LinkedTransferQueue<Message>();
+
+		var container = new InMemoryContainer(FixEndpoint.config("/fix", List.of(FixVersions.FIX50)));
+		var client = new FixClient(container, URI.create("ws://localhost/fix"), getClass().getResourceAsStream("/client.qfxj")) {
+			@Override
+			public void onLogon(quickfix.SessionID sessionId) {
+				send(news("Howdy", "foo"));
+			}
+
+			@Override
+			public void fromApp(Message message, SessionID sessionId)
+					throws FieldNotFound, IncorrectDataFormat, IncorrectTagValue, UnsupportedMessageType {
+				queue.add(message);
+			}
+		};
+
+		client.start();
+
+		// delivered on the calling thread so no need to wait
+		assertThat(queue.poll(), Matchers.isA(News.class));
+
+		client.close();
+	}
+
 	private static News news(String headline, String... lines) {
 		var news = new News(new Headline(headline));
 		for (var line : lines) {
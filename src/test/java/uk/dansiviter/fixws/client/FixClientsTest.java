@@ -0,0 +1,248 @@
+/*
+ * Copyright 2026 Daniel Siviter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.dansiviter.fixws.client;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static uk.dansiviter.fixws.FixUtil.sessionId;
+import static uk.dansiviter.fixws.FixUtil.setReverse;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Event;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+
+import org.jboss.weld.junit5.EnableWeld;
+import org.jboss.weld.junit5.WeldInitiator;
+import org.jboss.weld.junit5.WeldSetup;
+import org.junit.jupiter.api.Test;
+
+import quickfix.ApplicationAdapter;
+import quickfix.ConfigError;
+import quickfix.FieldNotFound;
+import quickfix.FixVersions;
+import quickfix.MemoryStoreFactory;
+import quickfix.Message;
+import quickfix.Session;
+import quickfix.SessionID;
+import quickfix.SessionSettings;
+import quickfix.field.MsgType;
+import quickfix.field.UserRequestID;
+import quickfix.field.UserRequestType;
+import quickfix.field.Username;
+import uk.dansiviter.fixws.FixApplication;
+import uk.dansiviter.fixws.FixEndpoint;
+import uk.dansiviter.fixws.FixUtil;
+import uk.dansiviter.fixws.LogFactoryProducer;
+import uk.dansiviter.fixws.MessageStoreFactoryProducer;
+import uk.dansiviter.fixws.Metrics;
+import uk.dansiviter.fixws.SessionFactoryProducer;
+import uk.dansiviter.fixws.SessionProviderProducer;
+import uk.dansiviter.fixws.SessionSettingsProducer;
+import uk.dansiviter.fixws.SessionTimer;
+import uk.dansiviter.fixws.SessionTimerProducer;
+import uk.dansiviter.fixws.WebSocketPing;
+import uk.dansiviter.fixws.annotations.FromApp;
+import uk.dansiviter.fixws.annotations.ToApp;
+import uk.dansiviter.fixws.inmemory.InMemoryContainer;
+import uk.dansiviter.juli.cdi.LogExtension;
+
+/**
+ * @author Daniel Siviter
+ * @since v1.0 [19 Oct 2026]
+ */
+@EnableWeld
+public class FixClientsTest {
+	@WeldSetup
+	public WeldInitiator weld = WeldInitiator.of(
+		LogExtension.class,
+		LogFactoryProducer.class,
+		SessionProviderProducer.class,
+		SessionFactoryProducer.class,
+		FixApplication.class,
+		SessionSettingsProducer.class,
+		MessageStoreFactoryProducer.class,
+		Echo.class,
+		SessionTimerProducer.class,
+		Metrics.class);
+
+	@Test
+	void start() throws Exception {
+		var settings = new SessionSettings();
+		settings.set(new SessionSettings(getClass().getResourceAsStream("/client.qfxj")).get());
+		settings.setString("ResetOnLogon", "Y");  // the gateway's store outlives the run
+		for (int i = 0; i < 4; i++) {
+			var sessionId = new SessionID(FixVersions.BEGINSTRING_FIXT11, "MultiClient" + i, "WsServer");
+			settings.setString(sessionId, SessionSettings.BEGINSTRING, sessionId.getBeginString());
+		}
+		var sessionIds = new ArrayList<SessionID>();
+		settings.sectionIterator().forEachRemaining(sessionIds::add);
+		assertEquals(4, sessionIds.size());
+
+		var application = new Recorder();
+		var container = new InMemoryContainer(FixEndpoint.config("/fix", List.of(FixVersions.FIX50)));
+		var clients = new FixClients(
+				container,
+				URI.create("ws://localhost/fix"),
+				settings,
+				application,
+				new MemoryStoreFactory(),
+				FixClient.logFactory(),
+				SessionTimer.common());
+		clients.start();
+
+		assertEquals(4, clients.clients().size());
+		assertThat(application.logons, containsInAnyOrder(sessionIds.toArray()));
+
+		for (var sessionId : sessionIds) {
+			var client = clients.client(sessionId);
+			assertNotNull(client);
+			var response = client.sendAndAwait(userRequest(sessionId.getSenderCompID()), Duration.ofSeconds(5))
+					.get(5, TimeUnit.SECONDS);
+			assertEquals(sessionId.getSenderCompID(), response.getString(UserRequestID.FIELD));
+		}
+		assertThat(application.responses, containsInAnyOrder(sessionIds.toArray()));
+
+		clients.close();
+		assertThat(clients.clients(), empty());
+	}
+
+
+	@Test
+	void start_failure() throws Exception {
+		var settings = new SessionSettings();
+		settings.set(new SessionSettings(getClass().getResourceAsStream("/client.qfxj")).get());
+		settings.setString("ResetOnLogon", "Y");
+		var sessionIds = new ArrayList<SessionID>();
+		for (int i = 0; i < 3; i++) {
+			var sessionId = new SessionID(FixVersions.BEGINSTRING_FIXT11, "FailingClient" + i, "WsServer");
+			settings.setString(sessionId, SessionSettings.BEGINSTRING, sessionId.getBeginString());
+			sessionIds.add(sessionId);
+		}
+		// only fails once connected and logged on
+		settings.setString(sessionIds.get(1), WebSocketPing.WEBSOCKET_PING_INTERVAL, "never");
+
+		var container = new InMemoryContainer(FixEndpoint.config("/fix", List.of(FixVersions.FIX50)));
+		var clients = new FixClients(
+				container,
+				URI.create("ws://localhost/fix"),
+				settings,
+				new Recorder(),
+				new MemoryStoreFactory(),
+				FixClient.logFactory(),
+				SessionTimer.common());
+
+		assertThrows(ConfigError.class, clients::start);
+		assertThat(clients.clients(), empty());
+		for (var sessionId : sessionIds) {
+			assertNull(Session.lookupSession(sessionId));
+		}
+	}
+
+	@Test
+	void start_failure_keepsEarlier() throws Exception {
+		var settings = new SessionSettings();
+		settings.set(new SessionSettings(getClass().getResourceAsStream("/client.qfxj")).get());
+		settings.setString("ResetOnLogon", "Y");
+		var earlier = new SessionID(FixVersions.BEGINSTRING_FIXT11, "EarlierClient", "WsServer");
+		settings.setString(earlier, SessionSettings.BEGINSTRING, earlier.getBeginString());
+
+		var container = new InMemoryContainer(FixEndpoint.config("/fix", List.of(FixVersions.FIX50)));
+		try (var clients = new FixClients(
+				container,
+				URI.create("ws://localhost/fix"),
+				settings,
+				new Recorder(),
+				new MemoryStoreFactory(),
+				FixClient.logFactory(),
+				SessionTimer.common()))
+		{
+			clients.start();
+			var later = new SessionID(FixVersions.BEGINSTRING_FIXT11, "LaterClient", "WsServer");
+			settings.setString(later, SessionSettings.BEGINSTRING, later.getBeginString());
+			settings.setString(later, WebSocketPing.WEBSOCKET_PING_INTERVAL, "never");
+
+			assertThrows(ConfigError.class, clients::start);
+
+			// only the sessions the failed call started are closed
+			assertNotNull(clients.client(earlier));
+			assertTrue(Session.lookupSession(earlier).isLoggedOn());
+			assertNull(clients.client(later));
+		}
+	}
+
+	// --- Static Methods ---
+
+	private static Message userRequest(String id) {
+		var request = new Message();
+		request.getHeader().setString(MsgType.FIELD, MsgType.USER_REQUEST);
+		request.setString(UserRequestID.FIELD, id);
+		request.setInt(UserRequestType.FIELD, UserRequestType.REQUEST_INDIVIDUAL_USER_STATUS);
+		request.setString(Username.FIELD, "jdoe");
+		return request;
+	}
+
+
+	// --- Inner Classes ---
+
+	private static class Recorder extends ApplicationAdapter {
+		private final Set<SessionID> logons = ConcurrentHashMap.newKeySet();
+		private final Set<SessionID> responses = ConcurrentHashMap.newKeySet();
+
+		@Override
+		public void onLogon(SessionID sessionId) {
+			this.logons.add(sessionId);
+		}
+
+		@Override
+		public void fromApp(Message message, SessionID sessionId) {
+			if (MsgType.USER_RESPONSE.equals(FixUtil.msgType(message))) {
+				this.responses.add(sessionId);
+			}
+		}
+	}
+
+	@ApplicationScoped
+	public static class Echo {
+		@Inject @ToApp
+		private Event<Message> evt;
+
+		public void on(@Observes @FromApp Message request) throws FieldNotFound {
+			if (!MsgType.USER_REQUEST.equals(FixUtil.msgType(request))) {
+				return;
+			}
+			var response = new Message();
+			response.getHeader().setString(MsgType.FIELD, MsgType.USER_RESPONSE);
+			response.setString(UserRequestID.FIELD, request.getString(UserRequestID.FIELD));
+			response.setString(Username.FIELD, request.getString(Username.FIELD));
+			this.evt.fire(setReverse(sessionId(request), response));
+		}
+	}
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2026 Daniel Siviter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.dansiviter.fixws.inmemory;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import javax.websocket.ClientEndpointConfig;
+import javax.websocket.CloseReason;
+import javax.websocket.DeploymentException;
+import javax.websocket.Endpoint;
+import javax.websocket.EndpointConfig;
+import javax.websocket.HandshakeResponse;
+import javax.websocket.PongMessage;
+import javax.websocket.Session;
+import javax.websocket.server.HandshakeRequest;
+import javax.websocket.server.ServerEndpointConfig;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Daniel Siviter
+ * @since v1.0 [19 Oct 2026]
+ */
+public class InMemoryContainerTest {
+	private static final List<String> EVENTS = new ArrayList<>();
+
+	private final InMemoryContainer container = new InMemoryContainer(
+			ServerEndpointConfig.Builder.create(PingPongEndpoint.class, "/test").subprotocols(List.of("fix50")).build());
+
+	@Test
+	public void ordering() throws DeploymentException, IOException {
+		EVENTS.clear();
+		var client = new RecordingEndpoint();
+		var session = this.container.connectToServer(client, URI.create("ws://localhost/test"));
+
+		session.getBasicRemote().sendText("ping 3");
+
+		// responses sent from within handlers are delivered after the handler completes, never nested
+		assertThat(EVENTS, contains(
+				"server:ping 3", "client:pong 3", "server:ping 2", "client:pong 2", "server:ping 1", "client:pong 1"));
+	}
+
+	@Test
+	public void close() throws DeploymentException, IOException {
+		EVENTS.clear();
+		var session = this.container.connectToServer(new RecordingEndpoint(), URI.create("ws://localhost/test"));
+		var server = ((InMemorySession) session).peer();
+
+		session.close();
+
+		assertThat(session.isOpen(), is(false));
+		assertThat(server.isOpen(), is(false));
+		assertThat(EVENTS, contains("client:close", "server:close"));
+		assertThrows(IOException.class, () -> session.getBasicRemote().sendText("ping 1"));
+	}
+
+	@Test
+	public void ping() throws DeploymentException, IOException {
+		EVENTS.clear();
+		var session = this.container.connectToServer(new RecordingEndpoint(), URI.create("ws://localhost/test"));
+		session.addMessageHandler(PongMessage.class, m -> EVENTS.add("client:pong"));
+
+		session.getBasicRemote().sendPing(ByteBuffer.allocate(0));
+
+		assertThat(EVENTS, contains("client:pong"));
+	}
+
+	@Test
+	public void subprotocol() throws DeploymentException, IOException {
+		var config = ClientEndpointConfig.Builder.create().preferredSubprotocols(List.of("fix44", "fix50")).build();
+		var session = this.container.connectToServer(new RecordingEndpoint(), config, URI.create("ws://localhost/test?a=b"));
+
+		assertThat(session.getNegotiatedSubprotocol(), equalTo("fix50"));
+		assertThat(((InMemorySession) session).peer().getRequestParameterMap().get("a"), contains("b"));
+	}
+
+	@Test
+	public void handshake() throws DeploymentException, IOException {
+		EVENTS.clear();
+		var container = new InMemoryContainer(ServerEndpointConfig.Builder.create(PingPongEndpoint.class, "/test")
+				.configurator(new ServerEndpointConfig.Configurator() {
+					@Override
+					public void modifyHandshake(ServerEndpointConfig sec, HandshakeRequest request, HandshakeResponse response) {
+						EVENTS.add("server:" + request.getHeaders().get("x-request") + request.getParameterMap().get("a"));
+						response.getHeaders().put("X-Response", List.of("bar"));
+					}
+				}).build());
+		var config = ClientEndpointConfig.Builder.create().configurator(new ClientEndpointConfig.Configurator() {
+			@Override
+			public void beforeRequest(Map<String, List<String>> headers) {
+				headers.put("X-Request", List.of("foo"));
+			}
+
+			@Override
+			public void afterResponse(HandshakeResponse hr) {
+				EVENTS.add("client:" + hr.getHeaders().get("x-response"));
+			}
+		}).build();
+
+		container.connectToServer(new RecordingEndpoint(), config, URI.create("ws://localhost/test?a=b"));
+
+		assertThat(EVENTS, contains("server:[foo][b]", "client:[bar]"));
+	}
+
+	@Test
+	public void unknownPath() {
+		assertThrows(DeploymentException.class,
+				() -> this.container.connectToServer(new RecordingEndpoint(), URI.create("ws://localhost/other")));
+	}
+
+
+	// --- Inner Classes ---
+
+	/**
+	 * Answers "ping n" with "pong n" and, if {@code n > 1}, the client sends "ping n-1".
+	 */
+	public static class PingPongEndpoint extends Endpoint {
+		@Override
+		public void onOpen(Session session, EndpointConfig config) {
+			session.addMessageHandler(String.class, m -> {
+				EVENTS.add("server:" + m);
+				try {
+					session.getBasicRemote().sendText(m.replace("ping", "pong"));
+				} catch (IOException e) {
+					throw new IllegalStateException(e);
+				}
+			});
+		}
+
+		@Override
+		public void onClose(Session session, CloseReason closeReason) {
+			EVENTS.add("server:close");
+		}
+	}
+
+	private static class RecordingEndpoint extends Endpoint {
+		@Override
+		public void onOpen(Session session, EndpointConfig config) {
+			session.addMessageHandler(String.class, m -> {
+				EVENTS.add("client:" + m);
+				var n = Integer.parseInt(m.substring(5));
+				if (n > 1) {
+					try {
+						session.getBasicRemote().sendText("ping " + (n - 1));
+					} catch (IOException e) {
+						throw new IllegalStateException(e);
+					}
+				}
+			});
+		}
+
+		@Override
+		public void onClose(Session session, CloseReason closeReason) {
+			EVENTS.add("client:close");
+		}
+	}
+}